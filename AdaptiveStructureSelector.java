@@ -0,0 +1,623 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+
+/**
+ * Клас AdaptiveStructureSelector обирає структуру даних за профілем навантаження.
+ *
+ * <p>Профіль - кількість операцій кожного виду (пошук, мінімум і максимум, додавання,
+ * упорядкований вивід) і розмір набору даних. Типовий профіль записується через
+ * {@link PerformanceTracker.OperationListener}: обробники List, Queue і Set виконуються
+ * без виводу на невеликій вибірці, і кожна виміряна операція зараховується до виду
+ * ({@link PerformanceTracker.OperationKind}), заданого під час початку її вимірювання.
+ * Профіль можна задати явно, наприклад {@code search=1000,minmax=10,insert=100,sorted=1}.</p>
+ *
+ * <p>Вартість кожної структури прогнозується моделлю "асимптотика × константа":
+ * константи вимірюються на вибірці даних, а асимптотика (1, log n, n, n log n)
+ * масштабує їх до повного розміру. Обирається структура з найменшою сумарною
+ * вартістю побудови і навантаження; рішення і прогнози виводяться у звіт.
+ * Властивість {@code -Dadaptive.structure=sorted-array|hash-multiset|priority-queue|linked-list}
+ * замінює рішення моделі. Хеш-таблиця зберігає для кожного значення кількість входжень,
+ * тому повтори не губляться в упорядкованому виводі.</p>
+ */
+public class AdaptiveStructureSelector {
+    private static final int CALIBRATION_SAMPLE_SIZE = 2048;
+    private static final int CALIBRATION_REPETITIONS = 64;
+
+    /**
+     * Вид операції в профілі навантаження.
+     */
+    public enum Operation {
+        SEARCH("search", "пошук", PerformanceTracker.OperationKind.SEARCH),
+        MIN_MAX("minmax", "мінімум і максимум", PerformanceTracker.OperationKind.MIN_MAX),
+        INSERT("insert", "додавання", PerformanceTracker.OperationKind.INSERT),
+        SORTED("sorted", "упорядкований вивід", PerformanceTracker.OperationKind.SORT);
+
+        private final String key;
+        private final String label;
+        private final PerformanceTracker.OperationKind kind;
+
+        Operation(String key, String label, PerformanceTracker.OperationKind kind) {
+            this.key = key;
+            this.label = label;
+            this.kind = kind;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        /**
+         * Визначає вид операції профілю за видом, заданим у {@link PerformanceTracker}.
+         *
+         * @param kind Вид виміряної операції.
+         * @return Вид операції або {@code null}, якщо операція не входить до профілю.
+         */
+        static Operation fromKind(PerformanceTracker.OperationKind kind) {
+            for (Operation operation : values()) {
+                if (operation.kind == kind) {
+                    return operation;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Структура-кандидат і асимптотика її операцій.
+     */
+    public enum Structure {
+        SORTED_ARRAY("sorted-array", "упорядкований double[]", Growth.N_LOG_N,
+                new Growth[] { Growth.LOG_N, Growth.CONSTANT, Growth.N, Growth.N }),
+        HASH_MULTISET("hash-multiset", "HashMap<Double, Integer>", Growth.N,
+                new Growth[] { Growth.CONSTANT, Growth.N, Growth.CONSTANT, Growth.N_LOG_N }),
+        PRIORITY_QUEUE("priority-queue", "PriorityQueue<Double>", Growth.N_LOG_N,
+                new Growth[] { Growth.N, Growth.N, Growth.LOG_N, Growth.N_LOG_N }),
+        LINKED_LIST("linked-list", "LinkedList<Double>", Growth.N,
+                new Growth[] { Growth.N, Growth.N, Growth.CONSTANT, Growth.N_LOG_N });
+
+        private final String key;
+        private final String label;
+        private final Growth buildGrowth;
+        private final Growth[] operationGrowth;
+
+        Structure(String key, String label, Growth buildGrowth, Growth[] operationGrowth) {
+            this.key = key;
+            this.label = label;
+            this.buildGrowth = buildGrowth;
+            this.operationGrowth = operationGrowth;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        static Structure fromKey(String key) {
+            for (Structure structure : values()) {
+                if (structure.key.equals(key)) {
+                    return structure;
+                }
+            }
+            throw new IllegalArgumentException("Невідома структура '" + key + "'");
+        }
+
+        AdaptiveStructure create() {
+            switch (this) {
+                case SORTED_ARRAY:
+                    return new SortedArrayStructure();
+                case HASH_MULTISET:
+                    return new HashMultisetStructure();
+                case PRIORITY_QUEUE:
+                    return new PriorityQueueStructure();
+                default:
+                    return new LinkedListStructure();
+            }
+        }
+    }
+
+    private enum Growth {
+        CONSTANT, LOG_N, N, N_LOG_N;
+
+        double at(long n) {
+            double size = Math.max(2, n);
+            switch (this) {
+                case CONSTANT:
+                    return 1;
+                case LOG_N:
+                    return Math.log(size) / Math.log(2);
+                case N:
+                    return size;
+                default:
+                    return size * Math.log(size) / Math.log(2);
+            }
+        }
+    }
+
+    /**
+     * Профіль навантаження: кількість операцій кожного виду.
+     */
+    public static class WorkloadProfile {
+        private final Map<Operation, Long> counts = new EnumMap<>(Operation.class);
+
+        public WorkloadProfile() {
+            for (Operation operation : Operation.values()) {
+                counts.put(operation, 0L);
+            }
+        }
+
+        /**
+         * Розбирає профіль у форматі {@code search=1000,minmax=10,insert=100,sorted=1}.
+         * Кількості операцій мають бути невід'ємними.
+         *
+         * @param text Профіль.
+         * @return Профіль навантаження.
+         */
+        public static WorkloadProfile parse(String text) {
+            WorkloadProfile profile = new WorkloadProfile();
+            for (String item : text.split(",")) {
+                String[] parts = item.trim().split("=");
+                Operation operation = null;
+                for (Operation candidate : Operation.values()) {
+                    if (candidate.key.equals(parts[0].trim())) {
+                        operation = candidate;
+                    }
+                }
+                if (operation == null || parts.length != 2) {
+                    throw new IllegalArgumentException("Некоректний елемент профілю '" + item + "'");
+                }
+                long count = Long.parseLong(parts[1].trim());
+                if (count < 0) {
+                    throw new IllegalArgumentException("Кількість операцій не може бути від'ємною: '" + item + "'");
+                }
+                profile.counts.put(operation, count);
+            }
+            return profile;
+        }
+
+        void record(Operation operation) {
+            counts.merge(operation, 1L, Long::sum);
+        }
+
+        public long getCount(Operation operation) {
+            return counts.get(operation);
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder text = new StringBuilder();
+            for (Operation operation : Operation.values()) {
+                if (text.length() > 0) {
+                    text.append(", ");
+                }
+                text.append(operation.label).append(": ").append(counts.get(operation));
+            }
+            return text.toString();
+        }
+    }
+
+    /**
+     * Прогноз вартості однієї структури.
+     */
+    public static class CostEstimate {
+        private final Structure structure;
+        private final double buildNanos;
+        private final Map<Operation, Double> operationNanos;
+
+        CostEstimate(Structure structure, double buildNanos, Map<Operation, Double> operationNanos) {
+            this.structure = structure;
+            this.buildNanos = buildNanos;
+            this.operationNanos = operationNanos;
+        }
+
+        public Structure getStructure() {
+            return structure;
+        }
+
+        public double getTotalNanos() {
+            double total = buildNanos;
+            for (double nanos : operationNanos.values()) {
+                total += nanos;
+            }
+            return total;
+        }
+
+        /**
+         * Повертає вид операції з найбільшою часткою прогнозованої вартості.
+         */
+        Operation dominantOperation() {
+            Operation dominant = null;
+            for (Map.Entry<Operation, Double> entry : operationNanos.entrySet()) {
+                if (dominant == null || entry.getValue() > operationNanos.get(dominant)) {
+                    dominant = entry.getKey();
+                }
+            }
+            return dominant;
+        }
+    }
+
+    /**
+     * Записує профіль навантаження стандартних обробників: вони виконуються без виводу
+     * на вибірці, а {@link PerformanceTracker} повідомляє про кожну виміряну операцію.
+     *
+     * @param values Дані.
+     * @param valueToSearch Значення для пошуку.
+     * @return Записаний профіль.
+     * @throws IOException Якщо не вдалося створити тимчасовий файл для упорядкованого виводу.
+     */
+    public static WorkloadProfile recordStandardProfile(Double[] values, double valueToSearch) throws IOException {
+        WorkloadProfile profile = new WorkloadProfile();
+        Double[] sample = Arrays.copyOf(values, Math.min(values.length, CALIBRATION_SAMPLE_SIZE));
+        Path sortedOutput = Files.createTempFile("adaptive", ".sorted");
+
+        PerformanceTracker.setOperationListener((operationName, operationKind, structureType, elementCount, durationNanos) -> {
+            Operation operation = Operation.fromKind(operationKind);
+            if (operation != null) {
+                profile.record(operation);
+            }
+        });
+        ReportSink.setMuted(true);
+        try {
+            BasicDataOperationUsingList listProcessor = new BasicDataOperationUsingList(valueToSearch, sample.clone());
+            listProcessor.setSortedOutputPath(sortedOutput.toString());
+            listProcessor.executeDataOperations();
+
+            BasicDataOperationUsingQueue queueProcessor = new BasicDataOperationUsingQueue(valueToSearch, sample.clone());
+            queueProcessor.setSortedOutputPath(sortedOutput.toString());
+            queueProcessor.runDataProcessing();
+
+            BasicDataOperationUsingSet setProcessor = new BasicDataOperationUsingSet(valueToSearch, sample.clone());
+            setProcessor.setSortedOutputPath(sortedOutput.toString());
+            setProcessor.executeDataAnalysis();
+        } finally {
+            ReportSink.setMuted(false);
+            PerformanceTracker.setOperationListener(null);
+            Files.deleteIfExists(sortedOutput);
+        }
+
+        return profile;
+    }
+
+    /**
+     * Прогнозує вартість профілю для кожної структури. Константи вимірюються на вибірці даних.
+     *
+     * @param values Дані.
+     * @param profile Профіль навантаження.
+     * @return Прогнози в порядку зростання вартості.
+     */
+    public static List<CostEstimate> estimateCosts(double[] values, WorkloadProfile profile) {
+        double[] sample = Arrays.copyOf(values, Math.min(values.length, CALIBRATION_SAMPLE_SIZE));
+        SplittableRandom random = new SplittableRandom(sample.length);
+        double[] probes = new double[CALIBRATION_REPETITIONS];
+        for (int i = 0; i < probes.length; i++) {
+            probes[i] = sample.length == 0 ? 0 : sample[random.nextInt(sample.length)];
+        }
+
+        List<CostEstimate> estimates = new ArrayList<>();
+        for (Structure structure : Structure.values()) {
+            // Перший прохід розігріває JIT, вимірюється другий
+            calibrate(structure, sample, probes);
+            double[] constants = calibrate(structure, sample, probes);
+
+            double buildNanos = constants[0] * structure.buildGrowth.at(values.length);
+            Map<Operation, Double> operationNanos = new EnumMap<>(Operation.class);
+            for (Operation operation : Operation.values()) {
+                double perOperation = constants[operation.ordinal() + 1] * structure.operationGrowth[operation.ordinal()].at(values.length);
+                operationNanos.put(operation, perOperation * profile.getCount(operation));
+            }
+            estimates.add(new CostEstimate(structure, buildNanos, operationNanos));
+        }
+
+        estimates.sort((first, second) -> Double.compare(first.getTotalNanos(), second.getTotalNanos()));
+        return estimates;
+    }
+
+    /**
+     * Вимірює на вибірці тривалість побудови і кожної операції та ділить її на асимптотику.
+     *
+     * @return Константи: [побудова, операції в порядку {@link Operation}].
+     */
+    private static double[] calibrate(Structure structure, double[] sample, double[] probes) {
+        double[] constants = new double[Operation.values().length + 1];
+
+        long startTime = System.nanoTime();
+        AdaptiveStructure candidate = structure.create();
+        candidate.build(sample);
+        constants[0] = (System.nanoTime() - startTime) / structure.buildGrowth.at(sample.length);
+
+        double checksum = 0;
+        for (Operation operation : Operation.values()) {
+            // Додавання змінює структуру, тому вимірюється на окремій копії
+            AdaptiveStructure target = candidate;
+            if (operation == Operation.INSERT) {
+                target = structure.create();
+                target.build(sample);
+            }
+
+            startTime = System.nanoTime();
+            for (double probe : probes) {
+                checksum += execute(target, operation, probe);
+            }
+            double perOperation = (double) (System.nanoTime() - startTime) / probes.length;
+            constants[operation.ordinal() + 1] = perOperation / structure.operationGrowth[operation.ordinal()].at(sample.length);
+        }
+
+        // Використовуємо результат, щоб JIT не відкинув вимірювані виклики
+        if (checksum == Double.MIN_VALUE) {
+            ReportSink.println("");
+        }
+        return constants;
+    }
+
+    private static double execute(AdaptiveStructure structure, Operation operation, double value) {
+        switch (operation) {
+            case SEARCH:
+                return structure.contains(value) ? 1 : 0;
+            case MIN_MAX:
+                return structure.minMax()[0];
+            case INSERT:
+                structure.insert(value);
+                return 0;
+            default:
+                double[] sorted = structure.sorted();
+                return sorted.length == 0 ? 0 : sorted[0];
+        }
+    }
+
+    /**
+     * Обирає структуру, виводить обґрунтування і виконує профіль на обраній структурі.
+     *
+     * @param values Дані.
+     * @param valueToSearch Значення для пошуку і додавання.
+     * @param profile Профіль навантаження.
+     * @return Обрана структура.
+     */
+    public static Structure selectAndRun(double[] values, double valueToSearch, WorkloadProfile profile) {
+        ReportSink.println("Профіль навантаження (" + values.length + " елементів): " + profile);
+
+        List<CostEstimate> estimates = estimateCosts(values, profile);
+        ReportSink.println(String.format("%-26s %16s  %s", "Структура", "Прогноз, мкс", "Переважає"));
+        for (CostEstimate estimate : estimates) {
+            Operation dominant = estimate.dominantOperation();
+            ReportSink.println(String.format("%-26s %16.1f  %s", estimate.getStructure().getLabel(),
+                    estimate.getTotalNanos() / 1000, profile.getCount(dominant) == 0 ? "побудова" : dominant.getLabel()));
+        }
+
+        CostEstimate best = estimates.get(0);
+        Structure selected = best.getStructure();
+        String override = System.getProperty("adaptive.structure");
+        if (override != null) {
+            selected = Structure.fromKey(override);
+            ReportSink.println("Обрано " + selected.getLabel() + " за властивістю -Dadaptive.structure (модель радила "
+                    + best.getStructure().getLabel() + ")");
+        } else {
+            String reason = estimates.size() > 1
+                    ? String.format("прогноз у %.1f раза менший, ніж у %s", estimates.get(1).getTotalNanos() / Math.max(1, best.getTotalNanos()),
+                            estimates.get(1).getStructure().getLabel())
+                    : "єдиний кандидат";
+            ReportSink.println("Обрано " + selected.getLabel() + ": " + reason);
+        }
+
+        runProfile(selected, values, valueToSearch, profile);
+        return selected;
+    }
+
+    /**
+     * Будує лише обрану структуру і виконує на ній операції профілю.
+     */
+    private static void runProfile(Structure structure, double[] values, double valueToSearch, WorkloadProfile profile) {
+        PerformanceTracker.OperationScope operation = PerformanceTracker.startOperation(structure.getLabel(), values.length);
+        AdaptiveStructure target = structure.create();
+        target.build(values);
+        operation.stop("побудова обраної структури");
+
+        for (Operation kind : Operation.values()) {
+            long count = profile.getCount(kind);
+            if (count == 0) {
+                continue;
+            }
+            operation = PerformanceTracker.startOperation(structure.getLabel(), values.length);
+            double result = 0;
+            for (long i = 0; i < count; i++) {
+                result = execute(target, kind, valueToSearch);
+            }
+            operation.stop(kind.getLabel() + " × " + count, result);
+        }
+    }
+
+    /**
+     * Спільний інтерфейс структур-кандидатів.
+     */
+    interface AdaptiveStructure {
+        void build(double[] values);
+
+        boolean contains(double value);
+
+        double[] minMax();
+
+        void insert(double value);
+
+        double[] sorted();
+    }
+
+    private static class SortedArrayStructure implements AdaptiveStructure {
+        private double[] values = new double[0];
+        private int size;
+
+        @Override
+        public void build(double[] source) {
+            values = Arrays.copyOf(source, Math.max(16, source.length));
+            size = source.length;
+            Arrays.sort(values, 0, size);
+        }
+
+        @Override
+        public boolean contains(double value) {
+            return Arrays.binarySearch(values, 0, size, value) >= 0;
+        }
+
+        @Override
+        public double[] minMax() {
+            return size == 0 ? new double[] { Double.NaN, Double.NaN } : new double[] { values[0], values[size - 1] };
+        }
+
+        @Override
+        public void insert(double value) {
+            int position = Arrays.binarySearch(values, 0, size, value);
+            if (position < 0) {
+                position = -position - 1;
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, values.length * 2);
+            }
+            System.arraycopy(values, position, values, position + 1, size - position);
+            values[position] = value;
+            size++;
+        }
+
+        @Override
+        public double[] sorted() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+    /**
+     * Хеш-таблиця з кількістю входжень кожного значення: на відміну від HashSet
+     * зберігає повтори, тому упорядкований вивід містить усі значення.
+     */
+    private static class HashMultisetStructure implements AdaptiveStructure {
+        private HashMap<Double, Integer> counts = new HashMap<>();
+        private int size;
+
+        @Override
+        public void build(double[] source) {
+            counts = new HashMap<>(BasicDataOperationUsingMap.tableCapacity(source.length));
+            size = 0;
+            for (double value : source) {
+                insert(value);
+            }
+        }
+
+        @Override
+        public boolean contains(double value) {
+            return counts.containsKey(value);
+        }
+
+        @Override
+        public double[] minMax() {
+            double[] minMax = { Double.NaN, Double.NaN };
+            for (double value : counts.keySet()) {
+                minMax[0] = Double.isNaN(minMax[0]) ? value : Math.min(minMax[0], value);
+                minMax[1] = Double.isNaN(minMax[1]) ? value : Math.max(minMax[1], value);
+            }
+            return minMax;
+        }
+
+        @Override
+        public void insert(double value) {
+            counts.merge(value, 1, Integer::sum);
+            size++;
+        }
+
+        @Override
+        public double[] sorted() {
+            double[] distinct = counts.keySet().stream().mapToDouble(Double::doubleValue).toArray();
+            Arrays.sort(distinct);
+            double[] sorted = new double[size];
+            int position = 0;
+            for (double value : distinct) {
+                int count = counts.get(value);
+                Arrays.fill(sorted, position, position + count, value);
+                position += count;
+            }
+            return sorted;
+        }
+    }
+
+    private static class PriorityQueueStructure implements AdaptiveStructure {
+        private PriorityQueue<Double> values = new PriorityQueue<>();
+
+        @Override
+        public void build(double[] source) {
+            values = new PriorityQueue<>(Math.max(1, source.length));
+            for (double value : source) {
+                values.add(value);
+            }
+        }
+
+        @Override
+        public boolean contains(double value) {
+            return values.contains(value);
+        }
+
+        @Override
+        public double[] minMax() {
+            double[] minMax = { Double.NaN, Double.NaN };
+            if (!values.isEmpty()) {
+                // Мінімум - у вершині купи, максимум - серед листків
+                minMax[0] = values.peek();
+                minMax[1] = values.stream().mapToDouble(Double::doubleValue).max().getAsDouble();
+            }
+            return minMax;
+        }
+
+        @Override
+        public void insert(double value) {
+            values.add(value);
+        }
+
+        @Override
+        public double[] sorted() {
+            double[] sorted = values.stream().mapToDouble(Double::doubleValue).toArray();
+            Arrays.sort(sorted);
+            return sorted;
+        }
+    }
+
+    private static class LinkedListStructure implements AdaptiveStructure {
+        private LinkedList<Double> values = new LinkedList<>();
+
+        @Override
+        public void build(double[] source) {
+            values = new LinkedList<>();
+            for (double value : source) {
+                values.add(value);
+            }
+        }
+
+        @Override
+        public boolean contains(double value) {
+            return values.contains(value);
+        }
+
+        @Override
+        public double[] minMax() {
+            double[] minMax = { Double.NaN, Double.NaN };
+            for (double value : values) {
+                minMax[0] = Double.isNaN(minMax[0]) ? value : Math.min(minMax[0], value);
+                minMax[1] = Double.isNaN(minMax[1]) ? value : Math.max(minMax[1], value);
+            }
+            return minMax;
+        }
+
+        @Override
+        public void insert(double value) {
+            values.add(value);
+        }
+
+        @Override
+        public double[] sorted() {
+            double[] sorted = values.stream().mapToDouble(Double::doubleValue).toArray();
+            Arrays.sort(sorted);
+            return sorted;
+        }
+    }
+}
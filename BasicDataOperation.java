@@ -1,5 +1,19 @@
 
 
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Загальний клас BasicDataOperation координує роботу різних структур даних.
  * 
@@ -22,23 +36,134 @@
  * java BasicDataOperation "1234567890" queue  
  * java BasicDataOperation "1234567890" set
  * java BasicDataOperation "1234567890" all
+ * java BasicDataOperation "1234567890" follow
+ * java BasicDataOperation "1234567890" quantiles 0.5,0.9,0.99
+ * java BasicDataOperation "1234567890" quantiles-stream 0.5,0.99
+ * java BasicDataOperation "1234567890" range -1.0E10 1.0E10
+ * java BasicDataOperation "1234567890" range-follow -1.0E10 1.0E10
+ * java BasicDataOperation "1234567890" distinct 14
+ * java BasicDataOperation "1234567890" batch list
+ * java BasicDataOperation "1234567890" scatter 4
+ * java BasicDataOperation "1234567890" compressed
+ * java BasicDataOperation "1234567890" offheap mapped
+ * java BasicDataOperation "1234567890" stream
+ * java BasicDataOperation "1234567890" timeseries 1h 15m
+ * java BasicDataOperation "1234567890" adaptive search=1000,minmax=10,insert=100,sorted=1
+ * java BasicDataOperation "1234567890" strings rays prefix
+ * java BasicDataOperation "1234567890" characters Ж 5
  * }
  * </pre>
+ *
+ * <p>Звіт виводиться через {@link ReportSink}; режим виводу задається властивістю
+ * {@code -Dreport.mode=async|deferred|direct|off}.</p>
+ *
+ * <p>Режим {@code follow} після повного аналізу відстежує файл даних і додає дописані
+ * в нього значення до вже побудованих структур. Інтервал опитування задається властивістю
+ * {@code -Dfollow.interval.ms} (типово 1000), кількість опитувань - {@code -Dfollow.polls}.
+ * Під час першого читання останній рядок без переведення рядка враховується, як і в інших
+ * режимах; під час опитувань такий рядок враховується лише після того, як його буде завершено.</p>
+ *
+ * <p>Властивість {@code -Dbloom.fpp=0.01} вмикає фільтр Блума із заданою ймовірністю
+ * хибнопозитивної відповіді: він будується під час завантаження і дозволяє відповісти на пошук
+ * відсутнього значення без звернення до масиву, черги чи множини.</p>
+ *
+ * <p>Властивість {@code -Dload.parallelism=N} вмикає паралельне завантаження файлу даних:
+ * файл ділиться на N частин за межами рядків, кожна розбирається окремим потоком,
+ * а некоректні рядки пропускаються з повідомленням про їхній номер у файлі.</p>
+ *
+ * <p>Режим {@code quantiles} знаходить медіану і перцентилі в масиві примітивних чисел
+ * методом quickselect без повного сортування; режим {@code quantiles-stream} оцінює їх
+ * потоковим скетчем, не завантажуючи файл у пам'ять.</p>
+ *
+ * <p>Режим {@code range} повертає кількість, суму і середнє значень у відрізку [a, b]
+ * бінарним пошуком меж в упорядкованому масиві і сумою з компенсацією. Режим {@code range-follow}
+ * використовує дерево Фенвіка і повторює запит після кожного дописування у файл даних.</p>
+ *
+ * <p>Режим {@code distinct} оцінює кількість різних значень скетчем HyperLogLog
+ * заданої точності, читаючи файл потоково без побудови HashSet.</p>
+ *
+ * <p>Режим {@code batch} паралельно аналізує всі файли {@code *.data} каталогу
+ * (типово {@code list}) у пулі ForkJoin, визначаючи тип даних за назвою файлу.
+ * Кількість потоків задається властивістю {@code -Dbatch.parallelism}
+ * (типово - кількість ядер).</p>
+ *
+ * <p>Режим {@code scatter} ділить файл даних на N частин за межами рядків і обробляє
+ * кожну окремим процесом {@link ShardWorker}; координатор зводить мінімум, максимум і
+ * позиції знайденого значення та зливає відсортовані частини у файл {@code .sorted}.</p>
+ *
+ * <p>Режим {@code compressed} зберігає числа в пам'яті стиснено XOR-кодуванням
+ * ({@link GorillaDoubleColumn}), а мітки часу з {@code LocalDateTime.data} - різницями
+ * другого порядку ({@link DeltaOfDeltaTimestampColumn}); пошук і визначення мінімуму
+ * й максимуму розпаковують дані по одному блоку.</p>
+ *
+ * <p>Режим {@code offheap} зберігає числа поза купою Java ({@link OffHeapDoubleStore}):
+ * у прямій пам'яті або, з параметром {@code mapped}, у двійковому файлі {@code .bin},
+ * відображеному в пам'ять. Сортування, пошук і визначення мінімуму й максимуму
+ * виконуються безпосередньо над цими даними.</p>
+ *
+ * <p>Режим {@code stream} передає числа з файлу пакетами одночасно кільком обробникам
+ * ({@link DataStreamPipeline}): обчислення починаються ще під час читання файлу,
+ * а обмежені буфери стримують читача, якщо обробники не встигають.</p>
+ *
+ * <p>Після режимів {@code list}, {@code queue}, {@code set} і {@code all} виводиться
+ * оцінка пам'яті побудованих структур ({@link MemoryFootprintAnalyzer}) поруч із
+ * примітивними альтернативами {@code double[]}, стисненою колонкою і сховищем поза купою.</p>
+ *
+ * <p>Режим {@code timeseries} за один прохід по {@code LocalDateTime.data} групує мітки
+ * часу у вікна ({@link TimeSeriesAggregator}) і для кожного вікна виводить кількість
+ * подій, першу й останню, найранішу й найпізнішу мітку. Без параметрів рахуються
+ * хвилинні, годинні й добові вікна; параметри задають ширину і крок ковзного вікна
+ * ({@code 30s}, {@code 15m}, {@code 1h}, {@code 1d} або {@code PT1H}). Кількість
+ * виведених вікон обмежує властивість {@code -Dtimeseries.print.limit} (типово 20).</p>
+ *
+ * <p>Режим {@code adaptive} будує лише одну структуру, обрану за профілем навантаження
+ * ({@link AdaptiveStructureSelector}): профіль задається параметром або записується
+ * з операцій стандартних обробників, а вартість кожної структури прогнозується за
+ * виміряними на вибірці константами. Рішення можна замінити властивістю
+ * {@code -Dadaptive.structure}.</p>
+ *
+ * <p>Режим {@code strings} шукає рядки {@code String.data}, що містять підрядок
+ * ({@code contains}, типово) або починаються з префікса ({@code prefix}). Рядки
+ * зберігаються в арені UTF-8, а запит виконується двійковим пошуком у масиві суфіксів
+ * ({@link StringSearchEngine}) без перегляду всіх рядків. Кількість виведених рядків
+ * обмежує властивість {@code -Dstrings.print.limit} (типово 20).</p>
+ *
+ * <p>Режим {@code characters} декодує {@code Character.data} у таблицю частот кодових
+ * точок ({@link CharacterHistogramEngine}), виводить мінімум, максимум, наявність
+ * заданого символу і N найчастіших символів (типово 10) та записує файл {@code .sorted}
+ * сортуванням підрахунком.</p>
  */
 public class BasicDataOperation {
     static final String PATH_TO_DATA_FILE = "list/double.data";
+    static final String PATH_TO_TIMESTAMP_FILE = "list/LocalDateTime.data";
+    static final String PATH_TO_STRING_FILE = "list/String.data";
+    static final String PATH_TO_CHARACTER_FILE = "list/Character.data";
 
     double doubleValueToSearch;
     Double[] doubleArray;
 
+    private BasicDataOperationUsingList listProcessor;
+    private BasicDataOperationUsingQueue queueProcessor;
+    private BasicDataOperationUsingSet setProcessor;
+    private DoubleBloomFilter membershipFilter;
+
     private static final String SEPARATOR = "\n" + "=".repeat(80) + "\n";
-    private static final String USAGE_MESSAGE = "Використання: java BasicDataOperation <пошукове-значення> \n" +
+    private static final double[] DEFAULT_QUANTILES = { 0.5, 0.9, 0.99 };
+    private static final String USAGE_MESSAGE = "Використання: java BasicDataOperation <пошукове-значення> [режим] [параметри режиму]\n" +
+"Режими: list, queue, set, all, follow, quantiles [ймовірності], quantiles-stream [ймовірності],\n" +
+"        range <від> <до>, range-follow <від> <до>, distinct [точність], batch [каталог],\n" +
+"        scatter [кількість-процесів], compressed, offheap [mapped], stream,\n" +
+"        timeseries [ширина-вікна [крок]], adaptive [search=N,minmax=N,insert=N,sorted=N],\n" +
+"        strings <текст> [contains|prefix], characters [символ [кількість-найчастіших]]\n" +
 "Приклад:\n" +
-"  java BasicDataOperation \"1234567890\"";
+"  java BasicDataOperation \"1234567890\"\n" +
+"  java BasicDataOperation \"1234567890\" follow\n" +
+"  java BasicDataOperation \"1234567890\" quantiles 0.5,0.9,0.99";
 
     public static void main(String[] args) {
-        if (args.length != 1) {
-            System.out.println(USAGE_MESSAGE);
+        if (args.length < 1) {
+            ReportSink.println(USAGE_MESSAGE);
+            ReportSink.flush();
             return;
         }
 
@@ -48,12 +173,16 @@ public class BasicDataOperation {
         try {
             Double.parseDouble(searchValue);
         } catch (Exception e) {
-            System.out.println("Помилка: Невірний формат числа");
+            ReportSink.println("Помилка: Невірний формат числа");
+            ReportSink.flush();
             return;
         }
 
         BasicDataOperation coordinator = new BasicDataOperation();
         coordinator.executeOperations(args);
+
+        // Виводимо накопичений звіт поза виміряними операціями
+        ReportSink.flush();
     }
 
     /**
@@ -62,20 +191,178 @@ public class BasicDataOperation {
      * @param args Аргументи командного рядка
      */
     private void executeOperations(String[] args) {
-        System.out.println(SEPARATOR);
-        System.out.println("🚀 РОЗПОЧАТО АНАЛІЗ ЧИСЛОВИХ ДАНИХ 🚀");
-        System.out.println("Пошуковий параметр: " + args[0]);
-        System.out.println(SEPARATOR);
+        ReportSink.println(SEPARATOR);
+        ReportSink.println("🚀 РОЗПОЧАТО АНАЛІЗ ЧИСЛОВИХ ДАНИХ 🚀");
+        ReportSink.println("Пошуковий параметр: " + args[0]);
+        ReportSink.println(SEPARATOR);
         
         // Підготовка даних
         doubleValueToSearch = Double.parseDouble(args[0]);
+        String mode = args.length > 1 ? args[1] : "all";
+
+        switch (mode) {
+            case "list":
+                loadDataFile();
+                runListOperations();
+                printMemoryFootprint();
+                break;
+            case "queue":
+                loadDataFile();
+                runQueueOperations();
+                printMemoryFootprint();
+                break;
+            case "set":
+                loadDataFile();
+                runSetOperations();
+                printMemoryFootprint();
+                break;
+            case "all":
+                loadDataFile();
+                runAllOperations();
+                printMemoryFootprint();
+                break;
+            case "follow":
+                followDataFile();
+                break;
+            case "quantiles":
+            case "quantiles-stream":
+                double[] probabilities = parseProbabilities(args);
+                if (probabilities == null) {
+                    break;
+                }
+                if (mode.equals("quantiles")) {
+                    runOrderStatistics(probabilities);
+                } else {
+                    runStreamingOrderStatistics(probabilities);
+                }
+                break;
+            case "distinct":
+                Integer precision = parseIntegerArgument(args, 2, 14, HyperLogLogSketch.MIN_PRECISION, "точність");
+                if (precision != null) {
+                    runDistinctCountEstimation(precision);
+                }
+                break;
+            case "batch":
+                runBatchAnalysis(args.length > 2 ? args[2] : "list");
+                break;
+            case "compressed":
+                runCompressedStorage();
+                break;
+            case "offheap":
+                runOffHeapStorage(args.length > 2 && args[2].equals("mapped"));
+                break;
+            case "stream":
+                runStreamingPipeline();
+                break;
+            case "timeseries":
+                runTimeSeriesAggregation(args);
+                break;
+            case "adaptive":
+                loadDataFile();
+                runAdaptiveSelection(args.length > 2 ? args[2] : null);
+                break;
+            case "strings":
+                if (args.length < 3) {
+                    ReportSink.println("Помилка: для режиму 'strings' потрібен текст для пошуку");
+                    ReportSink.println(USAGE_MESSAGE);
+                    break;
+                }
+                runStringSearch(args[2], args.length > 3 && args[3].equals("prefix"));
+                break;
+            case "characters":
+                String symbol = args.length > 2 ? args[2].trim() : null;
+                if (symbol != null && symbol.codePointCount(0, symbol.length()) != 1) {
+                    ReportSink.println("Помилка: для режиму 'characters' потрібен рівно один символ: '" + args[2] + "'");
+                    ReportSink.println(USAGE_MESSAGE);
+                    break;
+                }
+                Integer topCount = parseIntegerArgument(args, 3, 10, 0, "кількість найчастіших символів");
+                if (topCount != null) {
+                    runCharacterHistogram(symbol, topCount);
+                }
+                break;
+            case "scatter":
+                Integer processCount = parseIntegerArgument(args, 2, Runtime.getRuntime().availableProcessors(), 1, "кількість процесів");
+                if (processCount != null) {
+                    runScatterGather(processCount);
+                }
+                break;
+            case "range":
+            case "range-follow":
+                if (args.length < 4) {
+                    ReportSink.println("Помилка: для режиму '" + mode + "' потрібні межі відрізку");
+                    ReportSink.println(USAGE_MESSAGE);
+                    break;
+                }
+                Double lowerBound = parseDoubleArgument(args, 2, "нижня межа відрізку");
+                Double upperBound = lowerBound == null ? null : parseDoubleArgument(args, 3, "верхня межа відрізку");
+                if (upperBound == null) {
+                    break;
+                }
+                if (mode.equals("range")) {
+                    runRangeQuery(lowerBound, upperBound);
+                } else {
+                    followRangeQuery(lowerBound, upperBound);
+                }
+                break;
+            default:
+                ReportSink.println("Помилка: Невідомий режим '" + mode + "'");
+                ReportSink.println(USAGE_MESSAGE);
+                break;
+        }
+
+        ReportSink.println(SEPARATOR);
+        ReportSink.println("✅ АНАЛІЗ ЗАВЕРШЕНО ✅");
+        ReportSink.println(SEPARATOR);
+    }
+
+    /**
+     * Завантажує дані з файлу та, за потреби, будує фільтр Блума.
+     */
+    private void loadDataFile() {
         doubleArray = DataFileHandler.loadArrayFromFile(PATH_TO_DATA_FILE);
-        
-        runAllOperations();
+        buildMembershipFilter();
+    }
+
+    /**
+     * Будує фільтр Блума для завантажених даних, якщо задано властивість {@code bloom.fpp}.
+     */
+    private void buildMembershipFilter() {
+        String falsePositiveRate = System.getProperty("bloom.fpp");
+        if (falsePositiveRate == null) {
+            return;
+        }
+
+        try {
+            PerformanceTracker.OperationScope operation = PerformanceTracker.startOperation("Double[]", doubleArray.length);
+
+            membershipFilter = DoubleBloomFilter.fromValues(doubleArray, Double.parseDouble(falsePositiveRate));
+
+            operation.stop("побудова фільтра Блума");
+
+            ReportSink.println("Фільтр Блума: " + membershipFilter.describe());
+        } catch (IllegalArgumentException e) {
+            ReportSink.println("❌ Фільтр Блума не створено: " + e.getMessage());
+        }
+    }
 
-        System.out.println(SEPARATOR);
-        System.out.println("✅ АНАЛІЗ ЗАВЕРШЕНО ✅");
-        System.out.println(SEPARATOR);
+    /**
+     * Виводить оцінку пам'яті структур, побудованих обробниками, і примітивних альтернатив.
+     */
+    private void printMemoryFootprint() {
+        MemoryFootprintAnalyzer analyzer = new MemoryFootprintAnalyzer();
+        analyzer.addBoxedArray("Double[] (завантажений масив)", doubleArray);
+        if (listProcessor != null) {
+            listProcessor.reportMemoryFootprint(analyzer);
+        }
+        if (queueProcessor != null) {
+            queueProcessor.reportMemoryFootprint(analyzer);
+        }
+        if (setProcessor != null) {
+            setProcessor.reportMemoryFootprint(analyzer);
+        }
+        analyzer.addPrimitiveAlternatives("дані файлу", doubleArray);
+        analyzer.print();
     }
 
     /**
@@ -84,15 +371,16 @@ public class BasicDataOperation {
      * @param args Аргументи для передачі до класу
      */
     private void runListOperations() {
-        System.out.println("📋 ОБРОБКА ДАНИХ З ВИКОРИСТАННЯМ LIST");
-        System.out.println("-".repeat(50));
+        ReportSink.println("📋 ОБРОБКА ДАНИХ З ВИКОРИСТАННЯМ LIST");
+        ReportSink.println("-".repeat(50));
         
         try {
             // Створення екземпляру класу з передаванням даних
-            BasicDataOperationUsingList listProcessor = new BasicDataOperationUsingList(doubleValueToSearch, doubleArray.clone());
+            listProcessor = new BasicDataOperationUsingList(doubleValueToSearch, doubleArray.clone());
+            listProcessor.setMembershipFilter(membershipFilter);
             listProcessor.executeDataOperations();
         } catch (Exception e) {
-            System.out.println("❌ Помилка при роботі з List: " + e.getMessage());
+            ReportSink.println("❌ Помилка при роботі з List: " + e.getMessage());
             e.printStackTrace();
         }
     }
@@ -103,15 +391,16 @@ public class BasicDataOperation {
      * @param args Аргументи для передачі до класу
      */
     private void runQueueOperations() {
-        System.out.println("🔄 ОБРОБКА ДАНИХ З ВИКОРИСТАННЯМ QUEUE");
-        System.out.println("-".repeat(50));
+        ReportSink.println("🔄 ОБРОБКА ДАНИХ З ВИКОРИСТАННЯМ QUEUE");
+        ReportSink.println("-".repeat(50));
         
         try {
             // Створення екземпляру класу з передаванням даних
-            BasicDataOperationUsingQueue queueProcessor = new BasicDataOperationUsingQueue(doubleValueToSearch, doubleArray.clone());
+            queueProcessor = new BasicDataOperationUsingQueue(doubleValueToSearch, doubleArray.clone());
+            queueProcessor.setMembershipFilter(membershipFilter);
             queueProcessor.runDataProcessing();
         } catch (Exception e) {
-            System.out.println("❌ Помилка при роботі з Queue: " + e.getMessage());
+            ReportSink.println("❌ Помилка при роботі з Queue: " + e.getMessage());
             e.printStackTrace();
         }
     }
@@ -122,15 +411,16 @@ public class BasicDataOperation {
      * @param args Аргументи для передачі до класу
      */
     private void runSetOperations() {
-        System.out.println("🔍 ОБРОБКА ДАНИХ З ВИКОРИСТАННЯМ SET");
-        System.out.println("-".repeat(50));
+        ReportSink.println("🔍 ОБРОБКА ДАНИХ З ВИКОРИСТАННЯМ SET");
+        ReportSink.println("-".repeat(50));
         
         try {
             // Створення екземпляру класу з передаванням даних           
-            BasicDataOperationUsingSet setProcessor = new BasicDataOperationUsingSet(doubleValueToSearch, doubleArray.clone());
+            setProcessor = new BasicDataOperationUsingSet(doubleValueToSearch, doubleArray.clone());
+            setProcessor.setMembershipFilter(membershipFilter);
             setProcessor.executeDataAnalysis();
         } catch (Exception e) {
-            System.out.println("❌ Помилка при роботі з Set: " + e.getMessage());
+            ReportSink.println("❌ Помилка при роботі з Set: " + e.getMessage());
             e.printStackTrace();
         }
     }
@@ -141,18 +431,765 @@ public class BasicDataOperation {
      * @param args Аргументи для передачі до класів
      */
     private void runAllOperations() {
-        System.out.println("🎯 КОМПЛЕКСНИЙ АНАЛІЗ ВСІХ СТРУКТУР ДАНИХ");
-        System.out.println("=".repeat(60));
+        ReportSink.println("🎯 КОМПЛЕКСНИЙ АНАЛІЗ ВСІХ СТРУКТУР ДАНИХ");
+        ReportSink.println("=".repeat(60));
         
         // Обробка List
         runListOperations();
-        System.out.println("\n" + "~".repeat(60) + "\n");
+        ReportSink.println("\n" + "~".repeat(60) + "\n");
         
         // Обробка Queue  
         runQueueOperations();
-        System.out.println("\n" + "~".repeat(60) + "\n");
+        ReportSink.println("\n" + "~".repeat(60) + "\n");
         
         // Обробка Set
         runSetOperations();
     }
+
+    /**
+     * Виконує повний аналіз, а потім відстежує файл даних і додає дописані значення
+     * до наявних структур без повторного читання файлу з початку.
+     */
+    private void followDataFile() {
+        DataFileHandler.FileFollower fileFollower = new DataFileHandler.FileFollower(PATH_TO_DATA_FILE);
+
+        try {
+            doubleArray = Arrays.stream(fileFollower.readAppendedValues()).boxed().toArray(Double[]::new);
+        } catch (IOException e) {
+            ReportSink.println("❌ Помилка читання файлу '" + PATH_TO_DATA_FILE + "': " + e.getMessage());
+            return;
+        }
+        buildMembershipFilter();
+
+        runAllOperations();
+
+        long pollInterval = Long.getLong("follow.interval.ms", 1000);
+        long maxPolls = Long.getLong("follow.polls", Long.MAX_VALUE);
+
+        ReportSink.println(SEPARATOR);
+        ReportSink.println("👀 ВІДСТЕЖЕННЯ НОВИХ ДАНИХ У ФАЙЛІ " + PATH_TO_DATA_FILE);
+
+        for (long poll = 0; poll < maxPolls; poll++) {
+            try {
+                Thread.sleep(pollInterval);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+
+            double[] appendedValues;
+            try {
+                appendedValues = fileFollower.readAppendedValues();
+            } catch (IOException e) {
+                ReportSink.println("❌ Помилка читання файлу '" + PATH_TO_DATA_FILE + "': " + e.getMessage());
+                continue;
+            }
+            if (appendedValues.length == 0) {
+                continue;
+            }
+
+            ReportSink.println("\n" + "~".repeat(60) + "\n");
+            ReportSink.println("Зчитано нових значень: " + appendedValues.length + " (зміщення у файлі: " + fileFollower.getByteOffset() + " байт)");
+
+            if (membershipFilter != null) {
+                membershipFilter.addAll(appendedValues);
+            }
+
+            if (listProcessor != null) {
+                listProcessor.mergeAppendedValues(appendedValues);
+            }
+            if (queueProcessor != null) {
+                queueProcessor.mergeAppendedValues(appendedValues);
+            }
+            if (setProcessor != null) {
+                setProcessor.mergeAppendedValues(appendedValues);
+            }
+        }
+    }
+
+    /**
+     * Розбирає необов'язковий цілий параметр режиму. Про некоректне значення
+     * повідомляє разом з довідкою про використання.
+     *
+     * @param args Аргументи командного рядка.
+     * @param index Позиція параметра.
+     * @param defaultValue Значення, якщо параметр не задано.
+     * @param minValue Найменше допустиме значення.
+     * @param name Назва параметра для повідомлення.
+     * @return Значення параметра або {@code null}, якщо його задано некоректно.
+     */
+    private static Integer parseIntegerArgument(String[] args, int index, int defaultValue, int minValue, String name) {
+        if (args.length <= index) {
+            return defaultValue;
+        }
+        try {
+            int value = Integer.parseInt(args[index].trim());
+            if (value >= minValue) {
+                return value;
+            }
+        } catch (NumberFormatException e) {
+            // повідомлення про помилку нижче
+        }
+        ReportSink.println("Помилка: " + name + " має бути цілим числом не менше " + minValue + ": '" + args[index] + "'");
+        ReportSink.println(USAGE_MESSAGE);
+        return null;
+    }
+
+    /**
+     * Розбирає обов'язковий дійсний параметр режиму. Про нечислове значення чи NaN
+     * повідомляє разом з довідкою про використання.
+     *
+     * @param args Аргументи командного рядка.
+     * @param index Позиція параметра.
+     * @param name Назва параметра для повідомлення.
+     * @return Значення параметра або {@code null}, якщо його задано некоректно.
+     */
+    private static Double parseDoubleArgument(String[] args, int index, String name) {
+        try {
+            double value = Double.parseDouble(args[index].trim());
+            if (!Double.isNaN(value)) {
+                return value;
+            }
+        } catch (NumberFormatException e) {
+            // повідомлення про помилку нижче
+        }
+        ReportSink.println("Помилка: " + name + " має бути числом: '" + args[index] + "'");
+        ReportSink.println(USAGE_MESSAGE);
+        return null;
+    }
+
+    /**
+     * Визначає ймовірності квантилів з третього аргументу командного рядка.
+     * Про некоректне значення повідомляє разом з довідкою про використання.
+     *
+     * @param args Аргументи командного рядка.
+     * @return Ймовірності квантилів; типові, якщо аргумент не задано; {@code null},
+     *         якщо хоча б одну ймовірність задано некоректно.
+     */
+    private static double[] parseProbabilities(String[] args) {
+        if (args.length < 3) {
+            return DEFAULT_QUANTILES;
+        }
+
+        String[] items = args[2].split(",", -1);
+        double[] probabilities = new double[items.length];
+        for (int i = 0; i < items.length; i++) {
+            try {
+                probabilities[i] = Double.parseDouble(items[i].trim());
+            } catch (NumberFormatException e) {
+                probabilities[i] = Double.NaN;
+            }
+            if (!(probabilities[i] >= 0 && probabilities[i] <= 1)) {
+                ReportSink.println("Помилка: ймовірність квантиля має бути числом від 0 до 1: '" + items[i] + "'");
+                ReportSink.println(USAGE_MESSAGE);
+                return null;
+            }
+        }
+        return probabilities;
+    }
+
+    /**
+     * Знаходить мінімум, максимум і квантилі в масиві примітивних чисел без повного сортування.
+     *
+     * @param probabilities Ймовірності квантилів.
+     */
+    private void runOrderStatistics(double[] probabilities) {
+        ReportSink.println("📊 ПОРЯДКОВІ СТАТИСТИКИ (QUICKSELECT)");
+        ReportSink.println("-".repeat(50));
+
+        double[] values = DataFileHandler.loadPrimitiveArrayFromFile(PATH_TO_DATA_FILE);
+        if (values.length == 0) {
+            ReportSink.println("Масив є пустим або не ініціалізованим.");
+            return;
+        }
+
+        PerformanceTracker.OperationScope operation = PerformanceTracker.startOperation("double[]", values.length);
+
+        double minValue = values[0];
+        double maxValue = values[0];
+        for (double currentValue : values) {
+            if (currentValue < minValue) {
+                minValue = currentValue;
+            }
+            if (currentValue > maxValue) {
+                maxValue = currentValue;
+            }
+        }
+
+        operation.stop("визначення мiнiмального i максимального значення в масивi double", minValue, maxValue);
+
+        try {
+            operation = PerformanceTracker.startOperation("double[]", values.length);
+
+            double[] quantiles = OrderStatistics.quantiles(values, probabilities);
+
+            operation.stop("визначення квантилів методом quickselect", quantiles);
+
+            ReportSink.println("Кількість значень: " + values.length);
+            ReportSink.println("Найменше значення: " + minValue);
+            ReportSink.println("Найбільше значення: " + maxValue);
+            printQuantiles(probabilities, quantiles);
+        } catch (IllegalArgumentException e) {
+            ReportSink.println("❌ Помилка: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Оцінює мінімум, максимум і квантилі за один прохід файлом без завантаження даних у пам'ять.
+     *
+     * @param probabilities Ймовірності квантилів.
+     */
+    private void runStreamingOrderStatistics(double[] probabilities) {
+        ReportSink.println("📊 ПОРЯДКОВІ СТАТИСТИКИ (ПОТОКОВИЙ СКЕТЧ P²)");
+        ReportSink.println("-".repeat(50));
+
+        try {
+            StreamingQuantileSketch sketch = new StreamingQuantileSketch(probabilities);
+
+            PerformanceTracker.OperationScope operation = PerformanceTracker.startOperation("StreamingQuantileSketch", 0);
+
+            DataFileHandler.streamValuesFromFile(PATH_TO_DATA_FILE, sketch);
+
+            operation.setElementCount(sketch.getCount());
+            operation.stop("потокова оцінка квантилів", sketch.getQuantiles());
+
+            ReportSink.println("Кількість значень: " + sketch.getCount());
+            ReportSink.println("Найменше значення: " + sketch.getMinValue());
+            ReportSink.println("Найбільше значення: " + sketch.getMaxValue());
+            printQuantiles(probabilities, sketch.getQuantiles());
+        } catch (IllegalArgumentException e) {
+            ReportSink.println("❌ Помилка: " + e.getMessage());
+        } catch (IOException e) {
+            ReportSink.println("❌ Помилка читання файлу '" + PATH_TO_DATA_FILE + "': " + e.getMessage());
+        }
+    }
+
+    private static void printQuantiles(double[] probabilities, double[] quantiles) {
+        for (int i = 0; i < probabilities.length; i++) {
+            // Десятковий зсув замість множення на 100: 0.07 дає "p7", а не "p7.000000000000001"
+            String label = probabilities[i] == 0.5 ? "Медіана"
+                    : "Перцентиль p" + BigDecimal.valueOf(probabilities[i]).movePointRight(2).stripTrailingZeros().toPlainString();
+            ReportSink.println(label + ": " + quantiles[i]);
+        }
+    }
+
+    /**
+     * Упорядковує масив і виконує запит по відрізку [from, to].
+     *
+     * @param from Нижня межа відрізку.
+     * @param to Верхня межа відрізку.
+     */
+    private void runRangeQuery(double from, double to) {
+        ReportSink.println("📐 ЗАПИТ ПО ВІДРІЗКУ [" + from + ", " + to + "]");
+        ReportSink.println("-".repeat(50));
+
+        double[] values = DataFileHandler.loadPrimitiveArrayFromFile(PATH_TO_DATA_FILE);
+
+        PerformanceTracker.OperationScope operation = PerformanceTracker.startOperation("double[]", values.length);
+
+        Arrays.sort(values);
+
+        operation.stop("упорядкування масиву double");
+
+        RangeQueryIndex rangeIndex = new RangeQueryIndex(values);
+
+        operation = PerformanceTracker.startOperation("RangeQueryIndex", values.length);
+
+        RangeQueryIndex.RangeSummary summary = rangeIndex.query(from, to);
+
+        operation.stop("запит кількості і суми по відрізку", summary.getCount());
+
+        printRangeSummary(summary);
+    }
+
+    /**
+     * Будує дерево Фенвіка, виконує запит по відрізку і повторює його після кожного
+     * дописування нових значень у файл даних.
+     *
+     * @param from Нижня межа відрізку.
+     * @param to Верхня межа відрізку.
+     */
+    private void followRangeQuery(double from, double to) {
+        ReportSink.println("📐 ЗАПИТ ПО ВІДРІЗКУ [" + from + ", " + to + "] З ВІДСТЕЖЕННЯМ ФАЙЛУ");
+        ReportSink.println("-".repeat(50));
+
+        DataFileHandler.FileFollower fileFollower = new DataFileHandler.FileFollower(PATH_TO_DATA_FILE);
+        FenwickRangeIndex rangeIndex;
+        try {
+            double[] values = fileFollower.readAppendedValues();
+
+            PerformanceTracker.OperationScope operation = PerformanceTracker.startOperation("double[]", values.length);
+
+            rangeIndex = new FenwickRangeIndex(values);
+
+            operation.stop("побудова дерева Фенвіка");
+        } catch (IOException e) {
+            ReportSink.println("❌ Помилка читання файлу '" + PATH_TO_DATA_FILE + "': " + e.getMessage());
+            return;
+        }
+
+        PerformanceTracker.OperationScope operation = PerformanceTracker.startOperation("FenwickRangeIndex", rangeIndex.size());
+
+        RangeQueryIndex.RangeSummary summary = rangeIndex.query(from, to);
+
+        operation.stop("запит кількості і суми по відрізку", summary.getCount());
+
+        printRangeSummary(summary);
+
+        long pollInterval = Long.getLong("follow.interval.ms", 1000);
+        long maxPolls = Long.getLong("follow.polls", Long.MAX_VALUE);
+
+        for (long poll = 0; poll < maxPolls; poll++) {
+            try {
+                Thread.sleep(pollInterval);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+
+            double[] appendedValues;
+            try {
+                appendedValues = fileFollower.readAppendedValues();
+            } catch (IOException e) {
+                ReportSink.println("❌ Помилка читання файлу '" + PATH_TO_DATA_FILE + "': " + e.getMessage());
+                continue;
+            }
+            if (appendedValues.length == 0) {
+                continue;
+            }
+
+            operation = PerformanceTracker.startOperation("FenwickRangeIndex", appendedValues.length);
+
+            for (double value : appendedValues) {
+                rangeIndex.insert(value);
+            }
+
+            operation.stop("додавання нових значень до дерева Фенвіка");
+
+            operation = PerformanceTracker.startOperation("FenwickRangeIndex", rangeIndex.size());
+
+            summary = rangeIndex.query(from, to);
+
+            operation.stop("запит кількості і суми по відрізку", summary.getCount());
+
+            ReportSink.println("Зчитано нових значень: " + appendedValues.length + ", всього значень: " + rangeIndex.size());
+            printRangeSummary(summary);
+        }
+    }
+
+    private static void printRangeSummary(RangeQueryIndex.RangeSummary summary) {
+        ReportSink.println("Кількість значень у відрізку: " + summary.getCount());
+        ReportSink.println("Сума значень у відрізку: " + summary.getSum());
+        ReportSink.println("Середнє значення у відрізку: " + summary.getMean());
+    }
+
+    /**
+     * Оцінює кількість різних значень у файлі за один потоковий прохід.
+     *
+     * @param precision Точність скетчу HyperLogLog (кількість бітів індексу регістра).
+     */
+    private void runDistinctCountEstimation(int precision) {
+        ReportSink.println("🔢 ОЦІНКА КІЛЬКОСТІ РІЗНИХ ЗНАЧЕНЬ (HYPERLOGLOG)");
+        ReportSink.println("-".repeat(50));
+
+        try {
+            HyperLogLogSketch sketch = new HyperLogLogSketch(precision);
+
+            PerformanceTracker.OperationScope operation = PerformanceTracker.startOperation("HyperLogLogSketch", 0);
+
+            long valueCount = DataFileHandler.streamValuesFromFile(PATH_TO_DATA_FILE, sketch);
+
+            operation.setElementCount(valueCount);
+            operation.stop("потокова оцінка кількості різних значень", sketch.estimate());
+
+            ReportSink.println("Кількість значень: " + valueCount);
+            ReportSink.println("Оцінка кількості різних значень: " + sketch.estimate());
+            ReportSink.println("Стандартна похибка: ±" + String.format("%.2f", sketch.relativeError() * 100) + "%");
+            ReportSink.println("Пам'ять скетчу: " + sketch.sizeInBytes() + " байт");
+        } catch (IllegalArgumentException e) {
+            ReportSink.println("❌ Помилка: " + e.getMessage());
+        } catch (IOException e) {
+            ReportSink.println("❌ Помилка читання файлу '" + PATH_TO_DATA_FILE + "': " + e.getMessage());
+        }
+    }
+
+    /**
+     * Паралельно аналізує всі файли даних каталогу.
+     *
+     * @param directoryPath Шлях до каталогу з файлами {@code *.data}.
+     */
+    private void runBatchAnalysis(String directoryPath) {
+        ReportSink.println("📦 ПАКЕТНИЙ АНАЛІЗ КАТАЛОГУ '" + directoryPath + "'");
+        ReportSink.println("-".repeat(50));
+
+        int parallelism = Integer.getInteger("batch.parallelism", Runtime.getRuntime().availableProcessors());
+        try (BatchDataAnalyzer analyzer = new BatchDataAnalyzer(Math.max(1, parallelism))) {
+            analyzer.analyzeDirectory(directoryPath);
+        }
+    }
+
+    /**
+     * Обробляє файл даних кількома процесами і зливає відсортовані частини.
+     *
+     * @param processCount Кількість робочих процесів (не менше 1).
+     */
+    private void runScatterGather(int processCount) {
+        ReportSink.println("🧩 РОЗПОДІЛЕНА ОБРОБКА ФАЙЛУ (" + processCount + " процесів)");
+        ReportSink.println("-".repeat(50));
+
+        new ScatterGatherCoordinator(PATH_TO_DATA_FILE, processCount).run(doubleValueToSearch, PATH_TO_DATA_FILE + ".sorted");
+    }
+
+    /**
+     * Завантажує числа і мітки часу в стиснені колонки та виконує пошук і визначення
+     * мінімуму й максимуму з розпакуванням по блоках.
+     */
+    private void runCompressedStorage() {
+        ReportSink.println("🗜️ СТИСНЕНЕ ЗБЕРІГАННЯ В ПАМ'ЯТІ");
+        ReportSink.println("-".repeat(50));
+
+        GorillaDoubleColumn doubleColumn = new GorillaDoubleColumn();
+        long valueCount;
+        try {
+            valueCount = DataFileHandler.streamValuesFromFile(PATH_TO_DATA_FILE, doubleColumn);
+        } catch (IOException e) {
+            ReportSink.println("❌ Помилка читання файлу '" + PATH_TO_DATA_FILE + "': " + e.getMessage());
+            return;
+        }
+        ReportSink.println("Числа: " + valueCount + " значень, " + doubleColumn.blockCount() + " блоків, "
+                + doubleColumn.sizeInBytes() + " байт замість " + valueCount * Double.BYTES
+                + " (стиснення " + String.format("%.2f", compressionRatio(valueCount * Double.BYTES, doubleColumn.sizeInBytes())) + "x)");
+
+        PerformanceTracker.OperationScope operation = PerformanceTracker.startOperation("GorillaDoubleColumn", valueCount);
+        long position = doubleColumn.indexOf(doubleValueToSearch);
+        operation.stop("пошук у стисненій колонці", position);
+        ReportSink.println(position >= 0
+                ? "Значення '" + doubleValueToSearch + "' знайдено на позиції: " + position
+                : "Значення '" + doubleValueToSearch + "' не знайдено");
+
+        double[] minMax = { Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY };
+        operation = PerformanceTracker.startOperation("GorillaDoubleColumn", valueCount);
+        doubleColumn.forEach(value -> {
+            minMax[0] = Math.min(minMax[0], value);
+            minMax[1] = Math.max(minMax[1], value);
+        });
+        operation.stop("пошук мінімуму і максимуму в стисненій колонці", minMax[0], minMax[1]);
+        ReportSink.println("Мінімальне значення: " + minMax[0] + ", максимальне значення: " + minMax[1]);
+
+        DeltaOfDeltaTimestampColumn timestampColumn = new DeltaOfDeltaTimestampColumn();
+        long timestampCount;
+        try {
+            timestampCount = DataFileHandler.streamLinesFromFile(PATH_TO_TIMESTAMP_FILE, line -> {
+                try {
+                    LocalDateTime timestamp = (LocalDateTime) DataType.LOCAL_DATE_TIME.parse(line);
+                    timestampColumn.accept(timestamp.toEpochSecond(ZoneOffset.UTC));
+                } catch (DateTimeParseException e) {
+                    ReportSink.println("Пропущено некоректну мітку часу: " + line);
+                }
+            });
+        } catch (IOException e) {
+            ReportSink.println("❌ Помилка читання файлу '" + PATH_TO_TIMESTAMP_FILE + "': " + e.getMessage());
+            return;
+        }
+        ReportSink.println("Мітки часу: " + timestampColumn.size() + " значень, " + timestampColumn.sizeInBytes()
+                + " байт замість " + timestampColumn.size() * Long.BYTES
+                + " (стиснення " + String.format("%.2f", compressionRatio(timestampColumn.size() * Long.BYTES, timestampColumn.sizeInBytes())) + "x)");
+
+        long[] timestampMinMax = { Long.MAX_VALUE, Long.MIN_VALUE };
+        operation = PerformanceTracker.startOperation("DeltaOfDeltaTimestampColumn", timestampCount);
+        timestampColumn.forEach(epochSecond -> {
+            timestampMinMax[0] = Math.min(timestampMinMax[0], epochSecond);
+            timestampMinMax[1] = Math.max(timestampMinMax[1], epochSecond);
+        });
+        operation.stop("пошук найранішої і найпізнішої мітки часу", timestampMinMax[0], timestampMinMax[1]);
+        if (timestampColumn.size() > 0) {
+            ReportSink.println("Найраніша мітка: " + LocalDateTime.ofEpochSecond(timestampMinMax[0], 0, ZoneOffset.UTC)
+                    + ", найпізніша мітка: " + LocalDateTime.ofEpochSecond(timestampMinMax[1], 0, ZoneOffset.UTC));
+        }
+    }
+
+    private static double compressionRatio(long rawBytes, long compressedBytes) {
+        return compressedBytes == 0 ? 0 : (double) rawBytes / compressedBytes;
+    }
+
+    /**
+     * Завантажує числа в сховище поза купою та виконує над ним пошук,
+     * визначення мінімуму й максимуму і сортування.
+     *
+     * @param mapped Використовувати двійковий файл, відображений у пам'ять, замість прямої пам'яті.
+     */
+    private void runOffHeapStorage(boolean mapped) {
+        ReportSink.println("🧱 ЗБЕРІГАННЯ ДАНИХ ПОЗА КУПОЮ (" + (mapped ? "відображений файл" : "пряма пам'ять") + ")");
+        ReportSink.println("-".repeat(50));
+
+        try {
+            OffHeapDoubleStore store;
+            if (mapped) {
+                Path binaryFile = Paths.get(PATH_TO_DATA_FILE + ".bin");
+                // Двійковий файл перебудовується, лише якщо текстовий файл новіший
+                if (!Files.exists(binaryFile) || Files.getLastModifiedTime(binaryFile).compareTo(Files.getLastModifiedTime(Paths.get(PATH_TO_DATA_FILE))) < 0) {
+                    long valueCount = OffHeapDoubleStore.convertTextFile(PATH_TO_DATA_FILE, binaryFile);
+                    ReportSink.println("Створено двійковий файл '" + binaryFile + "': " + valueCount + " значень");
+                }
+                store = OffHeapDoubleStore.mapFile(binaryFile);
+            } else {
+                store = OffHeapDoubleStore.allocateDirect();
+                DataFileHandler.streamValuesFromFile(PATH_TO_DATA_FILE, store);
+            }
+            ReportSink.println("Значень: " + store.size() + ", пам'ять поза купою: " + store.size() * Double.BYTES
+                    + " байт (зарезервовано " + store.sizeInBytes() + " байт)");
+
+            PerformanceTracker.OperationScope operation = PerformanceTracker.startOperation("OffHeapDoubleStore", store.size());
+            double[] minMax = store.minMax();
+            operation.stop("пошук мінімуму і максимуму поза купою", minMax[0], minMax[1]);
+            ReportSink.println("Мінімальне значення: " + minMax[0] + ", максимальне значення: " + minMax[1]);
+
+            operation = PerformanceTracker.startOperation("OffHeapDoubleStore", store.size());
+            store.sort();
+            operation.stop("сортування поза купою");
+
+            operation = PerformanceTracker.startOperation("OffHeapDoubleStore", store.size());
+            long position = store.binarySearch(doubleValueToSearch);
+            operation.stop("пошук елемента поза купою", position);
+            ReportSink.println(position >= 0
+                    ? "Елемент '" + doubleValueToSearch + "' знайдено за позицією: " + position
+                    : "Елемент '" + doubleValueToSearch + "' відсутній.");
+
+            try (SortedFileWriter fileWriter = new SortedFileWriter(PATH_TO_DATA_FILE + ".sorted")) {
+                IOException[] failure = { null };
+                store.forEach(value -> {
+                    if (failure[0] == null) {
+                        try {
+                            fileWriter.write(value);
+                        } catch (IOException e) {
+                            failure[0] = e;
+                        }
+                    }
+                });
+                if (failure[0] != null) {
+                    throw failure[0];
+                }
+                fileWriter.commit();
+            }
+        } catch (IOException e) {
+            ReportSink.println("❌ Помилка роботи зі сховищем поза купою: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Обробляє файл даних потоковим конвеєром без попереднього завантаження в масив.
+     */
+    private void runStreamingPipeline() {
+        ReportSink.println("🌊 ПОТОКОВИЙ КОНВЕЄР ОБРОБКИ ДАНИХ");
+        ReportSink.println("-".repeat(50));
+
+        try {
+            new DataStreamPipeline(PATH_TO_DATA_FILE, doubleValueToSearch).run();
+        } catch (IOException e) {
+            ReportSink.println("❌ Помилка читання файлу '" + PATH_TO_DATA_FILE + "': " + e.getMessage());
+        }
+    }
+
+    /**
+     * Групує мітки часу з файлу у вікна за один прохід і виводить статистику вікон.
+     *
+     * @param args Аргументи командного рядка; третій і четвертий - ширина і крок вікна.
+     */
+    private void runTimeSeriesAggregation(String[] args) {
+        ReportSink.println("🕒 АГРЕГАЦІЯ МІТОК ЧАСУ ЗА ВІКНАМИ");
+        ReportSink.println("-".repeat(50));
+
+        List<TimeSeriesAggregator> aggregators = new ArrayList<>();
+        try {
+            if (args.length > 2) {
+                long widthSeconds = TimeSeriesAggregator.parseWindowSeconds(args[2]);
+                long stepSeconds = args.length > 3 ? TimeSeriesAggregator.parseWindowSeconds(args[3]) : widthSeconds;
+                aggregators.add(new TimeSeriesAggregator(widthSeconds, stepSeconds));
+            } else {
+                aggregators.add(TimeSeriesAggregator.tumbling(60));
+                aggregators.add(TimeSeriesAggregator.tumbling(3600));
+                aggregators.add(TimeSeriesAggregator.tumbling(86400));
+            }
+        } catch (IllegalArgumentException | DateTimeException e) {
+            ReportSink.println("Помилка: некоректне вікно - " + e.getMessage());
+            ReportSink.println(USAGE_MESSAGE);
+            return;
+        }
+
+        PerformanceTracker.OperationScope operation = PerformanceTracker.startOperation("TimeSeriesAggregator", 0);
+        long lineCount;
+        try {
+            lineCount = DataFileHandler.streamLinesFromFile(PATH_TO_TIMESTAMP_FILE, line -> {
+                long epochSecond;
+                try {
+                    epochSecond = TimeSeriesAggregator.parseEpochSecond(line);
+                } catch (DateTimeException e) {
+                    ReportSink.println("Пропущено некоректну мітку часу: " + line);
+                    return;
+                }
+                // Усі розміри вікон оновлюються з однієї розібраної мітки
+                for (TimeSeriesAggregator aggregator : aggregators) {
+                    aggregator.accept(epochSecond);
+                }
+            });
+        } catch (IOException e) {
+            ReportSink.println("❌ Помилка читання файлу '" + PATH_TO_TIMESTAMP_FILE + "': " + e.getMessage());
+            return;
+        }
+        operation.setElementCount(lineCount);
+        operation.stop("агрегація міток часу за вікнами за один прохід", lineCount);
+
+        int printLimit = Integer.getInteger("timeseries.print.limit", 20);
+        for (TimeSeriesAggregator aggregator : aggregators) {
+            printTimeWindows(aggregator, printLimit);
+        }
+    }
+
+    private static void printTimeWindows(TimeSeriesAggregator aggregator, int printLimit) {
+        long windowCount = aggregator.getWindowCount();
+        ReportSink.println("");
+        ReportSink.println("Вікна " + aggregator.getWidthSeconds() + " с з кроком " + aggregator.getStepSeconds() + " с: "
+                + aggregator.getEventCount() + " подій у " + windowCount + " непорожніх вікнах");
+
+        Map.Entry<Long, TimeSeriesAggregator.WindowStatistics> busiest = aggregator.getBusiestWindow();
+        if (busiest != null) {
+            ReportSink.println("Найбільше подій (" + busiest.getValue().getCount() + ") у вікні з " + LocalDateTime.ofEpochSecond(busiest.getKey(), 0, ZoneOffset.UTC));
+        }
+
+        int printed = 0;
+        for (Map.Entry<Long, TimeSeriesAggregator.WindowStatistics> window : aggregator.getWindows()) {
+            if (printed++ == printLimit) {
+                ReportSink.println("... ще " + (windowCount - printLimit) + " вікон");
+                break;
+            }
+            TimeSeriesAggregator.WindowStatistics statistics = window.getValue();
+            ReportSink.println(LocalDateTime.ofEpochSecond(window.getKey(), 0, ZoneOffset.UTC)
+                    + ": кількість " + statistics.getCount()
+                    + ", перша " + LocalDateTime.ofEpochSecond(statistics.getFirst(), 0, ZoneOffset.UTC)
+                    + ", остання " + LocalDateTime.ofEpochSecond(statistics.getLast(), 0, ZoneOffset.UTC)
+                    + ", найраніша " + LocalDateTime.ofEpochSecond(statistics.getEarliest(), 0, ZoneOffset.UTC)
+                    + ", найпізніша " + LocalDateTime.ofEpochSecond(statistics.getLatest(), 0, ZoneOffset.UTC));
+        }
+    }
+
+    /**
+     * Обирає структуру даних за профілем навантаження і виконує профіль лише на ній.
+     *
+     * @param profileText Профіль навантаження або {@code null}, щоб записати профіль стандартних обробників.
+     */
+    private void runAdaptiveSelection(String profileText) {
+        ReportSink.println("🧭 АДАПТИВНИЙ ВИБІР СТРУКТУРИ ДАНИХ");
+        ReportSink.println("-".repeat(50));
+
+        try {
+            AdaptiveStructureSelector.WorkloadProfile profile = profileText != null
+                    ? AdaptiveStructureSelector.WorkloadProfile.parse(profileText)
+                    : AdaptiveStructureSelector.recordStandardProfile(doubleArray, doubleValueToSearch);
+
+            double[] values = new double[doubleArray.length];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = doubleArray[i];
+            }
+            AdaptiveStructureSelector.selectAndRun(values, doubleValueToSearch, profile);
+        } catch (IllegalArgumentException e) {
+            ReportSink.println("Помилка: " + e.getMessage());
+            ReportSink.println(USAGE_MESSAGE);
+        } catch (IOException e) {
+            ReportSink.println("❌ Не вдалося записати профіль навантаження: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Шукає рядки файлу за підрядком або префіксом через індекс суфіксів.
+     *
+     * @param text Підрядок або префікс.
+     * @param prefixOnly {@code true}, щоб шукати лише рядки з таким початком.
+     */
+    private void runStringSearch(String text, boolean prefixOnly) {
+        ReportSink.println("🔤 ПОШУК РЯДКІВ ЗА " + (prefixOnly ? "ПРЕФІКСОМ" : "ПІДРЯДКОМ"));
+        ReportSink.println("-".repeat(50));
+
+        StringSearchEngine engine;
+        try {
+            engine = StringSearchEngine.loadFromFile(PATH_TO_STRING_FILE);
+        } catch (IOException e) {
+            ReportSink.println("❌ Помилка читання файлу '" + PATH_TO_STRING_FILE + "': " + e.getMessage());
+            return;
+        }
+        engine.buildIndex();
+
+        PerformanceTracker.OperationScope operation = PerformanceTracker.startOperation("StringSearchEngine", engine.getLineCount());
+        int[] lines = prefixOnly ? engine.findLinesStartingWith(text) : engine.findLinesContaining(text);
+        operation.stop(prefixOnly ? "пошук рядків за префіксом \"" + text + "\"" : "пошук рядків із підрядком \"" + text + "\"", lines.length);
+
+        ReportSink.println("Рядків: " + engine.getLineCount() + ", знайдено: " + lines.length
+                + (prefixOnly ? "" : ", входжень: " + engine.countOccurrences(text))
+                + ", пам'ять індексу: " + engine.sizeInBytes() + " байтів");
+
+        int printLimit = Integer.getInteger("strings.print.limit", 20);
+        for (int i = 0; i < lines.length; i++) {
+            if (i == printLimit) {
+                ReportSink.println("... ще " + (lines.length - printLimit) + " рядків");
+                break;
+            }
+            ReportSink.println((lines[i] + 1) + ": " + engine.getLine(lines[i]));
+        }
+    }
+
+    /**
+     * Рахує частоти символів файлу і відповідає на запити до таблиці частот.
+     *
+     * @param symbol Символ (одна кодова точка) для перевірки наявності або {@code null}.
+     * @param topCount Кількість найчастіших символів для виводу.
+     */
+    private void runCharacterHistogram(String symbol, int topCount) {
+        ReportSink.println("🔠 ЧАСТОТИ СИМВОЛІВ");
+        ReportSink.println("-".repeat(50));
+
+        CharacterHistogramEngine engine;
+        try {
+            engine = CharacterHistogramEngine.loadFromFile(PATH_TO_CHARACTER_FILE);
+        } catch (IOException e) {
+            ReportSink.println("❌ Помилка читання файлу '" + PATH_TO_CHARACTER_FILE + "': " + e.getMessage());
+            return;
+        }
+        ReportSink.println("Символів: " + engine.getTotalCount() + ", різних: " + engine.getDistinctCount()
+                + ", пам'ять таблиці: " + engine.sizeInBytes() + " байт");
+        if (engine.getDistinctCount() == 0) {
+            return;
+        }
+
+        PerformanceTracker.OperationScope operation = PerformanceTracker.startOperation("CharacterHistogramEngine", engine.getDistinctCount());
+        int min = engine.min();
+        int max = engine.max();
+        operation.stop("пошук мінімального і максимального символу", new String(Character.toChars(min)) + " - " + new String(Character.toChars(max)));
+        ReportSink.println("Мінімальний символ: '" + new String(Character.toChars(min)) + "' (U+" + String.format("%04X", min) + ")"
+                + ", максимальний символ: '" + new String(Character.toChars(max)) + "' (U+" + String.format("%04X", max) + ")");
+
+        if (symbol != null) {
+            int codePoint = symbol.codePointAt(0);
+            operation = PerformanceTracker.startOperation("CharacterHistogramEngine", engine.getDistinctCount());
+            int count = engine.count(codePoint);
+            operation.stop("пошук символу", count);
+            ReportSink.println(count > 0
+                    ? "Символ '" + symbol + "' зустрічається " + count + " разів."
+                    : "Символ '" + symbol + "' відсутній.");
+        }
+
+        operation = PerformanceTracker.startOperation("CharacterHistogramEngine", engine.getDistinctCount());
+        int[] topCodePoints = engine.topFrequent(topCount);
+        operation.stop("пошук найчастіших символів", topCodePoints.length);
+        ReportSink.println("Найчастіші символи:");
+        for (int codePoint : topCodePoints) {
+            ReportSink.println("  '" + new String(Character.toChars(codePoint)) + "': " + engine.count(codePoint));
+        }
+
+        operation = PerformanceTracker.startOperation("CharacterHistogramEngine", engine.getTotalCount());
+        try {
+            engine.writeSorted(PATH_TO_CHARACTER_FILE + ".sorted");
+            operation.stop("запис символів сортуванням підрахунком");
+        } catch (IOException e) {
+            ReportSink.println("❌ Помилка запису файлу '" + PATH_TO_CHARACTER_FILE + ".sorted': " + e.getMessage());
+        }
+    }
 }
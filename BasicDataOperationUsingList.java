@@ -1,8 +1,10 @@
 
+import java.io.IOException;
 import java.util.LinkedList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.ListIterator;
 
 /**
  * Клас BasicDataOperationUsingList реалізує операції з колекціями типу ArrayList для числових даних.
@@ -16,12 +18,18 @@ import java.util.List;
  *   <li>{@link #sortList()} - Сортує колекцію List.</li>
  *   <li>{@link #findInList()} - Пошук конкретного значення в списку.</li>
  *   <li>{@link #locateMinMaxInList()} - Пошук мінімального і максимального значення в списку.</li>
+ *   <li>{@link #mergeAppendedValues(double[])} - Додає нові значення з файлу до списку та масиву.</li>
  * </ul>
  */
 public class BasicDataOperationUsingList {
     private double doubleValueToSearch;
     private Double[] doubleArray;
     private List<Double> doubleList;
+    private double runningMinValue;
+    private double runningMaxValue;
+    private DoubleBloomFilter membershipFilter;
+    private EytzingerIndex searchIndex;
+    private String sortedOutputPath = BasicDataOperation.PATH_TO_DATA_FILE + ".sorted";
 
     /**
      * Конструктор, який iнiцiалiзує об'єкт з готовими даними.
@@ -40,6 +48,34 @@ public class BasicDataOperationUsingList {
         }
     }
     
+    /**
+     * Встановлює фільтр Блума для швидкої відповіді на пошук відсутніх значень.
+     *
+     * @param membershipFilter Фільтр, побудований під час завантаження даних, або {@code null}.
+     */
+    void setMembershipFilter(DoubleBloomFilter membershipFilter) {
+        this.membershipFilter = membershipFilter;
+    }
+
+    /**
+     * Додає до звіту про пам'ять колекцію і масив цього обробника.
+     *
+     * @param analyzer Звіт про пам'ять.
+     */
+    void reportMemoryFootprint(MemoryFootprintAnalyzer analyzer) {
+        analyzer.addCollection("LinkedList<Double>", doubleList);
+        analyzer.addBoxedArrayClone("Double[] (List)", doubleArray);
+    }
+
+    /**
+     * Змінює файл, до якого зберігається відсортований масив.
+     *
+     * @param sortedOutputPath Шлях до файлу.
+     */
+    void setSortedOutputPath(String sortedOutputPath) {
+        this.sortedOutputPath = sortedOutputPath;
+    }
+
     /**
      * Виконує комплексні операції з структурами даних.
      * 
@@ -66,7 +102,11 @@ public class BasicDataOperationUsingList {
         locateMinMaxInArray();
 
         // зберігаємо відсортований масив до окремого файлу
-        DataFileHandler.writeArrayToFile(doubleArray, BasicDataOperation.PATH_TO_DATA_FILE + ".sorted");
+        try {
+            DataFileHandler.writeArrayToFile(doubleArray, sortedOutputPath);
+        } catch (IOException e) {
+            ReportSink.println("❌ Помилка запису відсортованого файлу: " + e.getMessage());
+        }
     }
 
     /**
@@ -74,27 +114,41 @@ public class BasicDataOperationUsingList {
      * Фіксує та виводить тривалість операції сортування в наносекундах.
      */
     void performArraySorting() {
-        long timeStart = System.nanoTime();
+        PerformanceTracker.OperationScope operation = PerformanceTracker.startOperation("Double[]", doubleArray.length, PerformanceTracker.OperationKind.SORT);
 
         Arrays.sort(doubleArray);
 
-        PerformanceTracker.displayOperationTime(timeStart, "упорядкування масиву дійсного числа");
+        operation.stop("упорядкування масиву дійсного числа");
     }
 
     /**
      * Здійснює пошук конкретного значення в масиві дійсного числа.
      */
     void findInArray() {
-        long timeStart = System.nanoTime();
+        if (EytzingerIndex.ENABLED && searchIndex == null) {
+            searchIndex = EytzingerIndex.fromValues(doubleArray);
+        }
+
+        PerformanceTracker.OperationScope operation = PerformanceTracker.startOperation(searchIndex != null ? "EytzingerIndex" : "Double[]", doubleArray.length, PerformanceTracker.OperationKind.SEARCH);
+
+        // фільтр Блума відповідає на гарантовано відсутні значення без звернення до структури
+        if (membershipFilter != null && !membershipFilter.mightContain(doubleValueToSearch)) {
+            operation.stop("перевірка фільтром Блума перед пошуком в масивi дійсного числа", false);
+            ReportSink.println("Елемент '" + doubleValueToSearch + "' відсутній в масиві (відхилено фільтром Блума).");
+            return;
+        }
 
-        int position = Arrays.binarySearch(this.doubleArray, doubleValueToSearch);
+        // індекс повертає позицію у впорядкованому порядку незалежно від поточного порядку масиву
+        int position = searchIndex != null
+                ? searchIndex.indexOf(doubleValueToSearch)
+                : Arrays.binarySearch(this.doubleArray, doubleValueToSearch);
 
-        PerformanceTracker.displayOperationTime(timeStart, "пошук елемента в масивi дійсного числа");
+        operation.stop("пошук елемента в масивi дійсного числа", position);
 
         if (position >= 0) {
-            System.out.println("Елемент '" + doubleValueToSearch + "' знайдено в масивi за позицією: " + position);
+            ReportSink.println("Елемент '" + doubleValueToSearch + "' знайдено в масивi за позицією: " + position);
         } else {
-            System.out.println("Елемент '" + doubleValueToSearch + "' відсутній в масиві.");
+            ReportSink.println("Елемент '" + doubleValueToSearch + "' відсутній в масиві.");
         }
     }
 
@@ -103,11 +157,11 @@ public class BasicDataOperationUsingList {
      */
     void locateMinMaxInArray() {
         if (doubleArray == null || doubleArray.length == 0) {
-            System.out.println("Масив є пустим або не ініціалізованим.");
+            ReportSink.println("Масив є пустим або не ініціалізованим.");
             return;
         }
 
-        long timeStart = System.nanoTime();
+        PerformanceTracker.OperationScope operation = PerformanceTracker.startOperation("Double[]", doubleArray.length, PerformanceTracker.OperationKind.MIN_MAX);
 
         double minValue = doubleArray[0];
         double maxValue = doubleArray[0];
@@ -121,26 +175,29 @@ public class BasicDataOperationUsingList {
             }
         }
 
-        PerformanceTracker.displayOperationTime(timeStart, "визначення мiнiмальної i максимальної дати в масивi");
+        operation.stop("визначення мiнiмальної i максимальної дати в масивi", minValue, maxValue);
+
+        runningMinValue = minValue;
+        runningMaxValue = maxValue;
 
-        System.out.println("Найменше значення в масивi: " + minValue);
-        System.out.println("Найбільше значення в масивi: " + maxValue);
+        ReportSink.println("Найменше значення в масивi: " + minValue);
+        ReportSink.println("Найбільше значення в масивi: " + maxValue);
     }
 
     /**
      * Шукає конкретне значення дійсного числа в колекції ArrayList.
      */
     void findInList() {
-        long timeStart = System.nanoTime();
+        PerformanceTracker.OperationScope operation = PerformanceTracker.startOperation("LinkedList", doubleList.size(), PerformanceTracker.OperationKind.SEARCH);
 
         int position = Collections.binarySearch(this.doubleList, doubleValueToSearch);
 
-        PerformanceTracker.displayOperationTime(timeStart, "пошук елемента в List дійсного числа");        
+        operation.stop("пошук елемента в List дійсного числа", position);        
 
         if (position >= 0) {
-            System.out.println("Елемент '" + doubleValueToSearch + "' знайдено в ArrayList за позицією: " + position);
+            ReportSink.println("Елемент '" + doubleValueToSearch + "' знайдено в ArrayList за позицією: " + position);
         } else {
-            System.out.println("Елемент '" + doubleValueToSearch + "' відсутній в ArrayList.");
+            ReportSink.println("Елемент '" + doubleValueToSearch + "' відсутній в ArrayList.");
         }
     }
 
@@ -149,19 +206,19 @@ public class BasicDataOperationUsingList {
      */
     void locateMinMaxInList() {
         if (doubleList == null || doubleList.isEmpty()) {
-            System.out.println("Колекція ArrayList є пустою або не ініціалізованою.");
+            ReportSink.println("Колекція ArrayList є пустою або не ініціалізованою.");
             return;
         }
 
-        long timeStart = System.nanoTime();
+        PerformanceTracker.OperationScope operation = PerformanceTracker.startOperation("LinkedList", doubleList.size(), PerformanceTracker.OperationKind.MIN_MAX);
 
         double minValue = Collections.min(doubleList);
         double maxValue = Collections.max(doubleList);
 
-        PerformanceTracker.displayOperationTime(timeStart, "визначення мiнiмальної i максимальної дати в List");
+        operation.stop("визначення мiнiмальної i максимальної дати в List", minValue, maxValue);
 
-        System.out.println("Найменше значення в List: " + minValue);
-        System.out.println("Найбільше значення в List: " + maxValue);
+        ReportSink.println("Найменше значення в List: " + minValue);
+        ReportSink.println("Найбільше значення в List: " + maxValue);
     }
 
     /**
@@ -169,10 +226,50 @@ public class BasicDataOperationUsingList {
      * Відстежує та виводить час виконання операції сортування.
      */
     void sortList() {
-        long timeStart = System.nanoTime();
+        PerformanceTracker.OperationScope operation = PerformanceTracker.startOperation("LinkedList", doubleList.size(), PerformanceTracker.OperationKind.SORT);
 
         Collections.sort(doubleList);
 
-        PerformanceTracker.displayOperationTime(timeStart, "упорядкування ArrayList дійсного числа");
+        operation.stop("упорядкування ArrayList дійсного числа");
+    }
+
+    /**
+     * Додає нові значення, дописані у файл даних, до наявних структур без повної перебудови.
+     * Очікує, що список і масив уже впорядковано (після {@link #executeDataOperations()}).
+     *
+     * @param appendedValues Нові значення з файлу.
+     */
+    public void mergeAppendedValues(double[] appendedValues) {
+        if (appendedValues.length == 0) {
+            return;
+        }
+
+        PerformanceTracker.OperationScope operation = PerformanceTracker.startOperation("LinkedList", appendedValues.length, PerformanceTracker.OperationKind.INSERT);
+
+        doubleArray = SortedArrayMerger.mergeAppendedValues(doubleArray, appendedValues, sortedValues -> {
+            // вставляємо нові значення у впорядкований список за один прохід
+            ListIterator<Double> iterator = doubleList.listIterator();
+            int valueIndex = 0;
+            while (valueIndex < sortedValues.length) {
+                if (!iterator.hasNext()) {
+                    iterator.add(sortedValues[valueIndex++]);
+                } else if (Double.compare(iterator.next(), sortedValues[valueIndex]) > 0) {
+                    iterator.previous();
+                    iterator.add(sortedValues[valueIndex++]);
+                }
+            }
+        });
+        // індекс перебудується під час наступного пошуку
+        searchIndex = null;
+
+        runningMinValue = Math.min(runningMinValue, doubleArray[0]);
+        runningMaxValue = Math.max(runningMaxValue, doubleArray[doubleArray.length - 1]);
+
+        operation.stop("злиття нових значень з List та масивом дійсного числа", doubleList.size());
+
+        SortedArrayMerger.reportMergedValues("List", appendedValues.length, doubleList.size(), runningMinValue, runningMaxValue);
+
+        findInList();
+        findInArray();
     }
-}
\ No newline at end of file
+}
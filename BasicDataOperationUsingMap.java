@@ -1,3 +1,7 @@
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
@@ -5,6 +9,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
 
 /**
  * Клас BasicDataOperationUsingMap реалізує операції з колекціями типу Map для зберігання пар ключ-значення.
@@ -19,6 +25,8 @@ import java.util.LinkedHashMap;
  *   <li>{@link #removeByValue()} - Видаляє записи з Map за значенням.</li>
  *   <li>{@link #sortByKey()} - Сортує Map за ключами.</li>
  *   <li>{@link #sortByValue()} - Сортує Map за значеннями.</li>
+ *   <li>{@link #fromCsvFile(String)} - Імпортує записи з CSV-файлу в таблиці заздалегідь розрахованого розміру.</li>
+ *   <li>{@link #executeRegistryOperations()} - Виконує операції з реєстром, читачі якого працюють зі знімками під час запису.</li>
  * </ul>
  */
 public class BasicDataOperationUsingMap {
@@ -56,15 +64,17 @@ public class BasicDataOperationUsingMap {
     public static class Parrot implements Comparable<Parrot> {
         private final String nickname;
         private final String species;
+        // Поля незмінні, тому хеш-код обчислюється один раз - під час створення об'єкта
+        private final int hash;
 
         public Parrot(String nickname) {
-            this.nickname = nickname;
-            this.species = null;
+            this(nickname, null);
         }
 
         public Parrot(String nickname, String species) {
             this.nickname = nickname;
             this.species = species;
+            this.hash = computeHash(nickname, species);
         }
 
         public String getNickname() { 
@@ -157,6 +167,10 @@ public class BasicDataOperationUsingMap {
          */
         @Override
         public int hashCode() {
+            return hash;
+        }
+
+        private static int computeHash(String nickname, String species) {
             // Початкове значення: хеш-код поля nickname (або 0, якщо nickname == null)
             int result = nickname != null ? nickname.hashCode() : 0;
             
@@ -201,8 +215,8 @@ public class BasicDataOperationUsingMap {
      */
     public void executeDataOperations() {
         // Спочатку працюємо з HashMap
-        System.out.println("========= Операції з HashMap =========");
-        System.out.println("Початковий розмір HashMap: " + hashtable.size());
+        ReportSink.println("========= Операції з HashMap =========");
+        ReportSink.println("Початковий розмір HashMap: " + hashtable.size());
         
         // Пошук до сортування
         findByKeyInHashMap();
@@ -221,11 +235,11 @@ public class BasicDataOperationUsingMap {
         removeByKeyFromHashMap();
         removeByValueFromHashMap();
                
-        System.out.println("Кінцевий розмір HashMap: " + hashtable.size());
+        ReportSink.println("Кінцевий розмір HashMap: " + hashtable.size());
 
         // Потім обробляємо LinkedHashMap (раніше TreeMap)
-        System.out.println("\n\n========= Операції з LinkedHashMap (раніше TreeMap) =========");
-        System.out.println("Початковий розмір LinkedHashMap: " + treeMap.size());
+        ReportSink.println("\n\n========= Операції з LinkedHashMap (раніше TreeMap) =========");
+        ReportSink.println("Початковий розмір LinkedHashMap: " + treeMap.size());
         
         findByKeyInLinkedHashMap();
         findByValueInLinkedHashMap();
@@ -237,7 +251,102 @@ public class BasicDataOperationUsingMap {
         removeByKeyFromLinkedHashMap();
         removeByValueFromLinkedHashMap();
         
-        System.out.println("Кінцевий розмір LinkedHashMap: " + treeMap.size());
+        ReportSink.println("Кінцевий розмір LinkedHashMap: " + treeMap.size());
+    }
+
+    /**
+     * Виконує операції з реєстром {@link ParrotRegistry} на основі записів HashMap.
+     *
+     * <p>Окремий потік-записувач додає і видаляє записи парами: обидва записи пари
+     * з'являються і зникають в одній версії реєстру. Тим часом поточний потік
+     * повторно обходить знімки (виведення, пошук за значенням) і перевіряє, що жоден
+     * знімок не містить половину пари. Кількість змін задається властивістю
+     * {@code -Dregistry.writes} (типово 20000).</p>
+     */
+    public void executeRegistryOperations() {
+        ReportSink.println("========= Операції з реєстром зі знімками (PersistentHashTrie) =========");
+        ParrotRegistry registry = ParrotRegistry.fromMap(hashtable);
+        ReportSink.println("Початковий розмір реєстру: " + registry.size());
+
+        int writeCount = Integer.getInteger("registry.writes", 20000);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        Thread writer = new Thread(() -> {
+            try {
+                for (int i = 0; i < writeCount; i++) {
+                    Parrot first = new Parrot("Новачок" + i, "Ара");
+                    Parrot second = new Parrot("Новачок" + i, "Жако");
+                    Parrot previousFirst = new Parrot("Новачок" + (i - 1), "Ара");
+                    Parrot previousSecond = new Parrot("Новачок" + (i - 1), "Жако");
+                    // Попередня пара зникає, а нова з'являється в одній опублікованій версії
+                    registry.update(trie -> trie.remove(previousFirst).remove(previousSecond)
+                            .put(first, VALUE_TO_ADD).put(second, VALUE_TO_ADD));
+                }
+            } finally {
+                writing.set(false);
+            }
+        }, "registry-writer");
+
+        PerformanceTracker.OperationScope operation = PerformanceTracker.startOperation("ParrotRegistry", registry.size());
+        writer.start();
+
+        long scanCount = 0;
+        long inconsistentSnapshots = 0;
+        long entriesVisited = 0;
+        do {
+            PersistentHashTrie<Parrot, String> snapshot = registry.snapshot();
+            long[] pairCheck = { 0, 0 };
+            snapshot.forEach((parrot, owner) -> {
+                pairCheck[0]++;
+                if (parrot.getNickname().startsWith("Новачок")) {
+                    String partnerSpecies = "Ара".equals(parrot.getSpecies()) ? "Жако" : "Ара";
+                    if (!snapshot.containsKey(new Parrot(parrot.getNickname(), partnerSpecies))) {
+                        pairCheck[1]++;
+                    }
+                }
+            });
+            entriesVisited += pairCheck[0];
+            if (pairCheck[1] > 0) {
+                inconsistentSnapshots++;
+            }
+            scanCount++;
+        } while (writing.get());
+
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        operation.stop("обхід знімків під час запису", scanCount);
+
+        ReportSink.println("Записувач опублікував " + writeCount + " версій; читач обійшов " + scanCount
+                + " знімків (" + entriesVisited + " записів), неузгоджених знімків: " + inconsistentSnapshots);
+
+        operation = PerformanceTracker.startOperation("ParrotRegistry", registry.size());
+        boolean found = registry.snapshot().containsKey(KEY_TO_SEARCH_AND_DELETE);
+        operation.stop("пошук за ключем у знімку реєстру", found);
+        ReportSink.println(found
+                ? "Елемент з ключем '" + KEY_TO_SEARCH_AND_DELETE + "' знайдено. Власник: " + registry.snapshot().get(KEY_TO_SEARCH_AND_DELETE)
+                : "Елемент з ключем '" + KEY_TO_SEARCH_AND_DELETE + "' відсутній у реєстрі.");
+
+        operation = PerformanceTracker.startOperation("ParrotRegistry", registry.size());
+        List<Parrot> parrots = registry.findByValue(VALUE_TO_SEARCH_AND_DELETE);
+        operation.stop("пошук за значенням у знімку реєстру", parrots.size());
+        ReportSink.println("Власник '" + VALUE_TO_SEARCH_AND_DELETE + "' має " + parrots.size() + " папуг: " + parrots);
+
+        operation = PerformanceTracker.startOperation("ParrotRegistry", registry.size());
+        registry.put(KEY_TO_ADD, VALUE_TO_ADD);
+        operation.stop("додавання запису до реєстру");
+
+        operation = PerformanceTracker.startOperation("ParrotRegistry", registry.size());
+        boolean removed = registry.remove(KEY_TO_SEARCH_AND_DELETE);
+        operation.stop("видалення за ключем з реєстру", removed);
+
+        operation = PerformanceTracker.startOperation("ParrotRegistry", registry.size());
+        int removedCount = registry.removeByValue(VALUE_TO_SEARCH_AND_DELETE);
+        operation.stop("видалення за значенням з реєстру", removedCount);
+        ReportSink.println("Видалено " + removedCount + " записів з власником '" + VALUE_TO_SEARCH_AND_DELETE + "'");
+
+        ReportSink.println("Кінцевий розмір реєстру: " + registry.size());
     }
 
     /**
@@ -256,14 +365,18 @@ public class BasicDataOperationUsingMap {
      * HashMap не гарантує жодного порядку елементів.
      */
     private void printHashMap() {
-        System.out.println("\n=== Пари ключ-значення в HashMap ===");
-        long timeStart = System.nanoTime();
+        ReportSink.println("\n=== Пари ключ-значення в HashMap ===");
+        PerformanceTracker.OperationScope operation = PerformanceTracker.startOperation("HashMap", hashtable.size());
 
+        // Формуємо текст у буфері, щоб вивід на консоль не потрапляв у виміряний інтервал
+        StringBuilder mapContents = new StringBuilder();
         for (Map.Entry<Parrot, String> entry : hashtable.entrySet()) {
-            System.out.println("  " + entry.getKey() + " -> " + entry.getValue());
+            mapContents.append("  ").append(entry.getKey()).append(" -> ").append(entry.getValue()).append('\n');
         }
 
-        PerformanceTracker.displayOperationTime(timeStart, "виведення пари ключ-значення в HashMap");
+        operation.stop("виведення пари ключ-значення в HashMap");
+
+        ReportSink.println(mapContents.toString());
     }
 
     /**
@@ -272,7 +385,7 @@ public class BasicDataOperationUsingMap {
      * Перезаписує HashMap відсортованими даними.
      */
     private void sortHashMap() {
-        long timeStart = System.nanoTime();
+        PerformanceTracker.OperationScope operation = PerformanceTracker.startOperation("HashMap", hashtable.size());
 
         // Створюємо список ключів і сортуємо за природним порядком Parrot
         List<Parrot> sortedKeys = new ArrayList<>(hashtable.keySet());
@@ -287,7 +400,7 @@ public class BasicDataOperationUsingMap {
         // Перезаписуємо оригінальну hashtable, використовуючи новий HashMap з порядком з sortedMap
         hashtable = new HashMap<>(sortedMap);
 
-        PerformanceTracker.displayOperationTime(timeStart, "сортування HashMap за ключами (через LinkedHashMap)");
+        operation.stop("сортування HashMap за ключами (через LinkedHashMap)");
     }
 
     /**
@@ -295,17 +408,17 @@ public class BasicDataOperationUsingMap {
      * Використовує Parrot.hashCode() та Parrot.equals() для пошуку.
      */
     void findByKeyInHashMap() {
-        long timeStart = System.nanoTime();
+        PerformanceTracker.OperationScope operation = PerformanceTracker.startOperation("HashMap", hashtable.size());
 
         boolean found = hashtable.containsKey(KEY_TO_SEARCH_AND_DELETE);
 
-        PerformanceTracker.displayOperationTime(timeStart, "пошук за ключем в HashMap");
+        operation.stop("пошук за ключем в HashMap", found);
 
         if (found) {
             String value = hashtable.get(KEY_TO_SEARCH_AND_DELETE);
-            System.out.println("Елемент з ключем '" + KEY_TO_SEARCH_AND_DELETE + "' знайдено. Власник: " + value);
+            ReportSink.println("Елемент з ключем '" + KEY_TO_SEARCH_AND_DELETE + "' знайдено. Власник: " + value);
         } else {
-            System.out.println("Елемент з ключем '" + KEY_TO_SEARCH_AND_DELETE + "' відсутній в HashMap.");
+            ReportSink.println("Елемент з ключем '" + KEY_TO_SEARCH_AND_DELETE + "' відсутній в HashMap.");
         }
     }
 
@@ -314,7 +427,7 @@ public class BasicDataOperationUsingMap {
      * Сортує список Map.Entry за значеннями та використовує бінарний пошук.
      */
     void findByValueInHashMap() {
-        long timeStart = System.nanoTime();
+        PerformanceTracker.OperationScope operation = PerformanceTracker.startOperation("HashMap", hashtable.size());
 
         // Створюємо список Entry та сортуємо за значеннями
         List<Map.Entry<Parrot, String>> entries = new ArrayList<>(hashtable.entrySet());
@@ -330,13 +443,13 @@ public class BasicDataOperationUsingMap {
 
         int position = Collections.binarySearch(entries, searchEntry, comparator);
 
-        PerformanceTracker.displayOperationTime(timeStart, "бінарний пошук за значенням в HashMap");
+        operation.stop("бінарний пошук за значенням в HashMap", position);
 
         if (position >= 0) {
             Map.Entry<Parrot, String> foundEntry = entries.get(position);
-            System.out.println("Власника '" + VALUE_TO_SEARCH_AND_DELETE + "' знайдено. Parrot: " + foundEntry.getKey());
+            ReportSink.println("Власника '" + VALUE_TO_SEARCH_AND_DELETE + "' знайдено. Parrot: " + foundEntry.getKey());
         } else {
-            System.out.println("Власник '" + VALUE_TO_SEARCH_AND_DELETE + "' відсутній в HashMap.");
+            ReportSink.println("Власник '" + VALUE_TO_SEARCH_AND_DELETE + "' відсутній в HashMap.");
         }
     }
 
@@ -344,29 +457,29 @@ public class BasicDataOperationUsingMap {
      * Додає новий запис до HashMap.
      */
     void addEntryToHashMap() {
-        long timeStart = System.nanoTime();
+        PerformanceTracker.OperationScope operation = PerformanceTracker.startOperation("HashMap", hashtable.size());
 
         hashtable.put(KEY_TO_ADD, VALUE_TO_ADD);
 
-        PerformanceTracker.displayOperationTime(timeStart, "додавання запису до HashMap");
+        operation.stop("додавання запису до HashMap");
 
-        System.out.println("Додано новий запис: Parrot='" + KEY_TO_ADD + "', власник='" + VALUE_TO_ADD + "'");
+        ReportSink.println("Додано новий запис: Parrot='" + KEY_TO_ADD + "', власник='" + VALUE_TO_ADD + "'");
     }
 
     /**
      * Видаляє запис з HashMap за ключем.
      */
     void removeByKeyFromHashMap() {
-        long timeStart = System.nanoTime();
+        PerformanceTracker.OperationScope operation = PerformanceTracker.startOperation("HashMap", hashtable.size());
 
         String removedValue = hashtable.remove(KEY_TO_SEARCH_AND_DELETE);
 
-        PerformanceTracker.displayOperationTime(timeStart, "видалення за ключем з HashMap");
+        operation.stop("видалення за ключем з HashMap", removedValue);
 
         if (removedValue != null) {
-            System.out.println("Видалено запис з ключем '" + KEY_TO_SEARCH_AND_DELETE + "'. Власник був: " + removedValue);
+            ReportSink.println("Видалено запис з ключем '" + KEY_TO_SEARCH_AND_DELETE + "'. Власник був: " + removedValue);
         } else {
-            System.out.println("Ключ '" + KEY_TO_SEARCH_AND_DELETE + "' не знайдено для видалення.");
+            ReportSink.println("Ключ '" + KEY_TO_SEARCH_AND_DELETE + "' не знайдено для видалення.");
         }
     }
 
@@ -374,7 +487,7 @@ public class BasicDataOperationUsingMap {
      * Видаляє записи з HashMap за значенням.
      */
     void removeByValueFromHashMap() {
-        long timeStart = System.nanoTime();
+        PerformanceTracker.OperationScope operation = PerformanceTracker.startOperation("HashMap", hashtable.size());
 
         List<Parrot> keysToRemove = new ArrayList<>();
         for (Map.Entry<Parrot, String> entry : hashtable.entrySet()) {
@@ -387,9 +500,9 @@ public class BasicDataOperationUsingMap {
             hashtable.remove(key);
         }
 
-        PerformanceTracker.displayOperationTime(timeStart, "видалення за значенням з HashMap");
+        operation.stop("видалення за значенням з HashMap", keysToRemove.size());
 
-        System.out.println("Видалено " + keysToRemove.size() + " записів з власником '" + VALUE_TO_SEARCH_AND_DELETE + "'");
+        ReportSink.println("Видалено " + keysToRemove.size() + " записів з власником '" + VALUE_TO_SEARCH_AND_DELETE + "'");
     }
 
     // ===== Методи для LinkedHashMap =====
@@ -399,31 +512,36 @@ public class BasicDataOperationUsingMap {
      * LinkedHashMap зберігає порядок вставки ключів.
      */
     private void printLinkedHashMap() {
-        System.out.println("\n=== Пари ключ-значення в LinkedHashMap ===");
+        ReportSink.println("\n=== Пари ключ-значення в LinkedHashMap ===");
+
+        PerformanceTracker.OperationScope operation = PerformanceTracker.startOperation("LinkedHashMap", treeMap.size());
 
-        long timeStart = System.nanoTime();
+        // Формуємо текст у буфері, щоб вивід на консоль не потрапляв у виміряний інтервал
+        StringBuilder mapContents = new StringBuilder();
         for (Map.Entry<Parrot, String> entry : treeMap.entrySet()) {
-            System.out.println("  " + entry.getKey() + " -> " + entry.getValue());
+            mapContents.append("  ").append(entry.getKey()).append(" -> ").append(entry.getValue()).append('\n');
         }
 
-        PerformanceTracker.displayOperationTime(timeStart, "виведення пар ключ-значення в LinkedHashMap");
+        operation.stop("виведення пар ключ-значення в LinkedHashMap");
+
+        ReportSink.println(mapContents.toString());
     }
 
     /**
      * Здійснює пошук елемента за ключем в LinkedHashMap.
      */
     void findByKeyInLinkedHashMap() {
-        long timeStart = System.nanoTime();
+        PerformanceTracker.OperationScope operation = PerformanceTracker.startOperation("LinkedHashMap", treeMap.size());
 
         boolean found = treeMap.containsKey(KEY_TO_SEARCH_AND_DELETE);
 
-        PerformanceTracker.displayOperationTime(timeStart, "пошук за ключем в LinkedHashMap");
+        operation.stop("пошук за ключем в LinkedHashMap", found);
 
         if (found) {
             String value = treeMap.get(KEY_TO_SEARCH_AND_DELETE);
-            System.out.println("Елемент з ключем '" + KEY_TO_SEARCH_AND_DELETE + "' знайдено. Власник: " + value);
+            ReportSink.println("Елемент з ключем '" + KEY_TO_SEARCH_AND_DELETE + "' знайдено. Власник: " + value);
         } else {
-            System.out.println("Елемент з ключем '" + KEY_TO_SEARCH_AND_DELETE + "' відсутній в LinkedHashMap.");
+            ReportSink.println("Елемент з ключем '" + KEY_TO_SEARCH_AND_DELETE + "' відсутній в LinkedHashMap.");
         }
     }
 
@@ -432,7 +550,7 @@ public class BasicDataOperationUsingMap {
      * Сортує список Map.Entry за значеннями та використовує бінарний пошук.
      */
     void findByValueInLinkedHashMap() {
-        long timeStart = System.nanoTime();
+        PerformanceTracker.OperationScope operation = PerformanceTracker.startOperation("LinkedHashMap", treeMap.size());
 
         // Створюємо список Entry та сортуємо за значеннями
         List<Map.Entry<Parrot, String>> entries = new ArrayList<>(treeMap.entrySet());
@@ -448,13 +566,13 @@ public class BasicDataOperationUsingMap {
 
         int position = Collections.binarySearch(entries, searchEntry, comparator);
 
-        PerformanceTracker.displayOperationTime(timeStart, "бінарний пошук за значенням в LinkedHashMap");
+        operation.stop("бінарний пошук за значенням в LinkedHashMap", position);
 
         if (position >= 0) {
             Map.Entry<Parrot, String> foundEntry = entries.get(position);
-            System.out.println("Власника '" + VALUE_TO_SEARCH_AND_DELETE + "' знайдено. Parrot: " + foundEntry.getKey());
+            ReportSink.println("Власника '" + VALUE_TO_SEARCH_AND_DELETE + "' знайдено. Parrot: " + foundEntry.getKey());
         } else {
-            System.out.println("Власник '" + VALUE_TO_SEARCH_AND_DELETE + "' відсутній в LinkedHashMap.");
+            ReportSink.println("Власник '" + VALUE_TO_SEARCH_AND_DELETE + "' відсутній в LinkedHashMap.");
         }
     }
 
@@ -462,29 +580,29 @@ public class BasicDataOperationUsingMap {
      * Додає новий запис до LinkedHashMap.
      */
     void addEntryToLinkedHashMap() {
-        long timeStart = System.nanoTime();
+        PerformanceTracker.OperationScope operation = PerformanceTracker.startOperation("LinkedHashMap", treeMap.size());
 
         treeMap.put(KEY_TO_ADD, VALUE_TO_ADD);
 
-        PerformanceTracker.displayOperationTime(timeStart, "додавання запису до LinkedHashMap");
+        operation.stop("додавання запису до LinkedHashMap");
 
-        System.out.println("Додано новий запис: Parrot='" + KEY_TO_ADD + "', власник='" + VALUE_TO_ADD + "'");
+        ReportSink.println("Додано новий запис: Parrot='" + KEY_TO_ADD + "', власник='" + VALUE_TO_ADD + "'");
     }
 
     /**
      * Видаляє запис з LinkedHashMap за ключем.
      */
     void removeByKeyFromLinkedHashMap() {
-        long timeStart = System.nanoTime();
+        PerformanceTracker.OperationScope operation = PerformanceTracker.startOperation("LinkedHashMap", treeMap.size());
 
         String removedValue = treeMap.remove(KEY_TO_SEARCH_AND_DELETE);
 
-        PerformanceTracker.displayOperationTime(timeStart, "видалення за ключем з LinkedHashMap");
+        operation.stop("видалення за ключем з LinkedHashMap", removedValue);
 
         if (removedValue != null) {
-            System.out.println("Видалено запис з ключем '" + KEY_TO_SEARCH_AND_DELETE + "'. Власник був: " + removedValue);
+            ReportSink.println("Видалено запис з ключем '" + KEY_TO_SEARCH_AND_DELETE + "'. Власник був: " + removedValue);
         } else {
-            System.out.println("Ключ '" + KEY_TO_SEARCH_AND_DELETE + "' не знайдено для видалення.");
+            ReportSink.println("Ключ '" + KEY_TO_SEARCH_AND_DELETE + "' не знайдено для видалення.");
         }
     }
 
@@ -492,7 +610,7 @@ public class BasicDataOperationUsingMap {
      * Видаляє записи з LinkedHashMap за значенням.
      */
     void removeByValueFromLinkedHashMap() {
-        long timeStart = System.nanoTime();
+        PerformanceTracker.OperationScope operation = PerformanceTracker.startOperation("LinkedHashMap", treeMap.size());
 
         List<Parrot> keysToRemove = new ArrayList<>();
         for (Map.Entry<Parrot, String> entry : treeMap.entrySet()) {
@@ -505,17 +623,132 @@ public class BasicDataOperationUsingMap {
             treeMap.remove(key);
         }
 
-        PerformanceTracker.displayOperationTime(timeStart, "видалення за значенням з LinkedHashMap");
+        operation.stop("видалення за значенням з LinkedHashMap", keysToRemove.size());
+
+        ReportSink.println("Видалено " + keysToRemove.size() + " записів з власником '" + VALUE_TO_SEARCH_AND_DELETE + "'");
+    }
+
+    /**
+     * Додає до звіту про пам'ять обидві таблиці цього об'єкта.
+     *
+     * @param analyzer Звіт про пам'ять.
+     */
+    void reportMemoryFootprint(MemoryFootprintAnalyzer analyzer) {
+        analyzer.addParrotMap("HashMap<Parrot, String>", hashtable);
+        analyzer.addParrotMap("LinkedHashMap<Parrot, String>", treeMap);
+    }
+
+    /**
+     * Імпортує записи "кличка,вид,власник" з CSV-файлу в HashMap і LinkedHashMap.
+     *
+     * <p>Розмір таблиць розраховується заздалегідь за кількістю записів, тому під час
+     * вставки перехешування не відбувається. Рядки розбираються паралельно, і хеш-коди
+     * ключів обчислюються під час створення об'єктів Parrot, ще до вставки. Порожні рядки,
+     * рядки з {@code #} і заголовок {@code nickname,species,owner} пропускаються,
+     * некоректні рядки - з повідомленням про їхній номер.</p>
+     *
+     * @param filePath Шлях до CSV-файлу.
+     * @return Об'єкт з таблицями, заповненими записами файлу.
+     * @throws IOException Якщо файл не вдалося прочитати.
+     */
+    public static BasicDataOperationUsingMap fromCsvFile(String filePath) throws IOException {
+        List<String> lines = Files.readAllLines(Paths.get(filePath), StandardCharsets.UTF_8);
+
+        PerformanceTracker.OperationScope operation = PerformanceTracker.startOperation("Parrot[]", lines.size());
+        Parrot[] keys = new Parrot[lines.size()];
+        String[] owners = new String[lines.size()];
+        IntStream.range(0, lines.size()).parallel().forEach(i -> {
+            String line = csvRecordLine(lines, i);
+            String[] fields = line == null ? new String[0] : line.split(",", -1);
+            if (fields.length == 3 && !fields[0].trim().isEmpty() && !fields[2].trim().isEmpty()) {
+                String species = fields[1].trim();
+                keys[i] = new Parrot(fields[0].trim(), species.isEmpty() ? null : species);
+                owners[i] = fields[2].trim();
+            }
+        });
+        operation.stop("паралельний розбір записів CSV", filePath);
+
+        int recordCount = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null) {
+                recordCount++;
+            } else if (csvRecordLine(lines, i) != null) {
+                ReportSink.println("Пропущено некоректний рядок " + (i + 1) + " у файлі '" + filePath + "': " + csvRecordLine(lines, i));
+            }
+        }
+
+        operation = PerformanceTracker.startOperation("HashMap", recordCount);
+        HashMap<Parrot, String> hashtable = new HashMap<>(tableCapacity(recordCount));
+        LinkedHashMap<Parrot, String> treeMap = new LinkedHashMap<>(tableCapacity(recordCount));
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null) {
+                hashtable.put(keys[i], owners[i]);
+                treeMap.put(keys[i], owners[i]);
+            }
+        }
+        operation.stop("імпорт записів у HashMap і LinkedHashMap", hashtable.size());
+
+        return new BasicDataOperationUsingMap(hashtable, treeMap);
+    }
+
+    /**
+     * Повертає рядок CSV без пробілів на краях і BOM або {@code null}, якщо рядок
+     * порожній, є коментарем чи заголовком.
+     */
+    private static String csvRecordLine(List<String> lines, int index) {
+        // Видаляємо можливі невидимі символи та BOM; без регулярного виразу, бо метод викликається для кожного рядка
+        String line = lines.get(index).trim();
+        if (!line.isEmpty() && line.charAt(0) == '\uFEFF') {
+            line = line.substring(1);
+        }
+        if (line.isEmpty() || line.startsWith("#") || (index == 0 && line.equalsIgnoreCase("nickname,species,owner"))) {
+            return null;
+        }
+        return line;
+    }
+
+    /**
+     * Повертає початкову ємність таблиці, за якої вказана кількість записів
+     * не перевищує поріг заповнення 0.75 і не спричиняє перехешування.
+     *
+     * @param expectedSize Очікувана кількість записів.
+     * @return Початкова ємність для HashMap або LinkedHashMap.
+     */
+    static int tableCapacity(int expectedSize) {
+        return (int) Math.min(Integer.MAX_VALUE, (long) Math.ceil(expectedSize / 0.75));
+    }
 
-        System.out.println("Видалено " + keysToRemove.size() + " записів з власником '" + VALUE_TO_SEARCH_AND_DELETE + "'");
+    private static void printMemoryFootprint(BasicDataOperationUsingMap operations) {
+        MemoryFootprintAnalyzer analyzer = new MemoryFootprintAnalyzer();
+        operations.reportMemoryFootprint(analyzer);
+        analyzer.print();
     }
 
     /**
      * Головний метод для запуску програми.
+     *
+     * <p>Без аргументів працює з вбудованим набором записів; з аргументом - імпортує
+     * записи з CSV-файлу ({@code java BasicDataOperationUsingMap list/Parrot.csv}).
+     * Аргумент {@code registry} перед шляхом до файлу вмикає режим реєстру зі знімками
+     * ({@link #executeRegistryOperations()}).</p>
      */
     public static void main(String[] args) {
+        boolean registryMode = args.length > 0 && args[0].equals("registry");
+        int fileArgument = registryMode ? 1 : 0;
+
+        if (args.length > fileArgument) {
+            try {
+                BasicDataOperationUsingMap operations = fromCsvFile(args[fileArgument]);
+                runOperations(operations, registryMode);
+            } catch (IOException e) {
+                ReportSink.println("❌ Помилка читання файлу '" + args[fileArgument] + "': " + e.getMessage());
+            }
+            ReportSink.flush();
+            return;
+        }
+
         // Створюємо початкові дані (ключ: Parrot, значення: ім'я власника)
-        HashMap<Parrot, String> hashtable = new HashMap<>();
+        HashMap<Parrot, String> hashtable = new HashMap<>(tableCapacity(10));
         hashtable.put(new Parrot("Шурик", "Ара"), "Артем");
         hashtable.put(new Parrot("Чижик", "Жако"), "Ірина");
         hashtable.put(new Parrot("Цізар", "Корела"), "Діана");
@@ -527,21 +760,31 @@ public class BasicDataOperationUsingMap {
         hashtable.put(new Parrot("Ромка", "Ара"), "Лілія");
         hashtable.put(new Parrot("Пірат", "Волнистий"), "Інна");
 
-        LinkedHashMap<Parrot, String> treeMap = new LinkedHashMap<>() {{
-            put(new Parrot("Шурик", "Ара"), "Артем");
-            put(new Parrot("Чижик", "Жако"), "Віктор");
-            put(new Parrot("Цізар", "Корела"), "Діана");
-            put(new Parrot("Чижик", "Лорі"), "Єва");
-            put(new Parrot("Фенікс", "Амазон"), "Захар");
-            put(new Parrot("Умка", "Какаду"), "Інна");
-            put(new Parrot("Тіма", "Еклектус"), "Єва");
-            put(new Parrot("Соня", "Нестор"), "Костя");
-            put(new Parrot("Ромка", "Ара"), "Лілія");
-            put(new Parrot("Пірат", "Волнистий"), "Інна");
-        }};
+        LinkedHashMap<Parrot, String> treeMap = new LinkedHashMap<>(tableCapacity(10));
+        treeMap.put(new Parrot("Шурик", "Ара"), "Артем");
+        treeMap.put(new Parrot("Чижик", "Жако"), "Віктор");
+        treeMap.put(new Parrot("Цізар", "Корела"), "Діана");
+        treeMap.put(new Parrot("Чижик", "Лорі"), "Єва");
+        treeMap.put(new Parrot("Фенікс", "Амазон"), "Захар");
+        treeMap.put(new Parrot("Умка", "Какаду"), "Інна");
+        treeMap.put(new Parrot("Тіма", "Еклектус"), "Єва");
+        treeMap.put(new Parrot("Соня", "Нестор"), "Костя");
+        treeMap.put(new Parrot("Ромка", "Ара"), "Лілія");
+        treeMap.put(new Parrot("Пірат", "Волнистий"), "Інна");
 
         // Створюємо об'єкт і виконуємо операції
         BasicDataOperationUsingMap operations = new BasicDataOperationUsingMap(hashtable, treeMap);
-        operations.executeDataOperations();
+        runOperations(operations, registryMode);
+
+        ReportSink.flush();
+    }
+
+    private static void runOperations(BasicDataOperationUsingMap operations, boolean registryMode) {
+        if (registryMode) {
+            operations.executeRegistryOperations();
+        } else {
+            operations.executeDataOperations();
+            printMemoryFootprint(operations);
+        }
     }
 }
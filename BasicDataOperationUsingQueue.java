@@ -1,4 +1,5 @@
 
+import java.io.IOException;
 import java.util.Queue;
 import java.util.Arrays;
 import java.util.Collections;
@@ -16,6 +17,7 @@ import java.util.PriorityQueue;
  *   <li>{@link #findInQueue()} - Пошук значення в черзі.</li>
  *   <li>{@link #locateMinMaxInQueue()} - Знаходить граничні значення в черзі.</li>
  *   <li>{@link #performQueueOperations()} - Виконує операції peek і poll з чергою.</li>
+ *   <li>{@link #mergeAppendedValues(double[])} - Додає нові значення з файлу до черги та масиву.</li>
  * </ul>
  * 
  */
@@ -23,6 +25,11 @@ public class BasicDataOperationUsingQueue {
     private double doubleValueToSearch;
     private Double[] doubleArray;
     private Queue<Double> doubleQueue;
+    private double runningMinValue;
+    private double runningMaxValue;
+    private DoubleBloomFilter membershipFilter;
+    private EytzingerIndex searchIndex;
+    private String sortedOutputPath = BasicDataOperation.PATH_TO_DATA_FILE + ".sorted";
 
     /**
      * Конструктор, який iнiцiалiзує об'єкт з готовими даними.
@@ -42,6 +49,34 @@ public class BasicDataOperationUsingQueue {
         }
     }
     
+    /**
+     * Встановлює фільтр Блума для швидкої відповіді на пошук відсутніх значень.
+     *
+     * @param membershipFilter Фільтр, побудований під час завантаження даних, або {@code null}.
+     */
+    void setMembershipFilter(DoubleBloomFilter membershipFilter) {
+        this.membershipFilter = membershipFilter;
+    }
+
+    /**
+     * Додає до звіту про пам'ять колекцію і масив цього обробника.
+     *
+     * @param analyzer Звіт про пам'ять.
+     */
+    void reportMemoryFootprint(MemoryFootprintAnalyzer analyzer) {
+        analyzer.addCollection("PriorityQueue<Double>", doubleQueue);
+        analyzer.addBoxedArrayClone("Double[] (Queue)", doubleArray);
+    }
+
+    /**
+     * Змінює файл, до якого зберігається відсортований масив.
+     *
+     * @param sortedOutputPath Шлях до файлу.
+     */
+    void setSortedOutputPath(String sortedOutputPath) {
+        this.sortedOutputPath = sortedOutputPath;
+    }
+
     /**
      * Запускає комплексну обробку даних з використанням черги.
      * 
@@ -63,7 +98,11 @@ public class BasicDataOperationUsingQueue {
         locateMinMaxInArray();
 
         // зберігаємо відсортований масив до файлу
-        DataFileHandler.writeArrayToFile(doubleArray, BasicDataOperation.PATH_TO_DATA_FILE + ".sorted");
+        try {
+            DataFileHandler.writeArrayToFile(doubleArray, sortedOutputPath);
+        } catch (IOException e) {
+            ReportSink.println("❌ Помилка запису відсортованого файлу: " + e.getMessage());
+        }
     }
 
     /**
@@ -72,28 +111,42 @@ public class BasicDataOperationUsingQueue {
      */
     private void performArraySorting() {
         // вимірюємо тривалість упорядкування масиву дійсного числа
-        long timeStart = System.nanoTime();
+        PerformanceTracker.OperationScope operation = PerformanceTracker.startOperation("Double[]", doubleArray.length, PerformanceTracker.OperationKind.SORT);
 
         Arrays.sort(doubleArray);
 
-        PerformanceTracker.displayOperationTime(timeStart, "упорядкування масиву дійсного числа");
+        operation.stop("упорядкування масиву дійсного числа");
     }
 
     /**
      * Здійснює пошук конкретного значення в масиві дійсного числа.
      */
     private void findInArray() {
+        if (EytzingerIndex.ENABLED && searchIndex == null) {
+            searchIndex = EytzingerIndex.fromValues(doubleArray);
+        }
+
         // відстежуємо час виконання пошуку в масиві
-        long timeStart = System.nanoTime();
+        PerformanceTracker.OperationScope operation = PerformanceTracker.startOperation(searchIndex != null ? "EytzingerIndex" : "Double[]", doubleArray.length, PerformanceTracker.OperationKind.SEARCH);
+
+        // фільтр Блума відповідає на гарантовано відсутні значення без звернення до структури
+        if (membershipFilter != null && !membershipFilter.mightContain(doubleValueToSearch)) {
+            operation.stop("перевірка фільтром Блума перед пошуком в масивi дійсного числа", false);
+            ReportSink.println("Елемент '" + doubleValueToSearch + "' відсутній в масиві (відхилено фільтром Блума).");
+            return;
+        }
         
-        int position = Arrays.binarySearch(this.doubleArray, doubleValueToSearch);
+        // індекс повертає позицію у впорядкованому порядку незалежно від поточного порядку масиву
+        int position = searchIndex != null
+                ? searchIndex.indexOf(doubleValueToSearch)
+                : Arrays.binarySearch(this.doubleArray, doubleValueToSearch);
         
-        PerformanceTracker.displayOperationTime(timeStart, "пошук елемента в масивi дійсного числа");
+        operation.stop("пошук елемента в масивi дійсного числа", position);
 
         if (position >= 0) {
-            System.out.println("Елемент '" + doubleValueToSearch + "' знайдено в масивi за позицією: " + position);
+            ReportSink.println("Елемент '" + doubleValueToSearch + "' знайдено в масивi за позицією: " + position);
         } else {
-            System.out.println("Елемент '" + doubleValueToSearch + "' відсутній в масиві.");
+            ReportSink.println("Елемент '" + doubleValueToSearch + "' відсутній в масиві.");
         }
     }
 
@@ -102,12 +155,12 @@ public class BasicDataOperationUsingQueue {
      */
     private void locateMinMaxInArray() {
         if (doubleArray == null || doubleArray.length == 0) {
-            System.out.println("Масив є пустим або не ініціалізованим.");
+            ReportSink.println("Масив є пустим або не ініціалізованим.");
             return;
         }
 
         // відстежуємо час на визначення граничних значень
-        long timeStart = System.nanoTime();
+        PerformanceTracker.OperationScope operation = PerformanceTracker.startOperation("Double[]", doubleArray.length, PerformanceTracker.OperationKind.MIN_MAX);
 
         double minValue = doubleArray[0];
         double maxValue = doubleArray[0];
@@ -121,10 +174,13 @@ public class BasicDataOperationUsingQueue {
             }
         }
 
-        PerformanceTracker.displayOperationTime(timeStart, "визначення мiнiмальної i максимальної дати в масивi");
+        operation.stop("визначення мiнiмальної i максимальної дати в масивi", minValue, maxValue);
+
+        runningMinValue = minValue;
+        runningMaxValue = maxValue;
 
-        System.out.println("Найменше значення в масивi: " + minValue);
-        System.out.println("Найбільше значення в масивi: " + maxValue);
+        ReportSink.println("Найменше значення в масивi: " + minValue);
+        ReportSink.println("Найбільше значення в масивi: " + maxValue);
     }
 
     /**
@@ -132,16 +188,23 @@ public class BasicDataOperationUsingQueue {
      */
     private void findInQueue() {
         // вимірюємо час пошуку в черзі
-        long timeStart = System.nanoTime();
+        PerformanceTracker.OperationScope operation = PerformanceTracker.startOperation("PriorityQueue", doubleQueue.size(), PerformanceTracker.OperationKind.SEARCH);
+
+        // фільтр Блума відповідає на гарантовано відсутні значення без звернення до структури
+        if (membershipFilter != null && !membershipFilter.mightContain(doubleValueToSearch)) {
+            operation.stop("перевірка фільтром Блума перед пошуком в Queue дійсного числа", false);
+            ReportSink.println("Елемент '" + doubleValueToSearch + "' відсутній в Queue (відхилено фільтром Блума).");
+            return;
+        }
 
         boolean elementExists = this.doubleQueue.contains(doubleValueToSearch);
 
-        PerformanceTracker.displayOperationTime(timeStart, "пошук елемента в Queue дійсного числа");
+        operation.stop("пошук елемента в Queue дійсного числа", elementExists);
 
         if (elementExists) {
-            System.out.println("Елемент '" + doubleValueToSearch + "' знайдено в Queue");
+            ReportSink.println("Елемент '" + doubleValueToSearch + "' знайдено в Queue");
         } else {
-            System.out.println("Елемент '" + doubleValueToSearch + "' відсутній в Queue.");
+            ReportSink.println("Елемент '" + doubleValueToSearch + "' відсутній в Queue.");
         }
     }
 
@@ -150,20 +213,20 @@ public class BasicDataOperationUsingQueue {
      */
     private void locateMinMaxInQueue() {
         if (doubleQueue == null || doubleQueue.isEmpty()) {
-            System.out.println("Черга є пустою або не ініціалізованою.");
+            ReportSink.println("Черга є пустою або не ініціалізованою.");
             return;
         }
 
         // відстежуємо час пошуку граничних значень
-        long timeStart = System.nanoTime();
+        PerformanceTracker.OperationScope operation = PerformanceTracker.startOperation("PriorityQueue", doubleQueue.size(), PerformanceTracker.OperationKind.MIN_MAX);
 
         double minValue = Collections.min(doubleQueue);
         double maxValue = Collections.max(doubleQueue);
 
-        PerformanceTracker.displayOperationTime(timeStart, "визначення мiнiмальної i максимальної дати в Queue");
+        operation.stop("визначення мiнiмальної i максимальної дати в Queue", minValue, maxValue);
 
-        System.out.println("Найменше значення в Queue: " + minValue);
-        System.out.println("Найбільше значення в Queue: " + maxValue);
+        ReportSink.println("Найменше значення в Queue: " + minValue);
+        ReportSink.println("Найбільше значення в Queue: " + maxValue);
     }
 
     /**
@@ -171,17 +234,49 @@ public class BasicDataOperationUsingQueue {
      */
     private void performQueueOperations() {
         if (doubleQueue == null || doubleQueue.isEmpty()) {
-            System.out.println("Черга є пустою або не ініціалізованою.");
+            ReportSink.println("Черга є пустою або не ініціалізованою.");
             return;
         }
 
         double headElement = doubleQueue.peek();
-        System.out.println("Головний елемент черги (peek): " + headElement);
+        ReportSink.println("Головний елемент черги (peek): " + headElement);
 
         headElement = doubleQueue.poll();
-        System.out.println("Видалений елемент черги (poll): " + headElement);
+        ReportSink.println("Видалений елемент черги (poll): " + headElement);
 
         headElement = doubleQueue.peek();
-        System.out.println("Новий головний елемент черги: " + headElement);
+        ReportSink.println("Новий головний елемент черги: " + headElement);
+    }
+
+    /**
+     * Додає нові значення, дописані у файл даних, до наявних структур без повної перебудови.
+     * Очікує, що масив уже впорядковано (після {@link #runDataProcessing()}).
+     *
+     * @param appendedValues Нові значення з файлу.
+     */
+    public void mergeAppendedValues(double[] appendedValues) {
+        if (appendedValues.length == 0) {
+            return;
+        }
+
+        PerformanceTracker.OperationScope operation = PerformanceTracker.startOperation("PriorityQueue", appendedValues.length, PerformanceTracker.OperationKind.INSERT);
+
+        doubleArray = SortedArrayMerger.mergeAppendedValues(doubleArray, appendedValues, sortedValues -> {
+            for (double value : sortedValues) {
+                doubleQueue.add(value);
+            }
+        });
+        // індекс перебудується під час наступного пошуку
+        searchIndex = null;
+
+        runningMinValue = Math.min(runningMinValue, doubleArray[0]);
+        runningMaxValue = Math.max(runningMaxValue, doubleArray[doubleArray.length - 1]);
+
+        operation.stop("злиття нових значень з Queue та масивом дійсного числа", doubleQueue.size());
+
+        SortedArrayMerger.reportMergedValues("Queue", appendedValues.length, doubleQueue.size(), runningMinValue, runningMaxValue);
+
+        findInQueue();
+        findInArray();
     }
-}
\ No newline at end of file
+}
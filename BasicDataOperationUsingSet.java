@@ -1,4 +1,5 @@
 
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
@@ -16,12 +17,25 @@ import java.util.Set;
  *   <li>{@link #findInSet()} - Пошук значення в множині.</li>
  *   <li>{@link #locateMinMaxInSet()} - Знаходить мінімальне і максимальне значення в множині.</li>
  *   <li>{@link #analyzeArrayAndSet()} - Аналізує елементи масиву та множини.</li>
+ *   <li>{@link #mergeAppendedValues(double[])} - Додає нові значення з файлу до множини та масиву.</li>
  * </ul>
+ *
+ * <p>Властивість {@code -Dset.distinct=approx} замінює точний підрахунок різних елементів
+ * оцінкою HyperLogLog з точністю {@code -Dhll.precision} (типово 14). У цьому режимі
+ * множина не будується: пошук, межі значень і злиття нових значень виконуються лише
+ * над масивом.</p>
  */
 public class BasicDataOperationUsingSet {
+    private static final boolean APPROXIMATE_DISTINCT_COUNT = "approx".equals(System.getProperty("set.distinct", "exact"));
+
     private double doubleValueToSearch;
     private Double[] doubleArray;
     private Set<Double> doubleSet;
+    private double runningMinValue;
+    private double runningMaxValue;
+    private DoubleBloomFilter membershipFilter;
+    private EytzingerIndex searchIndex;
+    private String sortedOutputPath = BasicDataOperation.PATH_TO_DATA_FILE + ".sorted";
 
     /**
      * Конструктор, який iнiцiалiзує об'єкт з готовими даними.
@@ -32,21 +46,56 @@ public class BasicDataOperationUsingSet {
     BasicDataOperationUsingSet(double doubleValueToSearch, Double[] doubleArray) {
         this.doubleValueToSearch = doubleValueToSearch;
         this.doubleArray = doubleArray.clone();
+        if (APPROXIMATE_DISTINCT_COUNT) {
+            return;
+        }
         this.doubleSet = new HashSet<>();
         for (double value : doubleArray) {
             this.doubleSet.add(value);
         }
     }
     
+    /**
+     * Встановлює фільтр Блума для швидкої відповіді на пошук відсутніх значень.
+     *
+     * @param membershipFilter Фільтр, побудований під час завантаження даних, або {@code null}.
+     */
+    void setMembershipFilter(DoubleBloomFilter membershipFilter) {
+        this.membershipFilter = membershipFilter;
+    }
+
+    /**
+     * Додає до звіту про пам'ять колекцію і масив цього обробника.
+     *
+     * @param analyzer Звіт про пам'ять.
+     */
+    void reportMemoryFootprint(MemoryFootprintAnalyzer analyzer) {
+        if (doubleSet != null) {
+            analyzer.addCollection("HashSet<Double>", doubleSet);
+        }
+        analyzer.addBoxedArrayClone("Double[] (Set)", doubleArray);
+    }
+
+    /**
+     * Змінює файл, до якого зберігається відсортований масив.
+     *
+     * @param sortedOutputPath Шлях до файлу.
+     */
+    void setSortedOutputPath(String sortedOutputPath) {
+        this.sortedOutputPath = sortedOutputPath;
+    }
+
     /**
      * Запускає комплексний аналіз даних з використанням множини HashSet.
      * 
      * Метод завантажує дані, виконує операції з множиною та масивом чисел.
      */
     public void executeDataAnalysis() {
-        // спочатку аналізуємо множину дійсного числа
-        findInSet();
-        locateMinMaxInSet();
+        // спочатку аналізуємо множину дійсного числа (у режимі HyperLogLog її немає)
+        if (doubleSet != null) {
+            findInSet();
+            locateMinMaxInSet();
+        }
         analyzeArrayAndSet();
 
         // потім обробляємо масив
@@ -59,7 +108,11 @@ public class BasicDataOperationUsingSet {
         locateMinMaxInArray();
 
         // зберігаємо відсортований масив до файлу
-        DataFileHandler.writeArrayToFile(doubleArray, BasicDataOperation.PATH_TO_DATA_FILE + ".sorted");
+        try {
+            DataFileHandler.writeArrayToFile(doubleArray, sortedOutputPath);
+        } catch (IOException e) {
+            ReportSink.println("❌ Помилка запису відсортованого файлу: " + e.getMessage());
+        }
     }
 
     /**
@@ -67,27 +120,41 @@ public class BasicDataOperationUsingSet {
      * Фіксує та виводить тривалість операції сортування в наносекундах.
      */
     private void performArraySorting() {
-        long timeStart = System.nanoTime();
+        PerformanceTracker.OperationScope operation = PerformanceTracker.startOperation("Double[]", doubleArray.length, PerformanceTracker.OperationKind.SORT);
 
         Arrays.sort(doubleArray);
 
-        PerformanceTracker.displayOperationTime(timeStart, "упорядкування масиву дійсного числа");
+        operation.stop("упорядкування масиву дійсного числа");
     }
 
     /**
      * Здійснює пошук конкретного значення в масиві дійсного числа.
      */
     private void findInArray() {
-        long timeStart = System.nanoTime();
+        if (EytzingerIndex.ENABLED && searchIndex == null) {
+            searchIndex = EytzingerIndex.fromValues(doubleArray);
+        }
+
+        PerformanceTracker.OperationScope operation = PerformanceTracker.startOperation(searchIndex != null ? "EytzingerIndex" : "Double[]", doubleArray.length, PerformanceTracker.OperationKind.SEARCH);
+
+        // фільтр Блума відповідає на гарантовано відсутні значення без звернення до структури
+        if (membershipFilter != null && !membershipFilter.mightContain(doubleValueToSearch)) {
+            operation.stop("перевірка фільтром Блума перед пошуком в масивi дійсного числа", false);
+            ReportSink.println("Елемент '" + doubleValueToSearch + "' відсутній в масиві (відхилено фільтром Блума).");
+            return;
+        }
 
-        int position = Arrays.binarySearch(this.doubleArray, doubleValueToSearch);
+        // індекс повертає позицію у впорядкованому порядку незалежно від поточного порядку масиву
+        int position = searchIndex != null
+                ? searchIndex.indexOf(doubleValueToSearch)
+                : Arrays.binarySearch(this.doubleArray, doubleValueToSearch);
 
-        PerformanceTracker.displayOperationTime(timeStart, "пошук елемента в масивi дійсного числа");
+        operation.stop("пошук елемента в масивi дійсного числа", position);
 
         if (position >= 0) {
-            System.out.println("Елемент '" + doubleValueToSearch + "' знайдено в масивi за позицією: " + position);
+            ReportSink.println("Елемент '" + doubleValueToSearch + "' знайдено в масивi за позицією: " + position);
         } else {
-            System.out.println("Елемент '" + doubleValueToSearch + "' відсутній в масиві.");
+            ReportSink.println("Елемент '" + doubleValueToSearch + "' відсутній в масиві.");
         }
     }
 
@@ -96,11 +163,11 @@ public class BasicDataOperationUsingSet {
      */
     private void locateMinMaxInArray() {
         if (doubleArray == null || doubleArray.length == 0) {
-            System.out.println("Масив є пустим або не ініціалізованим.");
+            ReportSink.println("Масив є пустим або не ініціалізованим.");
             return;
         }
 
-        long timeStart = System.nanoTime();
+        PerformanceTracker.OperationScope operation = PerformanceTracker.startOperation("Double[]", doubleArray.length, PerformanceTracker.OperationKind.MIN_MAX);
 
         double minValue = doubleArray[0];
         double maxValue = doubleArray[0];
@@ -114,26 +181,36 @@ public class BasicDataOperationUsingSet {
             }
         }
 
-        PerformanceTracker.displayOperationTime(timeStart, "визначення мiнiмальної i максимальної дати в масивi");
+        operation.stop("визначення мiнiмальної i максимальної дати в масивi", minValue, maxValue);
 
-        System.out.println("Найменше значення в масивi: " + minValue);
-        System.out.println("Найбільше значення в масивi: " + maxValue);
+        runningMinValue = minValue;
+        runningMaxValue = maxValue;
+
+        ReportSink.println("Найменше значення в масивi: " + minValue);
+        ReportSink.println("Найбільше значення в масивi: " + maxValue);
     }
 
     /**
      * Здійснює пошук конкретного значення в множині дійсного числа.
      */
     private void findInSet() {
-        long timeStart = System.nanoTime();
+        PerformanceTracker.OperationScope operation = PerformanceTracker.startOperation("HashSet", doubleSet.size(), PerformanceTracker.OperationKind.SEARCH);
+
+        // фільтр Блума відповідає на гарантовано відсутні значення без звернення до структури
+        if (membershipFilter != null && !membershipFilter.mightContain(doubleValueToSearch)) {
+            operation.stop("перевірка фільтром Блума перед пошуком в LinkedHashSet дійсного числа", false);
+            ReportSink.println("Елемент '" + doubleValueToSearch + "' відсутній в LinkedHashSet (відхилено фільтром Блума).");
+            return;
+        }
 
         boolean elementExists = this.doubleSet.contains(doubleValueToSearch);
 
-        PerformanceTracker.displayOperationTime(timeStart, "пошук елемента в LinkedHashSet дійсного числа");
+        operation.stop("пошук елемента в LinkedHashSet дійсного числа", elementExists);
 
         if (elementExists) {
-            System.out.println("Елемент '" + doubleValueToSearch + "' знайдено в LinkedHashSet");
+            ReportSink.println("Елемент '" + doubleValueToSearch + "' знайдено в LinkedHashSet");
         } else {
-            System.out.println("Елемент '" + doubleValueToSearch + "' відсутній в LinkedHashSet.");
+            ReportSink.println("Елемент '" + doubleValueToSearch + "' відсутній в LinkedHashSet.");
         }
     }
 
@@ -142,27 +219,31 @@ public class BasicDataOperationUsingSet {
      */
     private void locateMinMaxInSet() {
         if (doubleSet == null || doubleSet.isEmpty()) {
-            System.out.println("LinkedHashSet є пустим або не ініціалізованим.");
+            ReportSink.println("LinkedHashSet є пустим або не ініціалізованим.");
             return;
         }
 
-        long timeStart = System.nanoTime();
+        PerformanceTracker.OperationScope operation = PerformanceTracker.startOperation("HashSet", doubleSet.size(), PerformanceTracker.OperationKind.MIN_MAX);
 
         double minValue = Collections.min(doubleSet);
         double maxValue = Collections.max(doubleSet);
 
-        PerformanceTracker.displayOperationTime(timeStart, "визначення мiнiмальної i максимальної дати в LinkedHashSet");
+        operation.stop("визначення мiнiмальної i максимальної дати в LinkedHashSet", minValue, maxValue);
 
-        System.out.println("Найменше значення в LinkedHashSet: " + minValue);
-        System.out.println("Найбільше значення в LinkedHashSet: " + maxValue);
+        ReportSink.println("Найменше значення в LinkedHashSet: " + minValue);
+        ReportSink.println("Найбільше значення в LinkedHashSet: " + maxValue);
     }
 
     /**
      * Аналізує та порівнює елементи масиву та множини.
      */
     private void analyzeArrayAndSet() {
-        System.out.println("Кiлькiсть елементiв в масивi: " + doubleArray.length);
-        System.out.println("Кiлькiсть елементiв в LinkedHashSet: " + doubleSet.size());
+        ReportSink.println("Кiлькiсть елементiв в масивi: " + doubleArray.length);
+        if (APPROXIMATE_DISTINCT_COUNT) {
+            estimateDistinctCount();
+            return;
+        }
+        ReportSink.println("Кiлькiсть елементiв в LinkedHashSet: " + doubleSet.size());
 
         boolean allElementsPresent = true;
         for (double value : doubleArray) {
@@ -173,9 +254,75 @@ public class BasicDataOperationUsingSet {
         }
 
         if (allElementsPresent) {
-            System.out.println("Всi елементи масиву наявні в LinkedHashSet.");
+            ReportSink.println("Всi елементи масиву наявні в LinkedHashSet.");
         } else {
-            System.out.println("Не всi елементи масиву наявні в LinkedHashSet.");
+            ReportSink.println("Не всi елементи масиву наявні в LinkedHashSet.");
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Оцінює кількість різних елементів масиву скетчем HyperLogLog замість точного підрахунку.
+     */
+    private void estimateDistinctCount() {
+        int precision = Integer.getInteger("hll.precision", 14);
+        if (precision < HyperLogLogSketch.MIN_PRECISION || precision > HyperLogLogSketch.MAX_PRECISION) {
+            ReportSink.println("❌ Помилка: Точність HyperLogLog має бути від " + HyperLogLogSketch.MIN_PRECISION
+                    + " до " + HyperLogLogSketch.MAX_PRECISION + ": " + precision);
+            return;
+        }
+
+        PerformanceTracker.OperationScope operation = PerformanceTracker.startOperation("Double[]", doubleArray.length);
+
+        HyperLogLogSketch sketch = new HyperLogLogSketch(precision);
+        for (double value : doubleArray) {
+            sketch.accept(value);
+        }
+
+        operation.stop("оцінка кількості різних елементів (HyperLogLog)", sketch.estimate());
+
+        ReportSink.println("Оцінка кiлькостi рiзних елементiв: " + sketch.estimate()
+                + " (похибка ±" + String.format("%.2f", sketch.relativeError() * 100) + "%, " + sketch.sizeInBytes() + " байт)");
+    }
+
+    /**
+     * Додає нові значення, дописані у файл даних, до наявних структур без повної перебудови.
+     * Очікує, що масив уже впорядковано (після {@link #executeDataAnalysis()}).
+     *
+     * @param appendedValues Нові значення з файлу.
+     */
+    public void mergeAppendedValues(double[] appendedValues) {
+        if (appendedValues.length == 0) {
+            return;
+        }
+
+        PerformanceTracker.OperationScope operation = PerformanceTracker.startOperation(doubleSet != null ? "HashSet" : "Double[]", appendedValues.length, PerformanceTracker.OperationKind.INSERT);
+
+        doubleArray = SortedArrayMerger.mergeAppendedValues(doubleArray, appendedValues, sortedValues -> {
+            if (doubleSet == null) {
+                return;
+            }
+            for (double value : sortedValues) {
+                doubleSet.add(value);
+            }
+        });
+        // індекс перебудується під час наступного пошуку
+        searchIndex = null;
+
+        runningMinValue = Math.min(runningMinValue, doubleArray[0]);
+        runningMaxValue = Math.max(runningMaxValue, doubleArray[doubleArray.length - 1]);
+
+        if (doubleSet == null) {
+            operation.stop("злиття нових значень з масивом дійсного числа", doubleArray.length);
+            SortedArrayMerger.reportMergedValues("масиву", appendedValues.length, doubleArray.length, runningMinValue, runningMaxValue);
+            findInArray();
+            return;
+        }
+
+        operation.stop("злиття нових значень з LinkedHashSet та масивом дійсного числа", doubleSet.size());
+
+        SortedArrayMerger.reportMergedValues("LinkedHashSet", appendedValues.length, doubleSet.size(), runningMinValue, runningMaxValue);
+
+        findInSet();
+        findInArray();
+    }
+}
@@ -0,0 +1,235 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Клас BatchDataAnalyzer аналізує всі файли {@code *.data} каталогу паралельно.
+ *
+ * <p>Кожен файл обробляється окремим завданням пулу ForkJoin з перехопленням роботи
+ * (work stealing): тип даних визначається за назвою файлу ({@link DataType}), після чого
+ * файл завантажується, визначаються мінімум, максимум і кількість різних значень,
+ * а масив упорядковується. Результати зводяться в один звіт із тривалістю кожного етапу.</p>
+ *
+ * <p>Пул потоків належить аналізатору: {@link #analyzeDirectory(String)} можна викликати
+ * кілька разів, а {@link #close()} зупиняє пул.</p>
+ */
+public class BatchDataAnalyzer implements AutoCloseable {
+    private final ForkJoinPool pool;
+
+    /**
+     * Результат аналізу одного файлу.
+     */
+    static class FileReport {
+        String fileName;
+        DataType dataType;
+        int valueCount;
+        int distinctCount;
+        int invalidLineCount;
+        Object minValue;
+        Object maxValue;
+        long loadMicros;
+        long statisticsMicros;
+        long sortMicros;
+        String workerName;
+        String error;
+
+        long totalMicros() {
+            return loadMicros + statisticsMicros + sortMicros;
+        }
+    }
+
+    /**
+     * Створює аналізатор з пулом заданого розміру.
+     *
+     * @param parallelism Кількість потоків пулу.
+     */
+    public BatchDataAnalyzer(int parallelism) {
+        this.pool = new ForkJoinPool(parallelism);
+    }
+
+    /**
+     * Аналізує всі файли {@code *.data} каталогу та виводить зведений звіт.
+     *
+     * @param directoryPath Шлях до каталогу з файлами даних.
+     */
+    public void analyzeDirectory(String directoryPath) {
+        List<Path> dataFiles = new ArrayList<>();
+        try (DirectoryStream<Path> directory = Files.newDirectoryStream(Paths.get(directoryPath), "*.data")) {
+            for (Path dataFile : directory) {
+                dataFiles.add(dataFile);
+            }
+        } catch (IOException e) {
+            ReportSink.println("❌ Помилка читання каталогу '" + directoryPath + "': " + e.getMessage());
+            return;
+        }
+        dataFiles.sort(null);
+
+        PerformanceTracker.OperationScope operation = PerformanceTracker.startOperation("ForkJoinPool", dataFiles.size());
+
+        List<FileReport> reports = pool.invoke(new DirectoryAnalysisTask(dataFiles));
+
+        operation.stop("пакетний аналіз каталогу " + directoryPath, reports.size());
+
+        printReport(reports, operation.getDurationNanos() / 1000);
+    }
+
+    /**
+     * Зупиняє пул потоків аналізатора.
+     */
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    /**
+     * Завдання, яке розгалужує аналіз усіх файлів каталогу.
+     */
+    private static class DirectoryAnalysisTask extends RecursiveTask<List<FileReport>> {
+        private static final long serialVersionUID = 1L;
+
+        private final List<Path> dataFiles;
+
+        DirectoryAnalysisTask(List<Path> dataFiles) {
+            this.dataFiles = dataFiles;
+        }
+
+        @Override
+        protected List<FileReport> compute() {
+            List<FileAnalysisTask> tasks = new ArrayList<>();
+            for (Path dataFile : dataFiles) {
+                tasks.add(new FileAnalysisTask(dataFile));
+            }
+
+            List<FileReport> reports = new ArrayList<>();
+            for (FileAnalysisTask task : ForkJoinTask.invokeAll(tasks)) {
+                reports.add(task.join());
+            }
+            return reports;
+        }
+    }
+
+    /**
+     * Завдання аналізу одного файлу.
+     */
+    private static class FileAnalysisTask extends RecursiveTask<FileReport> {
+        private static final long serialVersionUID = 1L;
+
+        private final Path dataFile;
+
+        FileAnalysisTask(Path dataFile) {
+            this.dataFile = dataFile;
+        }
+
+        @Override
+        protected FileReport compute() {
+            FileReport report = new FileReport();
+            report.fileName = dataFile.getFileName().toString();
+            report.dataType = DataType.fromFileName(report.fileName);
+            report.workerName = Thread.currentThread().getName();
+
+            if (report.dataType == null) {
+                report.error = "невідомий тип даних";
+                return report;
+            }
+
+            try {
+                PerformanceTracker.OperationScope operation = PerformanceTracker.startOperation("file", 0);
+                Comparable<Object>[] values = loadValues(report);
+                operation.setElementCount(values.length);
+                operation.stop("завантаження файлу " + report.fileName, values.length);
+                report.loadMicros = operation.getDurationNanos() / 1000;
+
+                operation = PerformanceTracker.startOperation("Comparable[]", values.length, PerformanceTracker.OperationKind.MIN_MAX);
+                if (values.length > 0) {
+                    Comparable<Object> minValue = values[0];
+                    Comparable<Object> maxValue = values[0];
+                    for (Comparable<Object> value : values) {
+                        if (value.compareTo(minValue) < 0) {
+                            minValue = value;
+                        }
+                        if (value.compareTo(maxValue) > 0) {
+                            maxValue = value;
+                        }
+                    }
+                    report.minValue = minValue;
+                    report.maxValue = maxValue;
+                }
+                report.distinctCount = new HashSet<>(Arrays.asList(values)).size();
+                operation.stop("статистика файлу " + report.fileName, report.distinctCount);
+                report.statisticsMicros = operation.getDurationNanos() / 1000;
+
+                operation = PerformanceTracker.startOperation("Comparable[]", values.length, PerformanceTracker.OperationKind.SORT);
+                Arrays.sort(values);
+                operation.stop("упорядкування файлу " + report.fileName);
+                report.sortMicros = operation.getDurationNanos() / 1000;
+
+                report.valueCount = values.length;
+            } catch (IOException e) {
+                report.error = e.getMessage();
+            }
+            return report;
+        }
+
+        /**
+         * Завантажує значення файлу відповідно до його типу, пропускаючи некоректні рядки.
+         */
+        @SuppressWarnings("unchecked")
+        private Comparable<Object>[] loadValues(FileReport report) throws IOException {
+            List<Comparable<?>> values = new ArrayList<>();
+            try (BufferedReader fileReader = Files.newBufferedReader(dataFile, StandardCharsets.UTF_8)) {
+                String currentLine;
+                while ((currentLine = fileReader.readLine()) != null) {
+                    // Видаляємо можливі невидимі символи та BOM
+                    currentLine = currentLine.trim().replaceAll("^\\uFEFF", "");
+                    if (currentLine.isEmpty()) {
+                        continue;
+                    }
+                    try {
+                        values.add(report.dataType.parse(currentLine));
+                    } catch (RuntimeException e) {
+                        report.invalidLineCount++;
+                    }
+                }
+            }
+            return (Comparable<Object>[]) values.toArray(new Comparable<?>[0]);
+        }
+    }
+
+    /**
+     * Виводить зведений звіт по всіх файлах.
+     */
+    private void printReport(List<FileReport> reports, long wallMicros) {
+        ReportSink.println("\n📦 ЗВЕДЕНИЙ ЗВІТ ПАКЕТНОГО АНАЛІЗУ (потоків: " + pool.getParallelism() + ")");
+        ReportSink.println(String.format("%-28s %-15s %8s %8s %10s %10s %10s  %-32s %s",
+                "Файл", "Тип", "Значень", "Різних", "Читання", "Статист.", "Сорт.", "Потік", "Мін / Макс"));
+
+        long sumMicros = 0;
+        for (FileReport report : reports) {
+            if (report.error != null) {
+                ReportSink.println(String.format("%-28s пропущено: %s", report.fileName, report.error));
+                continue;
+            }
+            sumMicros += report.totalMicros();
+            ReportSink.println(String.format("%-28s %-15s %8d %8d %6d мкс %6d мкс %6d мкс  %-32s %s / %s",
+                    report.fileName, report.dataType, report.valueCount, report.distinctCount,
+                    report.loadMicros, report.statisticsMicros, report.sortMicros,
+                    report.workerName, report.minValue, report.maxValue));
+            if (report.invalidLineCount > 0) {
+                ReportSink.println("    некоректних рядків: " + report.invalidLineCount);
+            }
+        }
+
+        ReportSink.println("Сумарний час обробки файлів: " + sumMicros + " мкс, фактичний час: " + wallMicros + " мкс");
+    }
+}
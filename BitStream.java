@@ -0,0 +1,123 @@
+import java.util.Arrays;
+
+/**
+ * Клас BitStream - послідовність бітів для стиснених колонок даних.
+ *
+ * <p>Біти записуються від старшого до молодшого в масив {@code long}; читання
+ * виконується окремим курсором {@link Reader}, тому один потік бітів можна
+ * декодувати кілька разів.</p>
+ */
+class BitStream {
+    private long[] words = new long[4];
+    private long bitLength;
+
+    /**
+     * Дописує молодші {@code bitCount} бітів значення.
+     *
+     * @param value Значення.
+     * @param bitCount Кількість бітів, від 1 до 64.
+     */
+    void writeBits(long value, int bitCount) {
+        int wordIndex = (int) (bitLength >>> 6);
+        int bitOffset = (int) (bitLength & 63);
+        if (wordIndex + 1 >= words.length) {
+            words = Arrays.copyOf(words, words.length * 2);
+        }
+
+        if (bitCount < 64) {
+            value &= (1L << bitCount) - 1;
+        }
+
+        int freeBits = 64 - bitOffset;
+        if (bitCount <= freeBits) {
+            words[wordIndex] |= value << (freeBits - bitCount);
+        } else {
+            // Значення не вміщується в поточне слово - переносимо решту бітів у наступне
+            int overflowBits = bitCount - freeBits;
+            words[wordIndex] |= value >>> overflowBits;
+            words[wordIndex + 1] |= value << (64 - overflowBits);
+        }
+        bitLength += bitCount;
+    }
+
+    /**
+     * Дописує один біт.
+     *
+     * @param bit Значення біта.
+     */
+    void writeBit(boolean bit) {
+        writeBits(bit ? 1 : 0, 1);
+    }
+
+    /**
+     * Повертає кількість записаних бітів.
+     *
+     * @return Кількість бітів.
+     */
+    long bitLength() {
+        return bitLength;
+    }
+
+    /**
+     * Повертає обсяг записаних даних у байтах.
+     *
+     * @return Кількість байтів, округлена вгору.
+     */
+    long sizeInBytes() {
+        return (bitLength + 7) >>> 3;
+    }
+
+    /**
+     * Звільняє невикористаний запас масиву після завершення запису.
+     */
+    void trim() {
+        words = Arrays.copyOf(words, (int) ((bitLength + 63) >>> 6) + 1);
+    }
+
+    /**
+     * Створює курсор для читання з початку потоку.
+     *
+     * @return Курсор читання.
+     */
+    Reader reader() {
+        return new Reader();
+    }
+
+    /**
+     * Курсор послідовного читання бітів.
+     */
+    class Reader {
+        private long position;
+
+        /**
+         * Читає {@code bitCount} бітів як беззнакове значення.
+         *
+         * @param bitCount Кількість бітів, від 1 до 64.
+         * @return Прочитане значення.
+         */
+        long readBits(int bitCount) {
+            int wordIndex = (int) (position >>> 6);
+            int bitOffset = (int) (position & 63);
+            position += bitCount;
+
+            int availableBits = 64 - bitOffset;
+            long value;
+            if (bitCount <= availableBits) {
+                value = words[wordIndex] >>> (availableBits - bitCount);
+            } else {
+                int overflowBits = bitCount - availableBits;
+                value = (words[wordIndex] << overflowBits) | (words[wordIndex + 1] >>> (64 - overflowBits));
+            }
+            return bitCount == 64 ? value : value & ((1L << bitCount) - 1);
+        }
+
+        /**
+         * Читає один біт.
+         *
+         * @return Значення біта.
+         */
+        boolean readBit() {
+            return readBits(1) != 0;
+        }
+    }
+}
@@ -0,0 +1,307 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.PriorityQueue;
+
+/**
+ * Клас CharacterHistogramEngine рахує частоти символів Unicode за кодовими точками.
+ *
+ * <p>Файл декодується з UTF-8 вручну просто в таблицю частот, без створення рядка
+ * чи об'єкта Character на кожен рядок. Для кожної площини Unicode (65536 кодових точок)
+ * використовується щільний масив лічильників, індекс якого - сама кодова точка;
+ * масив основної площини (BMP) створюється одразу, інші - лише при першому символі з них.</p>
+ *
+ * <p>Мінімум, максимум, кількість різних символів і належність символу підтримуються
+ * під час завантаження і повертаються за O(1); N найчастіших символів знаходяться одним
+ * проходом по таблиці - O(алфавіт log N). Упорядкований вивід будується сортуванням
+ * підрахунком: таблиця вже впорядкована за кодовими точками, тому кожен символ
+ * записується стільки разів, скільки зустрівся, без жодного порівняння елементів.</p>
+ *
+ * <p>Кожен непорожній рядок файлу має містити рівно одну кодову точку. Як і
+ * {@link String#trim()} в інших завантажувачах, пробіли і керівні символи ASCII
+ * (зокрема {@code '\r'}) пропускаються, а рядки лише з них вважаються порожніми;
+ * BOM на початку файлу також пропускається.</p>
+ */
+public class CharacterHistogramEngine {
+    private static final int PLANE_SIZE = 1 << 16;
+    private static final int PLANE_COUNT = (Character.MAX_CODE_POINT + 1) / PLANE_SIZE;
+    private static final int READ_BUFFER_BYTES = 1 << 16;
+    private static final int MAX_REPORTED_LINE_BYTES = 64;
+
+    private final int[][] planes = new int[PLANE_COUNT][];
+    private long totalCount;
+    private int distinctCount;
+    private int minCodePoint = Integer.MAX_VALUE;
+    private int maxCodePoint = Integer.MIN_VALUE;
+
+    public CharacterHistogramEngine() {
+        planes[0] = new int[PLANE_SIZE];
+    }
+
+    /**
+     * Рахує частоти символів файлу за один прохід.
+     *
+     * @param filePath Шлях до файлу з одним символом у рядку.
+     * @return Таблиця частот.
+     * @throws IOException Якщо файл не вдалося прочитати.
+     */
+    public static CharacterHistogramEngine loadFromFile(String filePath) throws IOException {
+        PerformanceTracker.OperationScope operation = PerformanceTracker.startOperation("int[]", 0);
+
+        CharacterHistogramEngine engine = new CharacterHistogramEngine();
+        byte[] buffer = new byte[READ_BUFFER_BYTES];
+        byte[] lineBytes = new byte[MAX_REPORTED_LINE_BYTES];
+        int lineLength = 0;
+        int lineNumber = 1;
+        int lineCodePoints = 0;
+        int lineCodePoint = 0;
+        boolean lineValid = true;
+        // Незавершена багатобайтова послідовність UTF-8 і найменша кодова точка для її довжини
+        int pendingCodePoint = 0;
+        int pendingBytes = 0;
+        int pendingMinimum = 0;
+
+        try (InputStream input = Files.newInputStream(Paths.get(filePath))) {
+            boolean endOfFile = false;
+            while (!endOfFile) {
+                int read = input.read(buffer);
+                if (read < 0) {
+                    // Останній рядок без завершального '\n' обробляється як завершений
+                    endOfFile = true;
+                    buffer[0] = '\n';
+                    read = 1;
+                }
+
+                for (int i = 0; i < read; i++) {
+                    int value = buffer[i] & 0xFF;
+
+                    if (value == '\n') {
+                        if (lineValid && pendingBytes == 0 && lineCodePoints == 1) {
+                            engine.add(lineCodePoint);
+                        } else if (!lineValid || pendingBytes > 0 || lineCodePoints > 1) {
+                            ReportSink.println("Пропущено некоректний рядок " + lineNumber + " у файлі '" + filePath + "': "
+                                    + new String(lineBytes, 0, Math.min(lineLength, MAX_REPORTED_LINE_BYTES), StandardCharsets.UTF_8));
+                        }
+                        lineNumber++;
+                        lineLength = 0;
+                        lineCodePoints = 0;
+                        lineValid = true;
+                        pendingBytes = 0;
+                        continue;
+                    }
+                    if (value <= ' ' && pendingBytes == 0) {
+                        // Пробіли і керівні символи ASCII не є даними, як у trim()
+                        continue;
+                    }
+
+                    if (lineLength < MAX_REPORTED_LINE_BYTES) {
+                        lineBytes[lineLength] = (byte) value;
+                    }
+                    lineLength++;
+
+                    if (pendingBytes > 0) {
+                        if ((value & 0xC0) != 0x80) {
+                            lineValid = false;
+                            pendingBytes = 0;
+                            continue;
+                        }
+                        pendingCodePoint = (pendingCodePoint << 6) | (value & 0x3F);
+                        if (--pendingBytes > 0) {
+                            continue;
+                        }
+                        value = pendingCodePoint;
+                        // Надлишкове кодування, сурогати і значення поза Unicode некоректні
+                        if (value < pendingMinimum || value > Character.MAX_CODE_POINT
+                                || (value >= Character.MIN_SURROGATE && value <= Character.MAX_SURROGATE)) {
+                            lineValid = false;
+                            continue;
+                        }
+                    } else if (value > 0xF4) {
+                        lineValid = false;
+                        continue;
+                    } else if (value >= 0xF0) {
+                        pendingCodePoint = value & 0x07;
+                        pendingBytes = 3;
+                        pendingMinimum = 0x10000;
+                        continue;
+                    } else if (value >= 0xE0) {
+                        pendingCodePoint = value & 0x0F;
+                        pendingBytes = 2;
+                        pendingMinimum = 0x800;
+                        continue;
+                    } else if (value >= 0xC0) {
+                        pendingCodePoint = value & 0x1F;
+                        pendingBytes = 1;
+                        pendingMinimum = 0x80;
+                        continue;
+                    } else if (value >= 0x80) {
+                        lineValid = false;
+                        continue;
+                    }
+
+                    if (value == 0xFEFF && lineNumber == 1 && lineLength == 3) {
+                        // Видаляємо BOM
+                        lineLength = 0;
+                        continue;
+                    }
+                    lineCodePoint = value;
+                    lineCodePoints++;
+                }
+            }
+        }
+
+        operation.setElementCount(engine.totalCount);
+        operation.stop("підрахунок частот символів з UTF-8", engine.distinctCount);
+
+        return engine;
+    }
+
+    /**
+     * Додає одне входження символу.
+     *
+     * @param codePoint Кодова точка.
+     */
+    public void add(int codePoint) {
+        int[] plane = planes[codePoint >>> 16];
+        if (plane == null) {
+            plane = new int[PLANE_SIZE];
+            planes[codePoint >>> 16] = plane;
+        }
+        if (plane[codePoint & (PLANE_SIZE - 1)]++ == 0) {
+            distinctCount++;
+            minCodePoint = Math.min(minCodePoint, codePoint);
+            maxCodePoint = Math.max(maxCodePoint, codePoint);
+        }
+        totalCount++;
+    }
+
+    /**
+     * Повертає кількість входжень символу.
+     *
+     * @param codePoint Кодова точка.
+     * @return Кількість входжень.
+     */
+    public int count(int codePoint) {
+        if (codePoint < 0 || codePoint > Character.MAX_CODE_POINT) {
+            return 0;
+        }
+        int[] plane = planes[codePoint >>> 16];
+        return plane == null ? 0 : plane[codePoint & (PLANE_SIZE - 1)];
+    }
+
+    public boolean contains(int codePoint) {
+        return count(codePoint) > 0;
+    }
+
+    /**
+     * Повертає найменшу кодову точку.
+     *
+     * @return Кодова точка або -1, якщо символів немає.
+     */
+    public int min() {
+        return distinctCount == 0 ? -1 : minCodePoint;
+    }
+
+    /**
+     * Повертає найбільшу кодову точку.
+     *
+     * @return Кодова точка або -1, якщо символів немає.
+     */
+    public int max() {
+        return distinctCount == 0 ? -1 : maxCodePoint;
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    public int getDistinctCount() {
+        return distinctCount;
+    }
+
+    /**
+     * Знаходить N найчастіших символів одним проходом по таблиці з купою розміру N.
+     *
+     * @param limit Кількість символів N.
+     * @return Кодові точки за спаданням частоти; за однакової частоти - за зростанням кодової точки.
+     */
+    public int[] topFrequent(int limit) {
+        // На вершині купи - найменш частий з відібраних символів
+        PriorityQueue<Integer> heap = new PriorityQueue<>((first, second) -> compareByFrequency(second, first));
+        if (limit > 0) {
+            for (int planeIndex = 0; planeIndex < PLANE_COUNT; planeIndex++) {
+                int[] plane = planes[planeIndex];
+                if (plane == null) {
+                    continue;
+                }
+                for (int offset = 0; offset < PLANE_SIZE; offset++) {
+                    if (plane[offset] == 0) {
+                        continue;
+                    }
+                    int codePoint = (planeIndex << 16) | offset;
+                    if (heap.size() < limit) {
+                        heap.add(codePoint);
+                    } else if (compareByFrequency(codePoint, heap.peek()) < 0) {
+                        heap.poll();
+                        heap.add(codePoint);
+                    }
+                }
+            }
+        }
+
+        int[] result = new int[heap.size()];
+        for (int i = result.length - 1; i >= 0; i--) {
+            result[i] = heap.poll();
+        }
+        return result;
+    }
+
+    /**
+     * Порівнює символи так, що частіший символ іде раніше.
+     */
+    private int compareByFrequency(int first, int second) {
+        int byCount = Integer.compare(count(second), count(first));
+        return byCount != 0 ? byCount : Integer.compare(first, second);
+    }
+
+    /**
+     * Записує всі символи за зростанням кодових точок сортуванням підрахунком:
+     * кожен символ повторюється стільки разів, скільки зустрівся у файлі.
+     *
+     * @param filePath Шлях до вихідного файлу.
+     * @throws IOException Якщо файл не вдалося записати.
+     */
+    public void writeSorted(String filePath) throws IOException {
+        try (SortedFileWriter fileWriter = new SortedFileWriter(filePath)) {
+            for (int planeIndex = 0; planeIndex < PLANE_COUNT; planeIndex++) {
+                int[] plane = planes[planeIndex];
+                if (plane == null) {
+                    continue;
+                }
+                for (int offset = 0; offset < PLANE_SIZE; offset++) {
+                    if (plane[offset] > 0) {
+                        fileWriter.writeCodePoint((planeIndex << 16) | offset, plane[offset]);
+                    }
+                }
+            }
+            fileWriter.commit();
+        }
+    }
+
+    /**
+     * Повертає обсяг пам'яті створених масивів лічильників.
+     *
+     * @return Кількість байтів.
+     */
+    public long sizeInBytes() {
+        long bytes = 0;
+        for (int[] plane : planes) {
+            if (plane != null) {
+                bytes += (long) plane.length * Integer.BYTES;
+            }
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,54 @@
+/**
+ * Клас CompensatedSum накопичує суму чисел double з компенсацією похибки округлення
+ * (алгоритм Ноймаєра, покращений варіант підсумовування Кехена).
+ *
+ * <p>Молодші розряди, втрачені при кожному додаванні, накопичуються в окремій поправці.
+ * Тому сума значень дуже різного порядку (у файлах даних трапляються числа до ±1e303)
+ * не втрачає малих доданків і не зводиться до нуля, коли великі доданки взаємно знищуються.</p>
+ */
+public class CompensatedSum {
+    private double sum;
+    private double compensation;
+
+    /**
+     * Додає значення до суми.
+     *
+     * @param value Значення.
+     */
+    public void add(double value) {
+        double total = sum + value;
+        if (Math.abs(sum) >= Math.abs(value)) {
+            compensation += (sum - total) + value;
+        } else {
+            compensation += (value - total) + sum;
+        }
+        sum = total;
+    }
+
+    /**
+     * Повертає суму з урахуванням накопиченої поправки.
+     *
+     * @return Сума.
+     */
+    public double getSum() {
+        double total = sum + compensation;
+        // Нескінченні доданки дають NaN у поправці - тоді повертаємо звичайну суму
+        return Double.isNaN(total) ? sum : total;
+    }
+
+    /**
+     * Обчислює суму відрізка масиву [from, to).
+     *
+     * @param values Масив чисел.
+     * @param from Початковий індекс (включно).
+     * @param to Кінцевий індекс (не включно).
+     * @return Сума.
+     */
+    public static double sum(double[] values, int from, int to) {
+        CompensatedSum sum = new CompensatedSum();
+        for (int i = from; i < to; i++) {
+            sum.add(values[i]);
+        }
+        return sum.getSum();
+    }
+}
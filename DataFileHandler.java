@@ -1,56 +1,631 @@
+import java.io.BufferedInputStream;
 import java.io.BufferedReader;
-import java.io.BufferedWriter;
+import java.io.FileInputStream;
 import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+import java.util.function.ObjLongConsumer;
 
 /**
  * Клас DataFileHandler управляє роботою з файлами числових даних.
  */
 public class DataFileHandler {
+    /**
+     * Кількість потоків паралельного завантаження; 1 - послідовне читання.
+     */
+    static final int LOAD_PARALLELISM = Math.max(1, Integer.getInteger("load.parallelism", 1));
+    private static final int PARALLEL_READ_BYTES = 1 << 20;
+
     /**
      * Завантажує масив чисел з файлу.
+     *
+     * <p>Якщо задано {@code -Dload.parallelism} більше за 1, файл розбирається
+     * паралельно ({@link #loadPrimitiveArrayInParallel(String, int)}).</p>
      * 
      * @param filePath Шлях до файлу з даними.
      * @return Масив чисел.
      */
     public static Double[] loadArrayFromFile(String filePath) {
-        Double[] temporaryArray = new Double[1000];
-        int currentIndex = 0;
+        PerformanceTracker.OperationScope operation = PerformanceTracker.startOperation("Double[]", 0);
+
+        Double[] resultArray;
+        if (LOAD_PARALLELISM > 1) {
+            double[] values;
+            try {
+                values = loadPrimitiveArrayInParallel(filePath, LOAD_PARALLELISM);
+            } catch (IOException e) {
+                e.printStackTrace();
+                values = new double[0];
+            }
+            resultArray = new Double[values.length];
+            for (int i = 0; i < values.length; i++) {
+                resultArray[i] = values[i];
+            }
+        } else {
+            Double[] temporaryArray = new Double[1000];
+            int currentIndex = 0;
+
+            try (BufferedReader fileReader = new BufferedReader(new FileReader(filePath))) {
+                String currentLine;
+                long lineNumber = 0;
+                while ((currentLine = fileReader.readLine()) != null) {
+                    lineNumber++;
+                    // Видаляємо можливі невидимі символи та BOM
+                    currentLine = currentLine.trim().replaceAll("^\\uFEFF", "");
+                    if (currentLine.isEmpty()) {
+                        continue;
+                    }
+
+                    double value;
+                    try {
+                        value = Double.parseDouble(currentLine);
+                    } catch (NumberFormatException e) {
+                        ReportSink.println("Пропущено некоректний рядок " + lineNumber + " у файлі '" + filePath + "': " + currentLine);
+                        continue;
+                    }
+                    if (currentIndex == temporaryArray.length) {
+                        // Файл може дописуватися, тому розширюємо буфер замість фіксованого розміру
+                        temporaryArray = Arrays.copyOf(temporaryArray, temporaryArray.length * 2);
+                    }
+                    temporaryArray[currentIndex++] = value;
+                }
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+
+            resultArray = Arrays.copyOf(temporaryArray, currentIndex);
+        }
+
+        operation.setElementCount(resultArray.length);
+        operation.stop("завантаження масиву з файлу", filePath);
+
+        return resultArray;
+    }
+
+    /**
+     * Завантажує масив примітивних чисел з файлу без створення об'єктів Double.
+     *
+     * @param filePath Шлях до файлу з даними.
+     * @return Масив чисел.
+     */
+    public static double[] loadPrimitiveArrayFromFile(String filePath) {
+        if (LOAD_PARALLELISM > 1) {
+            try {
+                return loadPrimitiveArrayInParallel(filePath, LOAD_PARALLELISM);
+            } catch (IOException e) {
+                e.printStackTrace();
+                return new double[0];
+            }
+        }
+
+        double[][] buffer = { new double[1024] };
+        int[] valueCount = { 0 };
+
+        try {
+            streamValuesFromFile(filePath, value -> {
+                if (valueCount[0] == buffer[0].length) {
+                    buffer[0] = Arrays.copyOf(buffer[0], buffer[0].length * 2);
+                }
+                buffer[0][valueCount[0]++] = value;
+            });
+        } catch (IOException e) {
+            e.printStackTrace();
+            return new double[0];
+        }
+
+        return Arrays.copyOf(buffer[0], valueCount[0]);
+    }
+
+    /**
+     * Завантажує масив примітивних чисел, розбираючи частини файлу паралельно.
+     *
+     * <p>Файл ділиться на діапазони байтів за межами рядків
+     * ({@link #splitIntoLineAlignedRanges(String, int)}); кожен діапазон розбирається
+     * окремим потоком у власний буфер, після чого буфери з'єднуються в початковому
+     * порядку. BOM і некоректні рядки обробляються так само, як у послідовному
+     * читанні: некоректні рядки пропускаються з повідомленням про їхній номер у файлі.</p>
+     *
+     * @param filePath Шлях до файлу з даними.
+     * @param parallelism Кількість потоків і частин файлу.
+     * @return Масив чисел у порядку рядків файлу.
+     * @throws IOException Якщо файл не вдалося прочитати.
+     */
+    public static double[] loadPrimitiveArrayInParallel(String filePath, int parallelism) throws IOException {
+        PerformanceTracker.OperationScope operation = PerformanceTracker.startOperation("ForkJoinPool", 0);
+
+        long[] boundaries = splitIntoLineAlignedRanges(filePath, parallelism);
+        List<ParsedChunk> chunks = new ArrayList<>();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            List<ForkJoinTask<ParsedChunk>> tasks = new ArrayList<>();
+            for (int i = 0; i < parallelism; i++) {
+                long startOffset = boundaries[i];
+                long endOffset = boundaries[i + 1];
+                tasks.add(pool.submit(() -> parseRange(filePath, startOffset, endOffset)));
+            }
+            for (ForkJoinTask<ParsedChunk> task : tasks) {
+                chunks.add(task.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Завантаження файлу '" + filePath + "' перервано", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+
+        // Номери рядків у частині відлічуються від її початку; зсув - кількість рядків у попередніх частинах
+        int valueCount = 0;
+        long lineOffset = 0;
+        for (ParsedChunk chunk : chunks) {
+            for (int i = 0; i < chunk.invalidLines.size(); i++) {
+                ReportSink.println("Пропущено некоректний рядок " + (lineOffset + chunk.invalidLineNumbers.get(i))
+                        + " у файлі '" + filePath + "': " + chunk.invalidLines.get(i));
+            }
+            lineOffset += chunk.lineCount;
+            valueCount = Math.addExact(valueCount, chunk.valueCount);
+        }
 
-        try (BufferedReader fileReader = new BufferedReader(new FileReader(filePath))) {
+        double[] values = new double[valueCount];
+        int position = 0;
+        for (ParsedChunk chunk : chunks) {
+            System.arraycopy(chunk.values, 0, values, position, chunk.valueCount);
+            position += chunk.valueCount;
+        }
+
+        operation.setElementCount(valueCount);
+        operation.stop("паралельне завантаження файлу, частин: " + parallelism, filePath);
+
+        return values;
+    }
+
+    /**
+     * Розбирає рядки діапазону байтів файлу у власний буфер чисел.
+     */
+    private static ParsedChunk parseRange(String filePath, long startOffset, long endOffset) throws IOException {
+        // Рядок числа займає щонайменше кілька байтів, тож початкова ємність рідко потребує розширення
+        ParsedChunk chunk = new ParsedChunk((int) Math.min((endOffset - startOffset) / 16 + 16, Integer.MAX_VALUE - 8));
+
+        try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(PARALLEL_READ_BYTES);
+            int pendingLength = 0;
+            long position = startOffset;
+
+            while (position < endOffset) {
+                buffer.clear();
+                buffer.limit((int) Math.min(buffer.capacity(), pendingLength + (endOffset - position)));
+                buffer.position(pendingLength);
+                int bytesRead = channel.read(buffer, position);
+                if (bytesRead <= 0) {
+                    break;
+                }
+                position += bytesRead;
+
+                byte[] bytes = buffer.array();
+                int filledLength = buffer.position();
+                int lineStart = 0;
+                for (int i = 0; i < filledLength; i++) {
+                    if (bytes[i] == '\n') {
+                        chunk.parseLine(bytes, lineStart, i);
+                        lineStart = i + 1;
+                    }
+                }
+
+                // Неповний рядок переносимо на початок буфера; надто довгий рядок розширює буфер
+                pendingLength = filledLength - lineStart;
+                if (pendingLength == buffer.capacity()) {
+                    buffer = ByteBuffer.wrap(Arrays.copyOf(bytes, bytes.length * 2));
+                } else {
+                    System.arraycopy(bytes, lineStart, bytes, 0, pendingLength);
+                }
+            }
+
+            if (pendingLength > 0) {
+                chunk.parseLine(buffer.array(), 0, pendingLength);
+            }
+        }
+
+        return chunk;
+    }
+
+    /**
+     * Числа однієї частини файлу і некоректні рядки з номерами, відліченими від початку частини.
+     */
+    private static class ParsedChunk {
+        private double[] values;
+        private int valueCount;
+        private long lineCount;
+        private final List<Long> invalidLineNumbers = new ArrayList<>();
+        private final List<String> invalidLines = new ArrayList<>();
+
+        ParsedChunk(int initialCapacity) {
+            this.values = new double[initialCapacity];
+        }
+
+        /**
+         * Розбирає рядок з байтів [lineStart, lineEnd) так само, як послідовне читання:
+         * пробільні символи на краях і BOM на початку відкидаються, порожні рядки пропускаються.
+         */
+        void parseLine(byte[] bytes, int lineStart, int lineEnd) {
+            lineCount++;
+
+            while (lineStart < lineEnd && (bytes[lineStart] & 0xFF) <= ' ') {
+                lineStart++;
+            }
+            while (lineEnd > lineStart && (bytes[lineEnd - 1] & 0xFF) <= ' ') {
+                lineEnd--;
+            }
+            if (lineEnd - lineStart >= 3 && bytes[lineStart] == (byte) 0xEF
+                    && bytes[lineStart + 1] == (byte) 0xBB && bytes[lineStart + 2] == (byte) 0xBF) {
+                lineStart += 3;
+            }
+            if (lineStart == lineEnd) {
+                return;
+            }
+
+            String currentLine = new String(bytes, lineStart, lineEnd - lineStart, StandardCharsets.UTF_8);
+            try {
+                double value = Double.parseDouble(currentLine);
+                if (valueCount == values.length) {
+                    values = Arrays.copyOf(values, values.length * 2);
+                }
+                values[valueCount++] = value;
+            } catch (NumberFormatException e) {
+                invalidLineNumbers.add(lineCount);
+                invalidLines.add(currentLine);
+            }
+        }
+    }
+
+    /**
+     * Читає файл рядок за рядком і передає кожне число споживачу, не зберігаючи дані в пам'яті.
+     *
+     * @param filePath Шлях до файлу з даними.
+     * @param consumer Споживач чисел.
+     * @return Кількість прочитаних чисел.
+     * @throws IOException Якщо файл не вдалося прочитати.
+     */
+    public static long streamValuesFromFile(String filePath, DoubleConsumer consumer) throws IOException {
+        PerformanceTracker.OperationScope operation = PerformanceTracker.startOperation("file", 0);
+        long valueCount = 0;
+
+        try (BufferedReader fileReader = new BufferedReader(new InputStreamReader(new FileInputStream(filePath), StandardCharsets.UTF_8))) {
+            String currentLine;
+            long lineNumber = 0;
+            while ((currentLine = fileReader.readLine()) != null) {
+                lineNumber++;
+                // Видаляємо можливі невидимі символи та BOM
+                currentLine = currentLine.trim().replaceAll("^\\uFEFF", "");
+                if (currentLine.isEmpty()) {
+                    continue;
+                }
+
+                double value;
+                try {
+                    value = Double.parseDouble(currentLine);
+                } catch (NumberFormatException e) {
+                    ReportSink.println("Пропущено некоректний рядок " + lineNumber + " у файлі '" + filePath + "': " + currentLine);
+                    continue;
+                }
+                consumer.accept(value);
+                valueCount++;
+            }
+        }
+
+        operation.setElementCount(valueCount);
+        operation.stop("потокове читання файлу", filePath);
+
+        return valueCount;
+    }
+
+    /**
+     * Читає непорожні рядки файлу (без BOM і пробілів на краях) і передає їх споживачу.
+     *
+     * @param filePath Шлях до файлу з даними.
+     * @param consumer Споживач рядків.
+     * @return Кількість прочитаних рядків.
+     * @throws IOException Якщо файл не вдалося прочитати.
+     */
+    public static long streamLinesFromFile(String filePath, Consumer<String> consumer) throws IOException {
+        long lineCount = 0;
+
+        try (BufferedReader fileReader = new BufferedReader(new InputStreamReader(new FileInputStream(filePath), StandardCharsets.UTF_8))) {
             String currentLine;
             while ((currentLine = fileReader.readLine()) != null) {
                 // Видаляємо можливі невидимі символи та BOM
                 currentLine = currentLine.trim().replaceAll("^\\uFEFF", "");
                 if (!currentLine.isEmpty()) {
-                    temporaryArray[currentIndex++] = Double.parseDouble(currentLine);
+                    consumer.accept(currentLine);
+                    lineCount++;
                 }
             }
-        } catch (IOException | NumberFormatException e) {
-            e.printStackTrace();
         }
 
-        Double[] resultArray = new Double[currentIndex];
-        System.arraycopy(temporaryArray, 0, resultArray, 0, currentIndex);
+        return lineCount;
+    }
 
-        return resultArray;
+    /**
+     * Ділить файл на діапазони байтів приблизно однакового розміру, межі яких
+     * збігаються з початками рядків.
+     *
+     * @param filePath Шлях до файлу з даними.
+     * @param rangeCount Бажана кількість діапазонів.
+     * @return Масив із {@code rangeCount + 1} зміщень; діапазон i - від [i] до [i + 1] (не включно).
+     * @throws IOException Якщо файл не вдалося прочитати.
+     */
+    public static long[] splitIntoLineAlignedRanges(String filePath, int rangeCount) throws IOException {
+        long[] boundaries = new long[rangeCount + 1];
+
+        try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            ByteBuffer buffer = ByteBuffer.allocate(4096);
+            boundaries[rangeCount] = fileSize;
+
+            for (int i = 1; i < rangeCount; i++) {
+                // Зсуваємо орієнтовну межу до початку наступного рядка
+                long offset = Math.max(boundaries[i - 1], fileSize * i / rangeCount);
+                boolean lineStartFound = offset == 0;
+                while (!lineStartFound && offset < fileSize) {
+                    buffer.clear();
+                    int bytesRead = channel.read(buffer, offset);
+                    if (bytesRead <= 0) {
+                        break;
+                    }
+                    for (int j = 0; j < bytesRead; j++) {
+                        if (buffer.get(j) == '\n') {
+                            offset += j + 1;
+                            lineStartFound = true;
+                            break;
+                        }
+                    }
+                    if (!lineStartFound) {
+                        offset += bytesRead;
+                    }
+                }
+                boundaries[i] = Math.min(offset, fileSize);
+            }
+        }
+
+        return boundaries;
+    }
+
+    /**
+     * Читає числа з рядків, що лежать у заданому діапазоні байтів файлу.
+     * Межі діапазону мають збігатися з початками рядків (див. {@link #splitIntoLineAlignedRanges}).
+     * Некоректні рядки пропускаються і передаються окремому споживачу з номерами,
+     * відліченими від початку діапазону.
+     *
+     * @param filePath Шлях до файлу з даними.
+     * @param startOffset Початок діапазону.
+     * @param endOffset Кінець діапазону (не включно).
+     * @param consumer Споживач чисел.
+     * @param invalidLineConsumer Споживач некоректних рядків і їхніх номерів (від 1).
+     * @return Кількість рядків діапазону.
+     * @throws IOException Якщо файл не вдалося прочитати.
+     */
+    public static long streamValuesFromRange(String filePath, long startOffset, long endOffset, DoubleConsumer consumer,
+                                             ObjLongConsumer<String> invalidLineConsumer) throws IOException {
+        PerformanceTracker.OperationScope operation = PerformanceTracker.startOperation("file", 0);
+        long valueCount = 0;
+        long lineCount = 0;
+
+        try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ);
+             InputStream rangeStream = new BufferedInputStream(Channels.newInputStream(channel.position(startOffset)))) {
+            byte[] lineBytes = new byte[64];
+            int lineLength = 0;
+
+            // Рахуємо байти самостійно: readLine не повідомляє, чи був рядок завершений CRLF чи LF
+            for (long position = startOffset; position <= endOffset; position++) {
+                int nextByte = position < endOffset ? rangeStream.read() : -1;
+                if (nextByte != '\n' && nextByte != -1) {
+                    if (lineLength == lineBytes.length) {
+                        lineBytes = Arrays.copyOf(lineBytes, lineBytes.length * 2);
+                    }
+                    lineBytes[lineLength++] = (byte) nextByte;
+                    continue;
+                }
+
+                if (nextByte == -1 && lineLength == 0) {
+                    break;
+                }
+                lineCount++;
+
+                // Видаляємо можливі невидимі символи та BOM
+                String currentLine = new String(lineBytes, 0, lineLength, StandardCharsets.UTF_8).trim().replaceAll("^\\uFEFF", "");
+                lineLength = 0;
+                if (!currentLine.isEmpty()) {
+                    try {
+                        consumer.accept(Double.parseDouble(currentLine));
+                        valueCount++;
+                    } catch (NumberFormatException e) {
+                        invalidLineConsumer.accept(currentLine, lineCount);
+                    }
+                }
+                if (nextByte == -1) {
+                    break;
+                }
+            }
+        }
+
+        operation.setElementCount(valueCount);
+        operation.stop("читання діапазону файлу", startOffset + "-" + endOffset);
+
+        return lineCount;
     }
 
     /**
      * Зберігає масив чисел у файл.
+     *
+     * <p>Файл записується через {@link SortedFileWriter}: спочатку у тимчасовий файл,
+     * який потім атомарно замінює цільовий.</p>
      * 
      * @param numbersArray Масив чисел.
      * @param filePath Шлях до файлу для збереження.
+     * @throws IOException Якщо файл не вдалося записати.
      */
-    public static void writeArrayToFile(Double[] numbersArray, String filePath) {
-        try (BufferedWriter fileWriter = new BufferedWriter(new FileWriter(filePath))) {
+    public static void writeArrayToFile(Double[] numbersArray, String filePath) throws IOException {
+        PerformanceTracker.OperationScope operation = PerformanceTracker.startOperation("Double[]", numbersArray.length);
+
+        try (SortedFileWriter fileWriter = new SortedFileWriter(filePath)) {
             for (double value : numbersArray) {
-                fileWriter.write(String.valueOf(value));
-                fileWriter.newLine();
+                fileWriter.write(value);
+            }
+            fileWriter.commit();
+        }
+
+        operation.stop("запис масиву у файл", filePath);
+    }
+
+    /**
+     * Клас FileFollower читає лише ті рядки, які було дописано в кінець файлу
+     * після попереднього читання (режим "tail -f").
+     *
+     * <p>Запам'ятовує зміщення в байтах після останнього прочитаного рядка. Перше
+     * читання, як і {@link DataFileHandler#loadArrayFromFile(String)}, вважає кінець
+     * файлу кінцем останнього рядка. Під час наступних читань неповний останній рядок
+     * залишається у файлі до наступного виклику.</p>
+     */
+    public static class FileFollower {
+        private static final int READ_CHUNK_BYTES = 1 << 20;
+
+        private final String filePath;
+        private long byteOffset;
+        private long lineNumber;
+        private int reportedPendingLength;
+        private boolean initialReadDone;
+
+        private double[] appendedValues;
+        private int appendedValueCount;
+
+        /**
+         * Створює об'єкт для читання файлу з самого початку.
+         *
+         * @param filePath Шлях до файлу з даними.
+         */
+        public FileFollower(String filePath) {
+            this.filePath = filePath;
+        }
+
+        /**
+         * Повертає зміщення в байтах, з якого почнеться наступне читання.
+         *
+         * @return Зміщення в байтах.
+         */
+        public long getByteOffset() {
+            return byteOffset;
+        }
+
+        /**
+         * Зчитує числа з рядків, дописаних після попереднього виклику.
+         *
+         * @return Масив нових чисел; порожній, якщо нових повних рядків немає.
+         * @throws IOException Якщо файл не вдалося прочитати.
+         */
+        public double[] readAppendedValues() throws IOException {
+            PerformanceTracker.OperationScope operation = PerformanceTracker.startOperation("file", 0);
+
+            appendedValues = new double[16];
+            appendedValueCount = 0;
+
+            try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+                if (channel.size() < byteOffset) {
+                    // Файл обрізано або замінено новим - починаємо читання спочатку
+                    ReportSink.println("Файл '" + filePath + "' став коротшим, читання розпочато з початку");
+                    byteOffset = 0;
+                    lineNumber = 0;
+                    reportedPendingLength = 0;
+                }
+
+                ByteBuffer buffer = ByteBuffer.allocate(READ_CHUNK_BYTES);
+                byte[] pendingBytes = new byte[0];
+
+                while (channel.read(buffer, byteOffset + pendingBytes.length) > 0) {
+                    byte[] chunk = new byte[pendingBytes.length + buffer.position()];
+                    System.arraycopy(pendingBytes, 0, chunk, 0, pendingBytes.length);
+                    System.arraycopy(buffer.array(), 0, chunk, pendingBytes.length, buffer.position());
+                    buffer.clear();
+
+                    // Обробляємо лише повні рядки; залишок чекає на наступне читання
+                    int lineStart = 0;
+                    for (int i = 0; i < chunk.length; i++) {
+                        if (chunk[i] == '\n') {
+                            parseLine(chunk, lineStart, i);
+                            lineStart = i + 1;
+                        }
+                    }
+
+                    byteOffset += lineStart;
+                    pendingBytes = Arrays.copyOfRange(chunk, lineStart, chunk.length);
+                }
+
+                if (!initialReadDone && pendingBytes.length > 0) {
+                    // Перше читання бачить файл повністю, як і звичайне завантаження
+                    parseLine(pendingBytes, 0, pendingBytes.length);
+                    byteOffset += pendingBytes.length;
+                    pendingBytes = new byte[0];
+                }
+                initialReadDone = true;
+
+                // Рядок без переведення рядка ще може дописуватися (наприклад, "echo 45 >>"
+                // до файлу без завершального '\n' подовжує саме його), тому він лишається
+                // у файлі і розбирається лише після завершення
+                if (pendingBytes.length > 0 && pendingBytes.length != reportedPendingLength) {
+                    ReportSink.println("Останній рядок файлу '" + filePath + "' без переведення рядка буде прочитано після його завершення");
+                }
+                reportedPendingLength = pendingBytes.length;
+            }
+
+            operation.setElementCount(appendedValueCount);
+            operation.stop("читання дописаних рядків файлу", byteOffset);
+
+            return Arrays.copyOf(appendedValues, appendedValueCount);
+        }
+
+        /**
+         * Розбирає один рядок з буфера і додає число до результату поточного читання.
+         *
+         * @param bytes Буфер з даними файлу.
+         * @param lineStart Початок рядка в буфері.
+         * @param lineEnd Кінець рядка в буфері (не включно).
+         */
+        private void parseLine(byte[] bytes, int lineStart, int lineEnd) {
+            lineNumber++;
+
+            // Видаляємо можливі невидимі символи та BOM
+            String currentLine = new String(bytes, lineStart, lineEnd - lineStart, StandardCharsets.UTF_8);
+            currentLine = currentLine.trim().replaceAll("^\\uFEFF", "");
+            if (currentLine.isEmpty()) {
+                return;
+            }
+
+            try {
+                double value = Double.parseDouble(currentLine);
+                if (appendedValueCount == appendedValues.length) {
+                    appendedValues = Arrays.copyOf(appendedValues, appendedValues.length * 2);
+                }
+                appendedValues[appendedValueCount++] = value;
+            } catch (NumberFormatException e) {
+                ReportSink.println("Пропущено некоректний рядок " + lineNumber + " у файлі '" + filePath + "': " + currentLine);
             }
-        } catch (IOException ioException) {
-            ioException.printStackTrace();
         }
     }
 }
@@ -0,0 +1,46 @@
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Подія Java Flight Recorder для кожної виміряної операції з даними.
+ *
+ * <p>Подію створює {@link PerformanceTracker.OperationScope}: пошук, визначення
+ * мінімуму і максимуму, сортування, додавання, видалення, а також читання і запис
+ * файлів у {@link DataFileHandler}. Коли запис JFR не ввімкнено, подія не фіксується
+ * і майже нічого не коштує.</p>
+ *
+ * <p>Приклад запису:</p>
+ * <pre>
+ * {@code
+ * java -XX:StartFlightRecording=filename=operations.jfr BasicDataOperation "1234567890"
+ * jfr print --events training.DataOperation operations.jfr
+ * }
+ * </pre>
+ */
+@Name("training.DataOperation")
+@Label("Data Operation")
+@Category({ "Training Data", "Operations" })
+@Description("Виміряна операція з даними")
+@StackTrace(false)
+public class DataOperationEvent extends Event {
+    @Label("Operation")
+    String operationName;
+
+    @Label("Structure Type")
+    String structureType;
+
+    @Label("Element Count")
+    long elementCount;
+
+    @Label("Result")
+    String result;
+
+    @Label("Allocated")
+    @DataAmount
+    long allocatedBytes;
+}
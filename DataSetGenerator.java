@@ -0,0 +1,424 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Клас DataSetGenerator створює відтворювані набори даних будь-якого розміру
+ * для всіх типів {@link DataType}.
+ *
+ * <p>Значення генеруються потоково, тому розмір набору (від тисяч до мільярда рядків)
+ * обмежений лише диском. Однакове зерно дає однакові файли на будь-якій машині.
+ * Кожне значення спочатку обирається як число з [0, 1) за заданим розподілом,
+ * а потім монотонно відображається в діапазон типу, тож упорядкованість і дублікати
+ * зберігаються для всіх типів.</p>
+ *
+ * <p>Параметри задаються системними властивостями:</p>
+ * <ul>
+ *   <li>{@code generator.seed} - зерно генератора (типово 42);</li>
+ *   <li>{@code generator.distribution} - {@code uniform}, {@code gaussian}, {@code exponential}
+ *       або {@code skewed} (типово {@code uniform});</li>
+ *   <li>{@code generator.duplicates} - частка рядків, що повторюють уже згенероване значення (0..1);</li>
+ *   <li>{@code generator.sortedness} - частка рядків, що утворюють зростаючу послідовність (0..1);</li>
+ *   <li>{@code generator.format} - {@code text}, {@code binary} або {@code both} (типово {@code both}).</li>
+ * </ul>
+ *
+ * <p>Текстовий файл {@code <тип>.data} має той самий формат, що й файли каталогу {@code list/}.
+ * Двійковий файл {@code <тип>.bin} містить значення фіксованої ширини в порядку little-endian:
+ * числа - у власному розмірі, дати - днями епохи ({@code long}), дата й час - секундами
+ * епохи ({@code long}), час - секундою доби ({@code int}), символи - {@code char},
+ * рядки - довжиною ({@code int}) і байтами UTF-8. Двійковий файл чисел {@code double}
+ * можна відобразити в пам'ять через {@link OffHeapDoubleStore#mapFile(Path)}.</p>
+ *
+ * <p>Приклад використання:</p>
+ * <pre>
+ * {@code
+ * java -Dgenerator.seed=7 -Dgenerator.duplicates=0.2 DataSetGenerator double 1e6 generated
+ * java -Dgenerator.sortedness=0.9 -Dgenerator.format=text DataSetGenerator all 1000000
+ * }
+ * </pre>
+ */
+public class DataSetGenerator {
+    private static final String USAGE_MESSAGE = "Використання: java DataSetGenerator <тип|all> <кількість-рядків> [каталог]\n" +
+"Типи: double, float, long, int, short, byte, LocalDate, LocalDateTime, LocalTime, Character, String";
+
+    private static final int DUPLICATE_RESERVOIR_SIZE = 4096;
+    private static final int BUFFER_BYTES = 1 << 20;
+    // toString() пропускає нульові секунди, а у файлах list/ секунди є завжди
+    private static final DateTimeFormatter DATE_TIME_FORMAT = DateTimeFormatter.ofPattern("uuuu-MM-dd'T'HH:mm:ss");
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm:ss");
+
+    private static final long FIRST_EPOCH_DAY = LocalDate.of(2000, 1, 1).toEpochDay();
+    private static final long EPOCH_DAY_RANGE = LocalDate.of(2050, 1, 1).toEpochDay() - FIRST_EPOCH_DAY;
+    private static final long FIRST_EPOCH_SECOND = FIRST_EPOCH_DAY * 86400;
+    private static final long EPOCH_SECOND_RANGE = EPOCH_DAY_RANGE * 86400;
+
+    private static final char[] ALPHABET = sortedCharacters("0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz"
+            + "АБВГҐДЕЄЖЗИІЇЙКЛМНОПРСТУФХЦЧШЩЬЮЯабвгґдеєжзиіїйклмнопрстуфхцчшщьюя");
+    private static final String[] VOCABULARY = {
+        "amber", "autumn", "breeze", "bright", "calm", "cloud", "crimson", "dawn",
+        "distant", "dream", "echo", "field", "forest", "gentle", "golden", "harbor",
+        "hill", "light", "meadow", "mist", "moon", "ocean", "quiet", "rain",
+        "river", "shadow", "silver", "sky", "stone", "storm", "sun", "wind"
+    };
+
+    /**
+     * Розподіл значень на відрізку [0, 1), заданий оберненою функцією розподілу.
+     * Обернена функція монотонна, тому зростаюча послідовність рівномірних чисел
+     * залишається зростаючою після перетворення.
+     */
+    enum Distribution {
+        UNIFORM {
+            @Override
+            double quantile(double probability) {
+                return probability;
+            }
+        },
+        GAUSSIAN {
+            @Override
+            double quantile(double probability) {
+                return clampUnit(0.5 + inverseNormal(probability) / 8);
+            }
+        },
+        EXPONENTIAL {
+            @Override
+            double quantile(double probability) {
+                return clampUnit(-Math.log1p(-probability) / 8);
+            }
+        },
+        SKEWED {
+            @Override
+            double quantile(double probability) {
+                return probability * probability * probability * probability;
+            }
+        };
+
+        abstract double quantile(double probability);
+    }
+
+    private final long rowCount;
+    private final long seed;
+    private final Distribution distribution;
+    private final double duplicateRatio;
+    private final double sortedness;
+    private final boolean writeText;
+    private final boolean writeBinary;
+
+    /**
+     * Створює генератор із параметрами із системних властивостей.
+     *
+     * @param rowCount Кількість рядків у кожному наборі.
+     */
+    public DataSetGenerator(long rowCount) {
+        this.rowCount = rowCount;
+        this.seed = Long.getLong("generator.seed", 42);
+        this.distribution = Distribution.valueOf(System.getProperty("generator.distribution", "uniform").toUpperCase());
+        this.duplicateRatio = Double.parseDouble(System.getProperty("generator.duplicates", "0"));
+        this.sortedness = Double.parseDouble(System.getProperty("generator.sortedness", "0"));
+        String format = System.getProperty("generator.format", "both");
+        this.writeText = format.equals("text") || format.equals("both");
+        this.writeBinary = format.equals("binary") || format.equals("both");
+
+        if (duplicateRatio < 0 || duplicateRatio > 1 || sortedness < 0 || sortedness > 1) {
+            throw new IllegalArgumentException("Частки дублікатів і впорядкованості мають бути від 0 до 1");
+        }
+        if (!writeText && !writeBinary) {
+            throw new IllegalArgumentException("Невідомий формат: " + format);
+        }
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            ReportSink.println(USAGE_MESSAGE);
+            ReportSink.flush();
+            return;
+        }
+
+        try {
+            double requestedRows = Double.parseDouble(args[1]);
+            if (requestedRows < 1 || requestedRows != Math.rint(requestedRows)) {
+                throw new IllegalArgumentException("Кількість рядків має бути додатним цілим числом: " + args[1]);
+            }
+
+            DataType[] types = args[0].equals("all") ? DataType.values() : new DataType[] { DataType.fromFileName(args[0]) };
+            if (types[0] == null) {
+                throw new IllegalArgumentException("Невідомий тип даних: " + args[0]);
+            }
+
+            Path directory = Paths.get(args.length > 2 ? args[2] : "generated");
+            Files.createDirectories(directory);
+
+            DataSetGenerator generator = new DataSetGenerator((long) requestedRows);
+            for (DataType type : types) {
+                generator.generate(type, directory);
+            }
+        } catch (IOException e) {
+            ReportSink.println("❌ Помилка запису набору даних: " + e.getMessage());
+        } catch (IllegalArgumentException e) {
+            ReportSink.println("Помилка: " + e.getMessage());
+            ReportSink.println(USAGE_MESSAGE);
+        }
+
+        ReportSink.flush();
+    }
+
+    /**
+     * Генерує набір даних одного типу.
+     *
+     * @param type Тип даних.
+     * @param directory Каталог для файлів.
+     * @throws IOException Якщо файл не вдалося записати.
+     */
+    public void generate(DataType type, Path directory) throws IOException {
+        Path textPath = directory.resolve(type.getFileStem() + ".data");
+        Path binaryPath = directory.resolve(type.getFileStem() + ".bin");
+
+        PerformanceTracker.OperationScope operation = PerformanceTracker.startOperation(type.name(), rowCount);
+
+        // Для кожного типу окреме зерно: набір не залежить від того, які ще типи генеруються
+        SplittableRandom random = new SplittableRandom(seed * 31 + type.ordinal());
+        double[] reservoir = new double[DUPLICATE_RESERVOIR_SIZE];
+        double sortedPosition = 0;
+        double previousUnit = 0;
+
+        try (BufferedWriter textWriter = writeText ? new BufferedWriter(new OutputStreamWriter(
+                     Files.newOutputStream(textPath), StandardCharsets.UTF_8), BUFFER_BYTES) : null;
+             FileChannel binaryChannel = writeBinary ? FileChannel.open(binaryPath,
+                     StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING) : null) {
+            ByteBuffer binaryBuffer = ByteBuffer.allocate(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+
+            for (long row = 0; row < rowCount; row++) {
+                double unit;
+                if (row > 0 && random.nextDouble() < duplicateRatio) {
+                    // У впорядкованій послідовності дублікат - повтор попереднього значення
+                    unit = sortedness > 0 ? previousUnit : reservoir[random.nextInt((int) Math.min(row, DUPLICATE_RESERVOIR_SIZE))];
+                } else if (random.nextDouble() < sortedness) {
+                    // Наступна порядкова статистика рівномірної вибірки з решти рядків
+                    sortedPosition += (1 - sortedPosition) * (1 - Math.pow(random.nextDouble(), 1.0 / (rowCount - row)));
+                    unit = distribution.quantile(Math.min(sortedPosition, Math.nextDown(1.0)));
+                } else {
+                    unit = distribution.quantile(random.nextDouble());
+                }
+
+                reservoir[(int) (row % DUPLICATE_RESERVOIR_SIZE)] = unit;
+                previousUnit = unit;
+
+                if (textWriter != null) {
+                    textWriter.write(formatValue(type, unit));
+                    textWriter.write('\n');
+                }
+                if (binaryChannel != null) {
+                    writeBinaryValue(binaryChannel, binaryBuffer, type, unit);
+                }
+            }
+
+            if (binaryChannel != null) {
+                flushBuffer(binaryChannel, binaryBuffer);
+            }
+        }
+
+        operation.stop("генерація набору даних " + type.getFileStem());
+
+        ReportSink.println("Набір '" + type.getFileStem() + "': " + rowCount + " рядків"
+                + (writeText ? ", текст " + Files.size(textPath) + " байт" : "")
+                + (writeBinary ? ", двійковий " + Files.size(binaryPath) + " байт" : ""));
+    }
+
+    /**
+     * Перетворює число з [0, 1) на текстове значення типу; перетворення монотонне.
+     */
+    static String formatValue(DataType type, double unit) {
+        switch (type) {
+            case DOUBLE:
+                return String.valueOf(toDouble(unit));
+            case FLOAT:
+                return String.valueOf(toFloat(unit));
+            case LONG:
+                return String.valueOf(toLong(unit));
+            case INT:
+                return String.valueOf(toInt(unit));
+            case SHORT:
+                return String.valueOf(toShort(unit));
+            case BYTE:
+                return String.valueOf(toByte(unit));
+            case LOCAL_DATE:
+                return LocalDate.ofEpochDay(toEpochDay(unit)).toString();
+            case LOCAL_DATE_TIME:
+                return DATE_TIME_FORMAT.format(LocalDateTime.ofEpochSecond(toEpochSecond(unit), 0, ZoneOffset.UTC)) + "Z";
+            case LOCAL_TIME:
+                return TIME_FORMAT.format(LocalTime.ofSecondOfDay(toSecondOfDay(unit)));
+            case CHARACTER:
+                return String.valueOf(toCharacter(unit));
+            default:
+                return toPhrase(unit);
+        }
+    }
+
+    private static void writeBinaryValue(FileChannel channel, ByteBuffer buffer, DataType type, double unit) throws IOException {
+        if (type == DataType.STRING) {
+            byte[] phrase = toPhrase(unit).getBytes(StandardCharsets.UTF_8);
+            if (buffer.remaining() < Integer.BYTES + phrase.length) {
+                flushBuffer(channel, buffer);
+            }
+            buffer.putInt(phrase.length).put(phrase);
+            return;
+        }
+
+        if (buffer.remaining() < Long.BYTES) {
+            flushBuffer(channel, buffer);
+        }
+        switch (type) {
+            case DOUBLE:
+                buffer.putDouble(toDouble(unit));
+                break;
+            case FLOAT:
+                buffer.putFloat(toFloat(unit));
+                break;
+            case LONG:
+                buffer.putLong(toLong(unit));
+                break;
+            case INT:
+                buffer.putInt(toInt(unit));
+                break;
+            case SHORT:
+                buffer.putShort(toShort(unit));
+                break;
+            case BYTE:
+                buffer.put(toByte(unit));
+                break;
+            case LOCAL_DATE:
+                buffer.putLong(toEpochDay(unit));
+                break;
+            case LOCAL_DATE_TIME:
+                buffer.putLong(toEpochSecond(unit));
+                break;
+            case LOCAL_TIME:
+                buffer.putInt(toSecondOfDay(unit));
+                break;
+            default:
+                buffer.putChar(toCharacter(unit));
+                break;
+        }
+    }
+
+    private static void flushBuffer(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private static double toDouble(double unit) {
+        return -1.0E9 + unit * 2.0E9;
+    }
+
+    private static float toFloat(double unit) {
+        return (float) (-1.0E6 + unit * 2.0E6);
+    }
+
+    private static long toLong(double unit) {
+        // Приведення до long обмежує результат діапазоном типу
+        return (long) (unit * 0x1p64 - 0x1p63);
+    }
+
+    private static int toInt(double unit) {
+        return (int) ((long) (unit * 0x1p32) + Integer.MIN_VALUE);
+    }
+
+    private static short toShort(double unit) {
+        return (short) ((int) (unit * 65536) + Short.MIN_VALUE);
+    }
+
+    private static byte toByte(double unit) {
+        return (byte) ((int) (unit * 256) + Byte.MIN_VALUE);
+    }
+
+    private static long toEpochDay(double unit) {
+        return FIRST_EPOCH_DAY + (long) (unit * EPOCH_DAY_RANGE);
+    }
+
+    private static long toEpochSecond(double unit) {
+        return FIRST_EPOCH_SECOND + (long) (unit * EPOCH_SECOND_RANGE);
+    }
+
+    private static int toSecondOfDay(double unit) {
+        return (int) (unit * 86400);
+    }
+
+    private static char toCharacter(double unit) {
+        return ALPHABET[(int) (unit * ALPHABET.length)];
+    }
+
+    /**
+     * Складає фразу з трьох слів; слова впорядковані, а пробіл менший за будь-яку літеру,
+     * тому фрази впорядковані так само, як і числа.
+     */
+    private static String toPhrase(double unit) {
+        int vocabularySize = VOCABULARY.length;
+        int index = (int) (unit * vocabularySize * vocabularySize * vocabularySize);
+        return VOCABULARY[index / (vocabularySize * vocabularySize)] + " "
+                + VOCABULARY[index / vocabularySize % vocabularySize] + " "
+                + VOCABULARY[index % vocabularySize];
+    }
+
+    private static char[] sortedCharacters(String characters) {
+        char[] sorted = characters.toCharArray();
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    private static double clampUnit(double value) {
+        return Math.max(0, Math.min(value, Math.nextDown(1.0)));
+    }
+
+    /**
+     * Обернена функція стандартного нормального розподілу (наближення Акклема,
+     * відносна похибка менше 1.15e-9).
+     */
+    private static double inverseNormal(double probability) {
+        if (probability <= 0) {
+            return Double.NEGATIVE_INFINITY;
+        }
+
+        final double[] a = { -3.969683028665376e+01, 2.209460984245205e+02, -2.759285104469687e+02,
+            1.383577518672690e+02, -3.066479806614716e+01, 2.506628277459239e+00 };
+        final double[] b = { -5.447609879822406e+01, 1.615858368580409e+02, -1.556989798598866e+02,
+            6.680131188771972e+01, -1.328068155288572e+01 };
+        final double[] c = { -7.784894002430293e-03, -3.223964580411365e-01, -2.400758277161838e+00,
+            -2.549732539343734e+00, 4.374664141464968e+00, 2.938163982698783e+00 };
+        final double[] d = { 7.784695709041462e-03, 3.224671290700398e-01, 2.445134137142996e+00,
+            3.754408661907416e+00 };
+        final double lowTail = 0.02425;
+
+        if (probability < lowTail) {
+            double q = Math.sqrt(-2 * Math.log(probability));
+            return (((((c[0] * q + c[1]) * q + c[2]) * q + c[3]) * q + c[4]) * q + c[5])
+                    / ((((d[0] * q + d[1]) * q + d[2]) * q + d[3]) * q + 1);
+        }
+        if (probability > 1 - lowTail) {
+            double q = Math.sqrt(-2 * Math.log1p(-probability));
+            return -(((((c[0] * q + c[1]) * q + c[2]) * q + c[3]) * q + c[4]) * q + c[5])
+                    / ((((d[0] * q + d[1]) * q + d[2]) * q + d[3]) * q + 1);
+        }
+
+        double q = probability - 0.5;
+        double r = q * q;
+        return (((((a[0] * r + a[1]) * r + a[2]) * r + a[3]) * r + a[4]) * r + a[5]) * q
+                / (((((b[0] * r + b[1]) * r + b[2]) * r + b[3]) * r + b[4]) * r + 1);
+    }
+}
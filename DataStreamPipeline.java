@@ -0,0 +1,325 @@
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+
+/**
+ * Клас DataStreamPipeline передає числа з файлу обробникам пакетами, не чекаючи
+ * завершення завантаження (java.util.concurrent.Flow).
+ *
+ * <p>Читач файлу публікує пакети примітивних чисел через {@link SubmissionPublisher};
+ * кожен підписник має обмежений буфер і запитує наступний пакет лише після обробки
+ * попереднього. Коли буфер найповільнішого підписника заповнений, читач чекає
+ * (зворотний тиск), тож пам'ять для однопрохідних операцій обмежена розміром буферів.</p>
+ *
+ * <p>Підписники працюють паралельно: статистика (кількість, мінімум, максимум, середнє),
+ * множина різних значень, купа найбільших значень і сортування.</p>
+ *
+ * <p>Розмір пакета задається властивістю {@code -Dstream.batch.size} (типово 8192),
+ * кількість пакетів у буфері підписника - {@code -Dstream.buffer.batches} (типово 16),
+ * кількість найбільших значень у купі - {@code -Dstream.top} (типово 10).</p>
+ */
+public class DataStreamPipeline {
+    private static final int BATCH_SIZE = Math.max(1, Integer.getInteger("stream.batch.size", 8192));
+    private static final int BUFFER_BATCHES = Math.max(1, Integer.getInteger("stream.buffer.batches", 16));
+    private static final int TOP_VALUES = Integer.getInteger("stream.top", 10);
+
+    private final String filePath;
+    private final double valueToSearch;
+
+    /**
+     * Створює конвеєр для файлу даних.
+     *
+     * @param filePath Шлях до файлу з даними.
+     * @param valueToSearch Значення для пошуку.
+     */
+    public DataStreamPipeline(String filePath, double valueToSearch) {
+        this.filePath = filePath;
+        this.valueToSearch = valueToSearch;
+    }
+
+    /**
+     * Читає файл, публікує пакети всім підписникам і чекає завершення обробки.
+     *
+     * @throws IOException Якщо файл не вдалося прочитати; підписники отримують onError.
+     */
+    public void run() throws IOException {
+        List<BatchSubscriber> subscribers = new ArrayList<>();
+        subscribers.add(new StatisticsSubscriber());
+        subscribers.add(new SetSubscriber(valueToSearch));
+        subscribers.add(new HeapSubscriber(Math.max(1, TOP_VALUES)));
+        subscribers.add(new SortSubscriber(valueToSearch));
+
+        CountDownLatch completion = new CountDownLatch(subscribers.size());
+        ExecutorService executor = Executors.newFixedThreadPool(subscribers.size());
+
+        PerformanceTracker.OperationScope operation = PerformanceTracker.startOperation("SubmissionPublisher", 0);
+        long valueCount;
+
+        // Потоки пулу не є демонами: пул зупиняється за будь-якого результату, інакше JVM не завершиться
+        try {
+            try (SubmissionPublisher<double[]> publisher = new SubmissionPublisher<>(executor, BUFFER_BATCHES)) {
+                for (BatchSubscriber subscriber : subscribers) {
+                    subscriber.completion = completion;
+                    publisher.subscribe(subscriber);
+                }
+
+                try {
+                    double[][] batch = { new double[BATCH_SIZE] };
+                    int[] batchLength = { 0 };
+                    valueCount = DataFileHandler.streamValuesFromFile(filePath, value -> {
+                        batch[0][batchLength[0]++] = value;
+                        if (batchLength[0] == BATCH_SIZE) {
+                            // submit блокується, поки в буфері найповільнішого підписника немає місця
+                            publisher.submit(batch[0]);
+                            batch[0] = new double[BATCH_SIZE];
+                            batchLength[0] = 0;
+                        }
+                    });
+                    if (batchLength[0] > 0) {
+                        publisher.submit(Arrays.copyOf(batch[0], batchLength[0]));
+                    }
+                } catch (RuntimeException | IOException e) {
+                    // Підписники отримують onError замість onComplete з неповними даними
+                    publisher.closeExceptionally(e);
+                    throw e;
+                }
+            }
+
+            completion.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } finally {
+            executor.shutdown();
+        }
+
+        operation.setElementCount(valueCount);
+        operation.stop("потокова обробка файлу конвеєром", valueCount);
+
+        for (BatchSubscriber subscriber : subscribers) {
+            subscriber.printResult();
+        }
+    }
+
+    /**
+     * Базовий підписник: запитує пакети по одному і вимірює власний час обробки.
+     */
+    private abstract static class BatchSubscriber implements Flow.Subscriber<double[]> {
+        private Flow.Subscription subscription;
+        private CountDownLatch completion;
+        private long processingNanos;
+        private long batchCount;
+        private Throwable failure;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(1);
+        }
+
+        @Override
+        public void onNext(double[] batch) {
+            long startTime = System.nanoTime();
+            consume(batch);
+            processingNanos += System.nanoTime() - startTime;
+            batchCount++;
+            subscription.request(1);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            failure = throwable;
+            completion.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            long startTime = System.nanoTime();
+            finish();
+            processingNanos += System.nanoTime() - startTime;
+            completion.countDown();
+        }
+
+        /**
+         * Обробляє один пакет чисел.
+         */
+        abstract void consume(double[] batch);
+
+        /**
+         * Завершує обробку після останнього пакета.
+         */
+        void finish() {
+        }
+
+        /**
+         * Повертає назву підписника для звіту.
+         */
+        abstract String name();
+
+        /**
+         * Повертає результат обробки для звіту.
+         */
+        abstract String result();
+
+        void printResult() {
+            if (failure != null) {
+                ReportSink.println("❌ " + name() + ": помилка обробки - " + failure.getMessage());
+                return;
+            }
+            ReportSink.println(name() + " (" + batchCount + " пакетів, " + processingNanos / 1000 + " мкс обробки): " + result());
+        }
+    }
+
+    /**
+     * Однопрохідна статистика: кількість, мінімум, максимум і середнє.
+     */
+    private static class StatisticsSubscriber extends BatchSubscriber {
+        private long valueCount;
+        private double minValue = Double.POSITIVE_INFINITY;
+        private double maxValue = Double.NEGATIVE_INFINITY;
+        // Значення файлу сягають ±1e303, тому звичайна сума втрачає менші доданки
+        private final CompensatedSum sum = new CompensatedSum();
+
+        @Override
+        void consume(double[] batch) {
+            for (double value : batch) {
+                minValue = Math.min(minValue, value);
+                maxValue = Math.max(maxValue, value);
+                sum.add(value);
+            }
+            valueCount += batch.length;
+        }
+
+        @Override
+        String name() {
+            return "Статистика";
+        }
+
+        @Override
+        String result() {
+            if (valueCount == 0) {
+                return "даних немає";
+            }
+            return "кількість " + valueCount + ", мінімум " + minValue + ", максимум " + maxValue
+                    + ", середнє " + sum.getSum() / valueCount;
+        }
+    }
+
+    /**
+     * Множина різних значень і перевірка наявності шуканого значення.
+     */
+    private static class SetSubscriber extends BatchSubscriber {
+        private final Set<Double> distinctValues = new HashSet<>();
+        private final double valueToSearch;
+
+        SetSubscriber(double valueToSearch) {
+            this.valueToSearch = valueToSearch;
+        }
+
+        @Override
+        void consume(double[] batch) {
+            for (double value : batch) {
+                distinctValues.add(value);
+            }
+        }
+
+        @Override
+        String name() {
+            return "HashSet";
+        }
+
+        @Override
+        String result() {
+            return "різних значень " + distinctValues.size() + ", значення '" + valueToSearch + "' "
+                    + (distinctValues.contains(valueToSearch) ? "присутнє" : "відсутнє");
+        }
+    }
+
+    /**
+     * Купа обмеженого розміру з найбільшими значеннями.
+     */
+    private static class HeapSubscriber extends BatchSubscriber {
+        private final PriorityQueue<Double> largestValues;
+        private final int limit;
+
+        HeapSubscriber(int limit) {
+            this.limit = limit;
+            this.largestValues = new PriorityQueue<>(limit + 1);
+        }
+
+        @Override
+        void consume(double[] batch) {
+            for (double value : batch) {
+                // Верхівка купи - найменше з найбільших; менші за неї значення не потрібні
+                if (largestValues.size() < limit) {
+                    largestValues.add(value);
+                } else if (value > largestValues.peek()) {
+                    largestValues.poll();
+                    largestValues.add(value);
+                }
+            }
+        }
+
+        @Override
+        String name() {
+            return "PriorityQueue";
+        }
+
+        @Override
+        String result() {
+            Double[] values = largestValues.toArray(new Double[0]);
+            Arrays.sort(values);
+            return limit + " найбільших значень " + Arrays.toString(values);
+        }
+    }
+
+    /**
+     * Накопичує значення і сортує їх після останнього пакета.
+     */
+    private static class SortSubscriber extends BatchSubscriber {
+        private final double valueToSearch;
+        private double[] values = new double[BATCH_SIZE];
+        private int valueCount;
+        private int position;
+
+        SortSubscriber(double valueToSearch) {
+            this.valueToSearch = valueToSearch;
+        }
+
+        @Override
+        void consume(double[] batch) {
+            if (valueCount + batch.length > values.length) {
+                values = Arrays.copyOf(values, Math.max(values.length * 2, valueCount + batch.length));
+            }
+            System.arraycopy(batch, 0, values, valueCount, batch.length);
+            valueCount += batch.length;
+        }
+
+        @Override
+        void finish() {
+            Arrays.sort(values, 0, valueCount);
+            position = Arrays.binarySearch(values, 0, valueCount, valueToSearch);
+        }
+
+        @Override
+        String name() {
+            return "Сортування double[]";
+        }
+
+        @Override
+        String result() {
+            return position >= 0
+                    ? "значення '" + valueToSearch + "' у відсортованому масиві на позиції " + position
+                    : "значення '" + valueToSearch + "' у відсортованому масиві відсутнє";
+        }
+    }
+}
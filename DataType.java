@@ -0,0 +1,86 @@
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.function.Function;
+
+/**
+ * Перелік DataType описує типи даних, що зберігаються у файлах каталогу {@code list/}.
+ *
+ * <p>Тип визначається за назвою файлу без розширення: {@code double.data} - DOUBLE,
+ * {@code LocalDateTime.data} - LOCAL_DATE_TIME тощо. Для кожного типу задано
+ * перетворення рядка файлу на порівнюване значення.</p>
+ */
+public enum DataType {
+    DOUBLE("double", Double::parseDouble),
+    FLOAT("float", Float::parseFloat),
+    LONG("long", Long::parseLong),
+    INT("int", Integer::parseInt),
+    SHORT("short", Short::parseShort),
+    BYTE("byte", Byte::parseByte),
+    LOCAL_DATE("LocalDate", LocalDate::parse),
+    LOCAL_DATE_TIME("LocalDateTime", DataType::parseLocalDateTime),
+    LOCAL_TIME("LocalTime", LocalTime::parse),
+    CHARACTER("Character", DataType::parseCharacter),
+    STRING("String", line -> line);
+
+    private final String fileStem;
+    private final Function<String, Comparable<?>> parser;
+
+    DataType(String fileStem, Function<String, Comparable<?>> parser) {
+        this.fileStem = fileStem;
+        this.parser = parser;
+    }
+
+    /**
+     * Повертає назву файлу без розширення, яка відповідає типу.
+     *
+     * @return Назва файлу без розширення.
+     */
+    public String getFileStem() {
+        return fileStem;
+    }
+
+    /**
+     * Перетворює рядок файлу на значення цього типу.
+     *
+     * @param line Рядок без BOM і пробілів на краях.
+     * @return Значення.
+     * @throws RuntimeException Якщо рядок має невірний формат.
+     */
+    public Comparable<?> parse(String line) {
+        return parser.apply(line);
+    }
+
+    /**
+     * Визначає тип даних за назвою файлу.
+     *
+     * @param fileName Назва файлу, наприклад {@code double.data}.
+     * @return Тип даних або {@code null}, якщо тип не розпізнано.
+     */
+    public static DataType fromFileName(String fileName) {
+        String stem = fileName.endsWith(".data") ? fileName.substring(0, fileName.length() - ".data".length()) : fileName;
+        for (DataType type : values()) {
+            if (type.fileStem.equals(stem)) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Розбирає дату й час у форматі ISO; суфікс {@code Z} (UTC) допускається.
+     */
+    private static LocalDateTime parseLocalDateTime(String line) {
+        if (line.endsWith("Z")) {
+            line = line.substring(0, line.length() - 1);
+        }
+        return LocalDateTime.parse(line);
+    }
+
+    private static Character parseCharacter(String line) {
+        if (line.length() != 1) {
+            throw new IllegalArgumentException("Очікувався один символ: " + line);
+        }
+        return line.charAt(0);
+    }
+}
@@ -0,0 +1,214 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongConsumer;
+
+/**
+ * Клас DeltaOfDeltaTimestampColumn зберігає послідовність міток часу (секунд епохи)
+ * стиснено різницями другого порядку (delta-of-delta, як у Gorilla).
+ *
+ * <p>Для рівномірних рядів різниця між сусідніми інтервалами дорівнює нулю і займає
+ * один біт; невеликі відхилення кодуються 7, 9 або 12 бітами, решта - повними 64.
+ * Як і {@link GorillaDoubleColumn}, колонка поділена на блоки з власними мінімумом
+ * і максимумом, що декодуються незалежно.</p>
+ */
+public class DeltaOfDeltaTimestampColumn implements LongConsumer {
+    private final int blockSize;
+    private final List<Block> blocks = new ArrayList<>();
+    private Block currentBlock;
+    private long valueCount;
+
+    /**
+     * Закодований блок міток часу.
+     */
+    private static class Block {
+        final BitStream bits = new BitStream();
+        int valueCount;
+        long minValue;
+        long maxValue;
+
+        // Стан кодувальника: попередня мітка і попередній інтервал
+        long previousValue;
+        long previousDelta;
+    }
+
+    /**
+     * Створює порожню колонку з блоками типового розміру.
+     */
+    public DeltaOfDeltaTimestampColumn() {
+        this(GorillaDoubleColumn.DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * Створює порожню колонку.
+     *
+     * @param blockSize Кількість міток у блоці.
+     */
+    public DeltaOfDeltaTimestampColumn(int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Розмір блоку має бути додатним: " + blockSize);
+        }
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Додає мітку часу в кінець колонки.
+     *
+     * @param epochSecond Кількість секунд від початку епохи.
+     */
+    @Override
+    public void accept(long epochSecond) {
+        if (currentBlock == null || currentBlock.valueCount == blockSize) {
+            if (currentBlock != null) {
+                currentBlock.bits.trim();
+            }
+            currentBlock = new Block();
+            blocks.add(currentBlock);
+        }
+
+        Block block = currentBlock;
+        if (block.valueCount == 0) {
+            block.bits.writeBits(epochSecond, 64);
+            block.minValue = epochSecond;
+            block.maxValue = epochSecond;
+        } else {
+            long delta = epochSecond - block.previousValue;
+            encodeDeltaOfDelta(block.bits, delta - block.previousDelta);
+            block.previousDelta = delta;
+            block.minValue = Math.min(block.minValue, epochSecond);
+            block.maxValue = Math.max(block.maxValue, epochSecond);
+        }
+
+        block.previousValue = epochSecond;
+        block.valueCount++;
+        valueCount++;
+    }
+
+    private static void encodeDeltaOfDelta(BitStream bits, long deltaOfDelta) {
+        if (deltaOfDelta == 0) {
+            bits.writeBits(0b0, 1);
+        } else if (deltaOfDelta >= -63 && deltaOfDelta <= 64) {
+            bits.writeBits(0b10, 2);
+            bits.writeBits(deltaOfDelta, 7);
+        } else if (deltaOfDelta >= -255 && deltaOfDelta <= 256) {
+            bits.writeBits(0b110, 3);
+            bits.writeBits(deltaOfDelta, 9);
+        } else if (deltaOfDelta >= -2047 && deltaOfDelta <= 2048) {
+            bits.writeBits(0b1110, 4);
+            bits.writeBits(deltaOfDelta, 12);
+        } else {
+            bits.writeBits(0b1111, 4);
+            bits.writeBits(deltaOfDelta, 64);
+        }
+    }
+
+    private static long decodeDeltaOfDelta(BitStream.Reader reader) {
+        if (!reader.readBit()) {
+            return 0;
+        }
+        if (!reader.readBit()) {
+            return signExtend(reader.readBits(7), 7);
+        }
+        if (!reader.readBit()) {
+            return signExtend(reader.readBits(9), 9);
+        }
+        if (!reader.readBit()) {
+            return signExtend(reader.readBits(12), 12);
+        }
+        return reader.readBits(64);
+    }
+
+    /**
+     * Відновлює знак числа, записаного {@code bitCount} бітами в додатковому коді.
+     * Діапазони кодування зсунуті вгору на одиницю (наприклад, від -63 до 64 для 7 бітів),
+     * тому найменше можливе значення коду означає верхню межу діапазону.
+     */
+    private static long signExtend(long value, int bitCount) {
+        long halfRange = 1L << (bitCount - 1);
+        long signed = value >= halfRange ? value - (1L << bitCount) : value;
+        return signed == -halfRange ? halfRange : signed;
+    }
+
+    /**
+     * Розпаковує блок у буфер.
+     *
+     * @param blockIndex Номер блоку.
+     * @param buffer Буфер розміром не менше за розмір блоку.
+     * @return Кількість розпакованих міток.
+     */
+    public int decodeBlock(int blockIndex, long[] buffer) {
+        Block block = blocks.get(blockIndex);
+        BitStream.Reader reader = block.bits.reader();
+
+        long value = reader.readBits(64);
+        long delta = 0;
+        buffer[0] = value;
+        for (int i = 1; i < block.valueCount; i++) {
+            delta += decodeDeltaOfDelta(reader);
+            value += delta;
+            buffer[i] = value;
+        }
+
+        return block.valueCount;
+    }
+
+    /**
+     * Передає всі мітки споживачу, розпаковуючи по одному блоку.
+     *
+     * @param consumer Споживач міток.
+     */
+    public void forEach(LongConsumer consumer) {
+        long[] buffer = new long[blockSize];
+        for (int blockIndex = 0; blockIndex < blocks.size(); blockIndex++) {
+            int count = decodeBlock(blockIndex, buffer);
+            for (int i = 0; i < count; i++) {
+                consumer.accept(buffer[i]);
+            }
+        }
+    }
+
+    /**
+     * Шукає перше входження мітки, розпаковуючи лише блоки, чий діапазон її містить.
+     *
+     * @param epochSecond Мітка для пошуку.
+     * @return Позиція мітки або -1, якщо її немає.
+     */
+    public long indexOf(long epochSecond) {
+        long[] buffer = new long[blockSize];
+        long blockStart = 0;
+        for (int blockIndex = 0; blockIndex < blocks.size(); blockIndex++) {
+            Block block = blocks.get(blockIndex);
+            if (epochSecond >= block.minValue && epochSecond <= block.maxValue) {
+                int count = decodeBlock(blockIndex, buffer);
+                for (int i = 0; i < count; i++) {
+                    if (buffer[i] == epochSecond) {
+                        return blockStart + i;
+                    }
+                }
+            }
+            blockStart += block.valueCount;
+        }
+        return -1;
+    }
+
+    /**
+     * Повертає кількість міток у колонці.
+     *
+     * @return Кількість міток.
+     */
+    public long size() {
+        return valueCount;
+    }
+
+    /**
+     * Повертає обсяг стиснених даних у байтах.
+     *
+     * @return Кількість байтів.
+     */
+    public long sizeInBytes() {
+        long sizeInBytes = 0;
+        for (Block block : blocks) {
+            sizeInBytes += block.bits.sizeInBytes();
+        }
+        return sizeInBytes;
+    }
+}
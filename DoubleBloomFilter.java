@@ -0,0 +1,111 @@
+/**
+ * Клас DoubleBloomFilter реалізує фільтр Блума для дійсних чисел.
+ *
+ * <p>Фільтр відповідає на питання "чи може значення бути в наборі даних" за кілька
+ * хеш-перевірок. Відповідь {@code false} означає, що значення точно відсутнє, тому
+ * дорогий пошук у структурі даних можна пропустити. Відповідь {@code true} може бути
+ * хибнопозитивною з імовірністю, заданою при створенні фільтра.</p>
+ *
+ * <p>Значення порівнюються за {@link Double#doubleToLongBits(double)}, як і в
+ * {@link Double#equals(Object)}, тому фільтр узгоджений з HashSet та PriorityQueue.</p>
+ */
+public class DoubleBloomFilter {
+    private static final double LN2 = Math.log(2);
+
+    private final long[] bits;
+    private final long bitCount;
+    private final int hashCount;
+    private final double falsePositiveRate;
+
+    /**
+     * Створює порожній фільтр, розрахований на задану кількість елементів.
+     *
+     * @param expectedElements Очікувана кількість елементів.
+     * @param falsePositiveRate Допустима ймовірність хибнопозитивної відповіді (0 < p < 1).
+     */
+    public DoubleBloomFilter(long expectedElements, double falsePositiveRate) {
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("Ймовірність хибнопозитивної відповіді має бути в межах (0, 1): " + falsePositiveRate);
+        }
+
+        long elements = Math.max(1, expectedElements);
+
+        // Оптимальний розмір: m = -n * ln(p) / (ln 2)^2, кількість хеш-функцій: k = m / n * ln 2
+        long optimalBits = (long) Math.ceil(-elements * Math.log(falsePositiveRate) / (LN2 * LN2));
+        this.bits = new long[(int) Math.max(1, (optimalBits + 63) >>> 6)];
+        this.bitCount = bits.length * 64L;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / elements * LN2));
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    /**
+     * Будує фільтр з масиву чисел.
+     *
+     * @param values Масив чисел.
+     * @param falsePositiveRate Допустима ймовірність хибнопозитивної відповіді.
+     * @return Заповнений фільтр.
+     */
+    public static DoubleBloomFilter fromValues(Double[] values, double falsePositiveRate) {
+        DoubleBloomFilter filter = new DoubleBloomFilter(values.length, falsePositiveRate);
+        for (double value : values) {
+            filter.add(value);
+        }
+        return filter;
+    }
+
+    /**
+     * Додає значення до фільтра.
+     *
+     * @param value Значення.
+     */
+    public void add(double value) {
+        long valueBits = Double.doubleToLongBits(value);
+        long firstHash = DoubleHashing.mix(valueBits);
+        long secondHash = DoubleHashing.mix(valueBits ^ 0x9E3779B97F4A7C15L) | 1;
+
+        for (int i = 0; i < hashCount; i++) {
+            long bitIndex = ((firstHash + i * secondHash) & Long.MAX_VALUE) % bitCount;
+            bits[(int) (bitIndex >>> 6)] |= 1L << bitIndex;
+        }
+    }
+
+    /**
+     * Додає всі значення з масиву до фільтра.
+     *
+     * @param values Значення.
+     */
+    public void addAll(double[] values) {
+        for (double value : values) {
+            add(value);
+        }
+    }
+
+    /**
+     * Перевіряє, чи може значення бути у фільтрі.
+     *
+     * @param value Значення.
+     * @return {@code false}, якщо значення точно відсутнє; {@code true}, якщо воно може бути присутнім.
+     */
+    public boolean mightContain(double value) {
+        long valueBits = Double.doubleToLongBits(value);
+        long firstHash = DoubleHashing.mix(valueBits);
+        long secondHash = DoubleHashing.mix(valueBits ^ 0x9E3779B97F4A7C15L) | 1;
+
+        for (int i = 0; i < hashCount; i++) {
+            long bitIndex = ((firstHash + i * secondHash) & Long.MAX_VALUE) % bitCount;
+            if ((bits[(int) (bitIndex >>> 6)] & (1L << bitIndex)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Повертає короткий опис параметрів фільтра.
+     *
+     * @return Розмір у байтах, кількість хеш-функцій та цільова ймовірність помилки.
+     */
+    public String describe() {
+        return "розмір " + (bits.length * 8L) + " байт, хеш-функцій: " + hashCount + ", ймовірність хибнопозитивної відповіді: " + falsePositiveRate;
+    }
+}
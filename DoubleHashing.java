@@ -0,0 +1,23 @@
+/**
+ * Клас DoubleHashing - спільне хешування чисел для ймовірнісних структур
+ * ({@link DoubleBloomFilter} і {@link HyperLogLogSketch}).
+ */
+final class DoubleHashing {
+    private DoubleHashing() {
+    }
+
+    /**
+     * Перемішує біти 64-розрядного значення (фіналізатор MurmurHash3).
+     *
+     * @param value Вхідне значення.
+     * @return Хеш значення.
+     */
+    static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        value *= 0xC4CEB9FE1A85EC53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
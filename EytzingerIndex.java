@@ -0,0 +1,121 @@
+import java.util.Arrays;
+
+/**
+ * Клас EytzingerIndex - індекс для швидкого пошуку в упорядкованих числах.
+ *
+ * <p>Числа зберігаються як примітивні ключі в порядку обходу дерева в ширину (розміщення
+ * Ейтцінгера): корінь у комірці 1, нащадки комірки k - у комірках 2k і 2k + 1.
+ * Перші рівні дерева лежать поруч і залишаються в кеші, а на нижніх рівнях наступні
+ * комірки сусідні, тож апаратна попередня вибірка спрацьовує краще, ніж для
+ * двійкового пошуку по масиву {@code Double[]}. Пошук не містить умовних переходів,
+ * залежних від даних: напрямок спуску обчислюється як 0 або 1.</p>
+ *
+ * <p>Ключ - біти числа, перетворені так, що порядок цілих {@code long} збігається з
+ * {@link Double#compare(double, double)}: -0.0 менше за 0.0, а NaN більше за всі числа
+ * і дорівнює собі. Звичайні {@code <} і {@code ==} для double цього порядку не дотримуються.</p>
+ *
+ * <p>Масив рангів зберігає для кожної комірки позицію значення у впорядкованому
+ * порядку, тому результат пошуку збігається з {@link Arrays#binarySearch(double[], double)}.</p>
+ *
+ * <p>Індекс вмикається властивістю {@code -Dsearch.index=eytzinger}.</p>
+ */
+public class EytzingerIndex {
+    /** Ознака використання індексу в пошуку по масиву. */
+    public static final boolean ENABLED = "eytzinger".equalsIgnoreCase(System.getProperty("search.index"));
+
+    private final long[] layout;
+    private final int[] ranks;
+    private final int size;
+
+    /**
+     * Будує індекс з упорядкованого масиву.
+     *
+     * @param sortedValues Упорядкований масив чисел.
+     */
+    public EytzingerIndex(double[] sortedValues) {
+        this.size = sortedValues.length;
+        this.layout = new long[size + 1];
+        this.ranks = new int[size + 1];
+        fillLayout(sortedValues, 0, 1);
+    }
+
+    /**
+     * Будує індекс з довільного масиву, попередньо впорядкувавши копію значень,
+     * і відстежує час побудови.
+     *
+     * @param values Масив чисел.
+     * @return Індекс.
+     */
+    public static EytzingerIndex fromValues(Double[] values) {
+        PerformanceTracker.OperationScope operation = PerformanceTracker.startOperation("EytzingerIndex", values.length);
+
+        double[] sortedValues = new double[values.length];
+        for (int i = 0; i < values.length; i++) {
+            sortedValues[i] = values[i];
+        }
+        Arrays.sort(sortedValues);
+        EytzingerIndex index = new EytzingerIndex(sortedValues);
+
+        operation.stop("побудова індексу Ейтцінгера для масиву дійсного числа");
+
+        return index;
+    }
+
+    /**
+     * Перетворює число на ключ, порядок якого збігається з {@link Double#compare(double, double)}.
+     */
+    private static long sortableKey(double value) {
+        long bits = Double.doubleToLongBits(value);
+        // Для від'ємних чисел інвертуємо всі біти, крім знакового: більший модуль - менший ключ
+        return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+    }
+
+    /**
+     * Заповнює комірки центрованим обходом дерева: значення надходять у порядку зростання.
+     *
+     * @return Наступний індекс у впорядкованому масиві.
+     */
+    private int fillLayout(double[] sortedValues, int sortedIndex, int slot) {
+        // Глибина дерева - log2(n), тому рекурсія неглибока навіть для великих масивів
+        if (slot <= size) {
+            sortedIndex = fillLayout(sortedValues, sortedIndex, 2 * slot);
+            layout[slot] = sortableKey(sortedValues[sortedIndex]);
+            ranks[slot] = sortedIndex;
+            sortedIndex++;
+            sortedIndex = fillLayout(sortedValues, sortedIndex, 2 * slot + 1);
+        }
+        return sortedIndex;
+    }
+
+    /**
+     * Шукає значення.
+     *
+     * @param value Значення для пошуку.
+     * @return Позиція значення у впорядкованому порядку або {@code -(точка вставки) - 1},
+     *         якщо значення немає, як у {@link Arrays#binarySearch(double[], double)}.
+     */
+    public int indexOf(double value) {
+        long key = sortableKey(value);
+        int slot = 1;
+        while (slot <= size) {
+            // Напрямок спуску як число 0 або 1 - JIT компілює це без умовного переходу
+            slot = 2 * slot + (layout[slot] < key ? 1 : 0);
+        }
+
+        // Відкидаємо праві кроки після останнього лівого: залишається перше значення, не менше за шукане
+        slot >>>= Integer.numberOfTrailingZeros(~slot) + 1;
+        if (slot == 0) {
+            return -size - 1;
+        }
+        return layout[slot] == key ? ranks[slot] : -ranks[slot] - 1;
+    }
+
+    /**
+     * Повертає кількість значень в індексі.
+     *
+     * @return Кількість значень.
+     */
+    public int size() {
+        return size;
+    }
+}
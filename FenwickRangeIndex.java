@@ -0,0 +1,203 @@
+import java.util.Arrays;
+
+/**
+ * Клас FenwickRangeIndex відповідає на запити кількості, суми та середнього у відрізку
+ * і залишається швидким після додавання нових значень.
+ *
+ * <p>Різні значення набору стискаються до впорядкованого масиву ключів з кількістю
+ * повторень кожного ключа, над яким побудовано дерево Фенвіка кількостей. Додавання вже
+ * відомого значення виконується за O(log n). Нові ключі потрапляють у впорядкований буфер,
+ * який зливається з деревом, коли перевищує ~sqrt(n) елементів; вставка в буфер зсуває
+ * до sqrt(n) елементів.</p>
+ *
+ * <p>Кількість у відрізку обчислюється за O(log n): два запити до дерева і два бінарні
+ * пошуки в буфері. Сума обчислюється підсумовуванням з компенсацією ({@link CompensatedSum})
+ * ключів відрізку та значень буфера у відрізку - O(log n + k) для k різних значень у відрізку.
+ * Дерево сум тут не підходить: значення до ±1e303 у його вузлах знищують усі менші доданки.</p>
+ *
+ * <p>Ключі і буфер упорядковані за {@link Double#compare(double, double)}, як після
+ * {@link Arrays#sort(double[])}: -0.0 перед 0.0, NaN наприкінці. Межі відрізку шукаються
+ * числовим порівнянням, яке на такому порядку дає суцільний відрізок: -0.0 і 0.0 стоять
+ * поруч і обидва потрапляють у відрізок з нулем, а NaN не потрапляє в жоден.</p>
+ */
+public class FenwickRangeIndex {
+    private static final int MIN_PENDING_CAPACITY = 64;
+
+    private double[] keys;
+    private long[] keyCounts;
+    private long[] countTree;
+
+    private double[] pendingValues = new double[MIN_PENDING_CAPACITY];
+    private int pendingCount;
+
+    /**
+     * Будує індекс з масиву чисел.
+     *
+     * @param values Масив чисел у довільному порядку.
+     */
+    public FenwickRangeIndex(double[] values) {
+        double[] sortedValues = values.clone();
+        Arrays.sort(sortedValues);
+        rebuild(sortedValues);
+    }
+
+    /**
+     * Додає значення до індексу.
+     *
+     * @param value Нове значення.
+     */
+    public void insert(double value) {
+        int keyIndex = Arrays.binarySearch(keys, value);
+        if (keyIndex >= 0) {
+            keyCounts[keyIndex]++;
+            for (int i = keyIndex + 1; i <= keys.length; i += i & -i) {
+                countTree[i]++;
+            }
+            return;
+        }
+
+        // Новий ключ: тримаємо в упорядкованому буфері до наступної перебудови
+        int position = insertionPoint(pendingValues, pendingCount, value);
+        if (pendingCount == pendingValues.length) {
+            pendingValues = Arrays.copyOf(pendingValues, pendingValues.length * 2);
+        }
+        System.arraycopy(pendingValues, position, pendingValues, position + 1, pendingCount - position);
+        pendingValues[position] = value;
+        pendingCount++;
+
+        if (pendingCount > Math.max(MIN_PENDING_CAPACITY, (int) Math.sqrt(keys.length))) {
+            rebuild(expandWithPending());
+        }
+    }
+
+    /**
+     * Обчислює кількість, суму і середнє значень у відрізку [from, to].
+     *
+     * @param from Нижня межа відрізку (включно).
+     * @param to Верхня межа відрізку (включно).
+     * @return Підсумок по відрізку.
+     */
+    public RangeQueryIndex.RangeSummary query(double from, double to) {
+        if (!(from <= to)) {
+            return new RangeQueryIndex.RangeSummary(0, 0);
+        }
+
+        int startKey = RangeQueryIndex.lowerBound(keys, keys.length, from);
+        int endKey = RangeQueryIndex.upperBound(keys, keys.length, to);
+        int pendingStart = RangeQueryIndex.lowerBound(pendingValues, pendingCount, from);
+        int pendingEnd = RangeQueryIndex.upperBound(pendingValues, pendingCount, to);
+        long count = prefixCount(endKey) - prefixCount(startKey) + (pendingEnd - pendingStart);
+
+        CompensatedSum sum = new CompensatedSum();
+        for (int i = startKey; i < endKey; i++) {
+            double product = keys[i] * keyCounts[i];
+            if (Double.isInfinite(product) && !Double.isInfinite(keys[i])) {
+                // Добуток переповнюється, хоча сума відрізку може бути скінченною - додаємо ключ поштучно
+                for (long repeat = 0; repeat < keyCounts[i]; repeat++) {
+                    sum.add(keys[i]);
+                }
+            } else {
+                sum.add(product);
+                if (Double.isFinite(product)) {
+                    // Похибка округлення добутку, обчислена точно
+                    sum.add(Math.fma(keys[i], keyCounts[i], -product));
+                }
+            }
+        }
+        for (int i = pendingStart; i < pendingEnd; i++) {
+            sum.add(pendingValues[i]);
+        }
+
+        return new RangeQueryIndex.RangeSummary(count, sum.getSum());
+    }
+
+    /**
+     * Повертає загальну кількість значень в індексі.
+     *
+     * @return Кількість значень.
+     */
+    public long size() {
+        return prefixCount(keys.length) + pendingCount;
+    }
+
+    private long prefixCount(int keyCount) {
+        long count = 0;
+        for (int i = keyCount; i > 0; i -= i & -i) {
+            count += countTree[i];
+        }
+        return count;
+    }
+
+    /**
+     * Повертає позицію після всіх елементів, не більших за значення
+     * в порядку {@link Double#compare(double, double)}.
+     */
+    private static int insertionPoint(double[] sortedValues, int length, double value) {
+        int low = 0;
+        int high = length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (Double.compare(sortedValues[middle], value) <= 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Повертає всі значення (ключі з повтореннями разом з буфером) у впорядкованому вигляді.
+     */
+    private double[] expandWithPending() {
+        long total = size();
+        double[] sortedValues = new double[(int) total];
+        int keyIndex = 0;
+        int pendingIndex = 0;
+        int index = 0;
+
+        while (keyIndex < keys.length || pendingIndex < pendingCount) {
+            if (pendingIndex == pendingCount || (keyIndex < keys.length && Double.compare(keys[keyIndex], pendingValues[pendingIndex]) <= 0)) {
+                for (long repeat = 0; repeat < keyCounts[keyIndex]; repeat++) {
+                    sortedValues[index++] = keys[keyIndex];
+                }
+                keyIndex++;
+            } else {
+                sortedValues[index++] = pendingValues[pendingIndex++];
+            }
+        }
+        return sortedValues;
+    }
+
+    /**
+     * Перебудовує ключі та дерева Фенвіка з впорядкованих значень.
+     */
+    private void rebuild(double[] sortedValues) {
+        double[] distinctKeys = new double[sortedValues.length];
+        long[] distinctCounts = new long[sortedValues.length];
+        int keyCount = 0;
+        for (double value : sortedValues) {
+            if (keyCount > 0 && Double.compare(distinctKeys[keyCount - 1], value) == 0) {
+                distinctCounts[keyCount - 1]++;
+            } else {
+                distinctKeys[keyCount] = value;
+                distinctCounts[keyCount++] = 1;
+            }
+        }
+
+        keys = Arrays.copyOf(distinctKeys, keyCount);
+        keyCounts = Arrays.copyOf(distinctCounts, keyCount);
+        countTree = new long[keyCount + 1];
+
+        // Побудова дерева Фенвіка за O(n): кожен вузол передає свій підсумок батьківському
+        for (int i = 1; i <= keyCount; i++) {
+            countTree[i] += keyCounts[i - 1];
+            int parent = i + (i & -i);
+            if (parent <= keyCount) {
+                countTree[parent] += countTree[i];
+            }
+        }
+
+        pendingCount = 0;
+    }
+}
@@ -0,0 +1,256 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.DoubleConsumer;
+
+/**
+ * Клас GorillaDoubleColumn зберігає послідовність чисел стиснено за схемою XOR
+ * (Gorilla, Pelkonen та ін.).
+ *
+ * <p>Кожне значення кодується як XOR з попереднім: однакове значення займає один біт,
+ * а для різних зберігаються лише значущі біти між провідними та кінцевими нулями.
+ * Значення розбиваються на блоки фіксованого розміру з власними мінімумом і максимумом,
+ * тож пошук декодує лише ті блоки, в які значення може потрапити, а обхід не
+ * розпаковує всю колонку одночасно.</p>
+ */
+public class GorillaDoubleColumn implements DoubleConsumer {
+    public static final int DEFAULT_BLOCK_SIZE = 1024;
+
+    private final int blockSize;
+    private final List<Block> blocks = new ArrayList<>();
+    private Block currentBlock;
+    private long valueCount;
+
+    /**
+     * Закодований блок значень.
+     */
+    private static class Block {
+        final BitStream bits = new BitStream();
+        int valueCount;
+        double minValue;
+        double maxValue;
+
+        // Стан кодувальника: попереднє значення і вікно значущих бітів
+        long previousBits;
+        int previousLeadingZeros = Integer.MAX_VALUE;
+        int previousTrailingZeros;
+    }
+
+    /**
+     * Створює порожню колонку з блоками типового розміру.
+     */
+    public GorillaDoubleColumn() {
+        this(DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * Створює порожню колонку.
+     *
+     * @param blockSize Кількість значень у блоці.
+     */
+    public GorillaDoubleColumn(int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Розмір блоку має бути додатним: " + blockSize);
+        }
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Додає значення в кінець колонки.
+     *
+     * @param value Значення.
+     */
+    @Override
+    public void accept(double value) {
+        if (currentBlock == null || currentBlock.valueCount == blockSize) {
+            if (currentBlock != null) {
+                currentBlock.bits.trim();
+            }
+            currentBlock = new Block();
+            blocks.add(currentBlock);
+        }
+
+        Block block = currentBlock;
+        long valueBits = Double.doubleToRawLongBits(value);
+
+        if (block.valueCount == 0) {
+            block.bits.writeBits(valueBits, 64);
+            block.minValue = value;
+            block.maxValue = value;
+        } else {
+            encodeXor(block, valueBits ^ block.previousBits);
+            if (value < block.minValue || Double.isNaN(block.minValue)) {
+                block.minValue = value;
+            }
+            if (value > block.maxValue || Double.isNaN(block.maxValue)) {
+                block.maxValue = value;
+            }
+        }
+
+        block.previousBits = valueBits;
+        block.valueCount++;
+        valueCount++;
+    }
+
+    private static void encodeXor(Block block, long xor) {
+        BitStream bits = block.bits;
+        if (xor == 0) {
+            bits.writeBit(false);
+            return;
+        }
+        bits.writeBit(true);
+
+        // Провідних нулів не більше 31, щоб їхня кількість вміщалася в 5 бітів
+        int leadingZeros = Math.min(Long.numberOfLeadingZeros(xor), 31);
+        int trailingZeros = Long.numberOfTrailingZeros(xor);
+
+        if (leadingZeros >= block.previousLeadingZeros && trailingZeros >= block.previousTrailingZeros) {
+            // Значущі біти вміщаються в попереднє вікно
+            bits.writeBit(false);
+            int significantBits = 64 - block.previousLeadingZeros - block.previousTrailingZeros;
+            bits.writeBits(xor >>> block.previousTrailingZeros, significantBits);
+        } else {
+            bits.writeBit(true);
+            int significantBits = 64 - leadingZeros - trailingZeros;
+            bits.writeBits(leadingZeros, 5);
+            // 64 значущі біти не вміщаються в 6 бітів і записуються як 0
+            bits.writeBits(significantBits == 64 ? 0 : significantBits, 6);
+            bits.writeBits(xor >>> trailingZeros, significantBits);
+            block.previousLeadingZeros = leadingZeros;
+            block.previousTrailingZeros = trailingZeros;
+        }
+    }
+
+    /**
+     * Розпаковує блок у буфер.
+     *
+     * @param blockIndex Номер блоку.
+     * @param buffer Буфер розміром не менше за розмір блоку.
+     * @return Кількість розпакованих значень.
+     */
+    public int decodeBlock(int blockIndex, double[] buffer) {
+        Block block = blocks.get(blockIndex);
+        BitStream.Reader reader = block.bits.reader();
+
+        long valueBits = reader.readBits(64);
+        buffer[0] = Double.longBitsToDouble(valueBits);
+
+        int leadingZeros = 0;
+        int significantBits = 0;
+        for (int i = 1; i < block.valueCount; i++) {
+            if (reader.readBit()) {
+                if (reader.readBit()) {
+                    leadingZeros = (int) reader.readBits(5);
+                    significantBits = (int) reader.readBits(6);
+                    if (significantBits == 0) {
+                        significantBits = 64;
+                    }
+                }
+                int trailingZeros = 64 - leadingZeros - significantBits;
+                valueBits ^= reader.readBits(significantBits) << trailingZeros;
+            }
+            buffer[i] = Double.longBitsToDouble(valueBits);
+        }
+
+        return block.valueCount;
+    }
+
+    /**
+     * Передає всі значення споживачу, розпаковуючи по одному блоку.
+     *
+     * @param consumer Споживач значень.
+     */
+    public void forEach(DoubleConsumer consumer) {
+        double[] buffer = new double[blockSize];
+        for (int blockIndex = 0; blockIndex < blocks.size(); blockIndex++) {
+            int count = decodeBlock(blockIndex, buffer);
+            for (int i = 0; i < count; i++) {
+                consumer.accept(buffer[i]);
+            }
+        }
+    }
+
+    /**
+     * Шукає перше входження значення, розпаковуючи лише блоки, чий діапазон його містить.
+     *
+     * @param value Значення для пошуку.
+     * @return Позиція значення або -1, якщо його немає.
+     */
+    public long indexOf(double value) {
+        double[] buffer = new double[blockSize];
+        long blockStart = 0;
+        for (int blockIndex = 0; blockIndex < blocks.size(); blockIndex++) {
+            Block block = blocks.get(blockIndex);
+            if (value >= block.minValue && value <= block.maxValue) {
+                int count = decodeBlock(blockIndex, buffer);
+                for (int i = 0; i < count; i++) {
+                    if (buffer[i] == value) {
+                        return blockStart + i;
+                    }
+                }
+            }
+            blockStart += block.valueCount;
+        }
+        return -1;
+    }
+
+    /**
+     * Повертає найменше значення за метаданими блоків, без розпакування.
+     *
+     * @return Найменше значення або NaN для порожньої колонки.
+     */
+    public double minValue() {
+        double minValue = Double.NaN;
+        for (Block block : blocks) {
+            if (Double.isNaN(minValue) || block.minValue < minValue) {
+                minValue = block.minValue;
+            }
+        }
+        return minValue;
+    }
+
+    /**
+     * Повертає найбільше значення за метаданими блоків, без розпакування.
+     *
+     * @return Найбільше значення або NaN для порожньої колонки.
+     */
+    public double maxValue() {
+        double maxValue = Double.NaN;
+        for (Block block : blocks) {
+            if (Double.isNaN(maxValue) || block.maxValue > maxValue) {
+                maxValue = block.maxValue;
+            }
+        }
+        return maxValue;
+    }
+
+    /**
+     * Повертає кількість значень у колонці.
+     *
+     * @return Кількість значень.
+     */
+    public long size() {
+        return valueCount;
+    }
+
+    /**
+     * Повертає кількість блоків.
+     *
+     * @return Кількість блоків.
+     */
+    public int blockCount() {
+        return blocks.size();
+    }
+
+    /**
+     * Повертає обсяг стиснених даних у байтах.
+     *
+     * @return Кількість байтів.
+     */
+    public long sizeInBytes() {
+        long sizeInBytes = 0;
+        for (Block block : blocks) {
+            sizeInBytes += block.bits.sizeInBytes();
+        }
+        return sizeInBytes;
+    }
+}
@@ -0,0 +1,343 @@
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Клас MemoryFootprintAnalyzer оцінює, скільки пам'яті займають структури даних.
+ *
+ * <p>Розмір обчислюється за моделлю розміщення об'єктів HotSpot: заголовок об'єкта,
+ * розмір посилання і вирівнювання визначаються параметрами поточної JVM
+ * ({@code UseCompressedOops}, {@code UseCompressedClassPointers},
+ * {@code ObjectAlignmentInBytes}) через {@link com.sun.management.HotSpotDiagnosticMXBean}.
+ * Обхід графа об'єктів не потрібен: розмір вузлів, таблиць і обгорток Double
+ * визначається кількістю елементів. Ємність внутрішніх масивів HashMap і PriorityQueue
+ * читається рефлексією, якщо JVM запущено з {@code --add-opens java.base/java.util=ALL-UNNAMED},
+ * інакше моделюється за правилами їхнього розширення з типової ємності.</p>
+ *
+ * <p>Для кожної структури звіт містить байти самої структури (вузли, таблиці, масиви
+ * посилань), байти разом з елементами і байти на елемент. Клони {@code Double[]}
+ * спільно використовують обгортки з вихідним масивом, тому для них ураховується
+ * лише масив посилань ({@link #addBoxedArrayClone(String, Double[])}). Поруч виводяться
+ * примітивні альтернативи: {@code double[]}, сховище поза купою ({@link OffHeapDoubleStore})
+ * і стиснена колонка ({@link GorillaDoubleColumn}). Для пам'яті поза купою окремо
+ * виводяться зайняті значеннями байти і зарезервована ємність сегментів.</p>
+ */
+public class MemoryFootprintAnalyzer {
+    private static final boolean COMPRESSED_OOPS = booleanVmOption("UseCompressedOops", true);
+    private static final boolean COMPRESSED_CLASS_POINTERS = booleanVmOption("UseCompressedClassPointers", true);
+    private static final int OBJECT_ALIGNMENT = integerVmOption("ObjectAlignmentInBytes", 8);
+
+    private static final int HEADER_BYTES = 8 + (COMPRESSED_CLASS_POINTERS ? 4 : 8);
+    private static final int REFERENCE_BYTES = COMPRESSED_OOPS ? 4 : 8;
+
+    private final List<Footprint> footprints = new ArrayList<>();
+
+    /**
+     * Оцінка пам'яті однієї структури.
+     */
+    public static class Footprint {
+        private final String name;
+        private final long elementCount;
+        private final long structureBytes;
+        private final long totalBytes;
+        private final long offHeapBytes;
+        private final long offHeapReservedBytes;
+
+        Footprint(String name, long elementCount, long structureBytes, long totalBytes, long offHeapBytes) {
+            this(name, elementCount, structureBytes, totalBytes, offHeapBytes, offHeapBytes);
+        }
+
+        Footprint(String name, long elementCount, long structureBytes, long totalBytes, long offHeapBytes, long offHeapReservedBytes) {
+            this.name = name;
+            this.elementCount = elementCount;
+            this.structureBytes = structureBytes;
+            this.totalBytes = totalBytes;
+            this.offHeapBytes = offHeapBytes;
+            this.offHeapReservedBytes = offHeapReservedBytes;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getElementCount() {
+            return elementCount;
+        }
+
+        public long getStructureBytes() {
+            return structureBytes;
+        }
+
+        public long getTotalBytes() {
+            return totalBytes;
+        }
+
+        public long getOffHeapBytes() {
+            return offHeapBytes;
+        }
+
+        public long getOffHeapReservedBytes() {
+            return offHeapReservedBytes;
+        }
+
+        /**
+         * Повертає байти в купі й поза нею на один елемент.
+         *
+         * @return Байти на елемент або {@code NaN} для порожньої структури.
+         */
+        public double getBytesPerElement() {
+            return elementCount == 0 ? Double.NaN : (double) (totalBytes + offHeapBytes) / elementCount;
+        }
+    }
+
+    /**
+     * Додає оцінку колекції чисел Double: LinkedList, PriorityQueue або HashSet.
+     *
+     * @param name Назва у звіті.
+     * @param collection Колекція.
+     */
+    public void addCollection(String name, Collection<Double> collection) {
+        long size = collection.size();
+        long structureBytes;
+
+        if (collection instanceof LinkedList) {
+            // LinkedList: size, modCount, first, last; вузол: item, next, prev
+            structureBytes = instanceBytes(8 + 2 * REFERENCE_BYTES) + size * instanceBytes(3 * REFERENCE_BYTES);
+        } else if (collection instanceof PriorityQueue) {
+            // PriorityQueue: queue, comparator, size, modCount; масив посилань розширюється із запасом
+            int capacity = arrayLength(collection, PriorityQueue.class, "queue");
+            if (capacity < 0) {
+                capacity = priorityQueueCapacity(size);
+            }
+            structureBytes = instanceBytes(2 * REFERENCE_BYTES + 8) + arrayBytes(REFERENCE_BYTES, capacity);
+        } else if (collection instanceof HashSet) {
+            // HashSet - обгортка над HashMap, де кожен елемент займає вузол таблиці
+            int capacity = -1;
+            Object map = fieldValue(collection, HashSet.class, "map");
+            if (map != null) {
+                capacity = arrayLength(map, HashMap.class, "table");
+            }
+            if (capacity < 0) {
+                capacity = hashTableCapacity(size, 16);
+            }
+            structureBytes = instanceBytes(REFERENCE_BYTES) + hashMapBytes(size, capacity, false);
+        } else {
+            // Невідома колекція: враховуємо лише масив посилань
+            structureBytes = arrayBytes(REFERENCE_BYTES, size);
+        }
+
+        footprints.add(new Footprint(name, size, structureBytes, structureBytes + size * boxedDoubleBytes(), 0));
+    }
+
+    /**
+     * Додає оцінку масиву обгорток Double.
+     *
+     * @param name Назва у звіті.
+     * @param values Масив.
+     */
+    public void addBoxedArray(String name, Double[] values) {
+        long structureBytes = arrayBytes(REFERENCE_BYTES, values.length);
+        footprints.add(new Footprint(name, values.length, structureBytes, structureBytes + (long) values.length * boxedDoubleBytes(), 0));
+    }
+
+    /**
+     * Додає оцінку клону масиву обгорток Double. Обгортки належать вихідному масиву
+     * і вже враховані в ньому, тому клон утримує лише власний масив посилань.
+     *
+     * @param name Назва у звіті.
+     * @param values Клон масиву.
+     */
+    public void addBoxedArrayClone(String name, Double[] values) {
+        long structureBytes = arrayBytes(REFERENCE_BYTES, values.length);
+        footprints.add(new Footprint(name, values.length, structureBytes, structureBytes, 0));
+    }
+
+    /**
+     * Додає оцінку HashMap або LinkedHashMap з ключами Parrot і рядками-власниками.
+     * Рядки, на які посилаються кілька записів, враховуються один раз.
+     *
+     * @param name Назва у звіті.
+     * @param map Відображення.
+     */
+    public void addParrotMap(String name, Map<BasicDataOperationUsingMap.Parrot, String> map) {
+        boolean linked = map instanceof LinkedHashMap;
+        int capacity = arrayLength(map, HashMap.class, "table");
+        if (capacity < 0) {
+            capacity = hashTableCapacity(map.size(), 16);
+        }
+        long structureBytes = hashMapBytes(map.size(), capacity, linked);
+
+        // Parrot: nickname, species, hash
+        long elementBytes = 0;
+        Set<String> countedStrings = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Map.Entry<BasicDataOperationUsingMap.Parrot, String> entry : map.entrySet()) {
+            elementBytes += instanceBytes(2 * REFERENCE_BYTES + 4);
+            elementBytes += stringBytes(entry.getKey().getNickname(), countedStrings);
+            elementBytes += stringBytes(entry.getKey().getSpecies(), countedStrings);
+            elementBytes += stringBytes(entry.getValue(), countedStrings);
+        }
+
+        footprints.add(new Footprint(name, map.size(), structureBytes, structureBytes + elementBytes, 0));
+    }
+
+    /**
+     * Додає примітивні альтернативи для набору чисел: масив {@code double[]},
+     * сховище поза купою і стиснену колонку.
+     *
+     * @param label Підпис набору у звіті.
+     * @param values Числа.
+     */
+    public void addPrimitiveAlternatives(String label, Double[] values) {
+        long primitiveBytes = arrayBytes(Double.BYTES, values.length);
+        footprints.add(new Footprint("double[] (" + label + ")", values.length, primitiveBytes, primitiveBytes, 0));
+
+        // Розміри колонки і сховища беремо з реальних структур, а не з моделі
+        GorillaDoubleColumn column = new GorillaDoubleColumn();
+        OffHeapDoubleStore store = OffHeapDoubleStore.allocateDirect();
+        for (Double value : values) {
+            column.accept(value);
+            store.accept(value);
+        }
+        footprints.add(new Footprint("GorillaDoubleColumn (" + label + ")", values.length, column.sizeInBytes(), column.sizeInBytes(), 0));
+        // Сегменти виділяються цілком, тому значення займають лише частину зарезервованої ємності
+        footprints.add(new Footprint("OffHeapDoubleStore (" + label + ")", values.length, 0, 0,
+                store.size() * Double.BYTES, store.sizeInBytes()));
+
+        long distinctCount = Arrays.stream(values).distinct().count();
+        long distinctBytes = arrayBytes(Double.BYTES, distinctCount);
+        footprints.add(new Footprint("впорядкований double[] різних (" + label + ")", distinctCount, distinctBytes, distinctBytes, 0));
+    }
+
+    /**
+     * Повертає зібрані оцінки.
+     *
+     * @return Список оцінок у порядку додавання.
+     */
+    public List<Footprint> getFootprints() {
+        return footprints;
+    }
+
+    /**
+     * Виводить таблицю оцінок через {@link ReportSink}.
+     */
+    public void print() {
+        ReportSink.println("\n========= Пам'ять структур даних (заголовок " + HEADER_BYTES + " Б, посилання "
+                + REFERENCE_BYTES + " Б, вирівнювання " + OBJECT_ALIGNMENT + " Б) =========");
+        ReportSink.println(String.format("%-48s %10s %14s %14s %14s %14s %10s",
+                "Структура", "Елементів", "Структура, Б", "З елементами", "Поза купою", "Зарезерв., Б", "Б/елемент"));
+        for (Footprint footprint : footprints) {
+            ReportSink.println(String.format("%-48s %10d %14d %14d %14d %14d %10.1f",
+                    footprint.getName(), footprint.getElementCount(), footprint.getStructureBytes(),
+                    footprint.getTotalBytes(), footprint.getOffHeapBytes(), footprint.getOffHeapReservedBytes(),
+                    footprint.getBytesPerElement()));
+        }
+    }
+
+    private static long hashMapBytes(long size, int capacity, boolean linked) {
+        // HashMap: table, entrySet, keySet, values, size, modCount, threshold, loadFactor;
+        // вузол: hash, key, value, next; LinkedHashMap додає head, tail, accessOrder і before, after у вузлі
+        long mapBytes = linked ? instanceBytes(6 * REFERENCE_BYTES + 17) : instanceBytes(4 * REFERENCE_BYTES + 16);
+        long nodeBytes = linked ? instanceBytes(4 + 5 * REFERENCE_BYTES) : instanceBytes(4 + 3 * REFERENCE_BYTES);
+        return mapBytes + arrayBytes(REFERENCE_BYTES, capacity) + size * nodeBytes;
+    }
+
+    private static long stringBytes(String value, Set<String> countedStrings) {
+        if (value == null || !countedStrings.add(value)) {
+            return 0;
+        }
+        // String: value, hash, coder, hashIsZero; символи поза Latin-1 зберігаються двома байтами
+        boolean latin1 = value.chars().allMatch(character -> character <= 0xFF);
+        return instanceBytes(REFERENCE_BYTES + 6) + arrayBytes(latin1 ? 1 : 2, value.length());
+    }
+
+    private static long boxedDoubleBytes() {
+        return instanceBytes(Double.BYTES);
+    }
+
+    static long instanceBytes(long fieldBytes) {
+        return align(HEADER_BYTES + fieldBytes);
+    }
+
+    static long arrayBytes(int elementBytes, long length) {
+        long baseBytes = HEADER_BYTES + 4;
+        if (elementBytes == 8) {
+            baseBytes = (baseBytes + 7) & ~7L;
+        }
+        return align(baseBytes + elementBytes * length);
+    }
+
+    private static long align(long bytes) {
+        return (bytes + OBJECT_ALIGNMENT - 1) / OBJECT_ALIGNMENT * OBJECT_ALIGNMENT;
+    }
+
+    /**
+     * Моделює ємність таблиці HashMap, заповненої додаванням елементів по одному.
+     */
+    static int hashTableCapacity(long size, int initialCapacity) {
+        int capacity = initialCapacity;
+        while (size > capacity * 0.75 && capacity < (1 << 30)) {
+            capacity <<= 1;
+        }
+        return size == 0 ? 0 : capacity;
+    }
+
+    /**
+     * Моделює ємність масиву PriorityQueue, заповненої додаванням елементів по одному.
+     */
+    static int priorityQueueCapacity(long size) {
+        int capacity = 11;
+        while (capacity < size) {
+            capacity += capacity < 64 ? capacity + 2 : capacity >> 1;
+        }
+        return capacity;
+    }
+
+    private static Object fieldValue(Object target, Class<?> owner, String fieldName) {
+        try {
+            Field field = owner.getDeclaredField(fieldName);
+            field.setAccessible(true);
+            return field.get(target);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // Без --add-opens модуль java.base не відкриває поля java.util
+            return null;
+        }
+    }
+
+    private static int arrayLength(Object target, Class<?> owner, String fieldName) {
+        Object array = fieldValue(target, owner, fieldName);
+        return array instanceof Object[] ? ((Object[]) array).length : -1;
+    }
+
+    private static boolean booleanVmOption(String name, boolean defaultValue) {
+        String value = vmOption(name);
+        return value == null ? defaultValue : Boolean.parseBoolean(value);
+    }
+
+    private static int integerVmOption(String name, int defaultValue) {
+        String value = vmOption(name);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+
+    private static String vmOption(String name) {
+        try {
+            com.sun.management.HotSpotDiagnosticMXBean diagnosticBean =
+                    ManagementFactory.getPlatformMXBean(com.sun.management.HotSpotDiagnosticMXBean.class);
+            return diagnosticBean == null ? null : diagnosticBean.getVMOption(name).getValue();
+        } catch (IllegalArgumentException e) {
+            // Параметр відсутній у цій JVM
+            return null;
+        }
+    }
+}
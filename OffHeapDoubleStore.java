@@ -0,0 +1,377 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.DoubleConsumer;
+
+/**
+ * Клас OffHeapDoubleStore зберігає числа поза купою Java.
+ *
+ * <p>Дані розміщуються в сегментах прямої пам'яті ({@link ByteBuffer#allocateDirect(int)})
+ * або у файлі, відображеному в пам'ять ({@link FileChannel#map}). Збирач сміття не
+ * сканує і не переміщує ці дані, тому навіть сотні мільйонів значень не потребують
+ * великого {@code -Xmx}, а відображений файл спільно використовується процесами через
+ * кеш сторінок ОС. Сортування, пошук і визначення мінімуму й максимуму працюють
+ * безпосередньо з сегментами.</p>
+ *
+ * <p>Окремий буфер адресується індексом {@code int}, тому сховище поділене на сегменти
+ * по {@value #SEGMENT_VALUES} значень; позиції в сховищі мають тип {@code long}.
+ * Обсяг прямої пам'яті обмежує параметр JVM {@code -XX:MaxDirectMemorySize}
+ * (типово дорівнює {@code -Xmx}); відображені файли цього обмеження не мають.</p>
+ */
+public class OffHeapDoubleStore implements DoubleConsumer {
+    /** Кількість значень в одному сегменті (1 ГБ даних). */
+    public static final int SEGMENT_VALUES = 1 << 27;
+    private static final int SEGMENT_SHIFT = 27;
+    private static final int SEGMENT_MASK = SEGMENT_VALUES - 1;
+    private static final int INITIAL_DIRECT_SEGMENT_VALUES = 1 << 16;
+    private static final int INSERTION_SORT_THRESHOLD = 32;
+
+    private final List<DoubleBuffer> segments = new ArrayList<>();
+    private final boolean mapped;
+    private long size;
+
+    private OffHeapDoubleStore(boolean mapped) {
+        this.mapped = mapped;
+    }
+
+    /**
+     * Створює порожнє сховище в прямій пам'яті, яке розширюється під час додавання.
+     *
+     * @return Сховище.
+     */
+    public static OffHeapDoubleStore allocateDirect() {
+        return new OffHeapDoubleStore(false);
+    }
+
+    /**
+     * Відображає в пам'ять двійковий файл чисел (8 байтів little-endian на значення).
+     * Зміни, зокрема сортування, записуються безпосередньо у файл.
+     *
+     * @param filePath Шлях до двійкового файлу.
+     * @return Сховище, що містить усі значення файлу.
+     * @throws IOException Якщо файл не вдалося відобразити.
+     */
+    public static OffHeapDoubleStore mapFile(Path filePath) throws IOException {
+        OffHeapDoubleStore store = new OffHeapDoubleStore(true);
+
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long valueCount = channel.size() / Double.BYTES;
+            for (long first = 0; first < valueCount; first += SEGMENT_VALUES) {
+                int segmentValues = (int) Math.min(SEGMENT_VALUES, valueCount - first);
+                // Відображення залишається дійсним і після закриття каналу
+                ByteBuffer segment = channel.map(FileChannel.MapMode.READ_WRITE, first * Double.BYTES, (long) segmentValues * Double.BYTES);
+                store.segments.add(segment.order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer());
+            }
+            store.size = valueCount;
+        }
+
+        return store;
+    }
+
+    /**
+     * Перетворює текстовий файл чисел на двійковий файл, придатний для {@link #mapFile(Path)}.
+     *
+     * <p>Значення записуються в тимчасовий файл у тому ж каталозі, який після успішного
+     * запису атомарно замінює двійковий файл. Перервана конвертація не залишає обрізаного
+     * файлу, новішого за текстовий, який інакше відображався б як повний.</p>
+     *
+     * @param textFilePath Шлях до текстового файлу з даними.
+     * @param filePath Шлях до двійкового файлу.
+     * @return Кількість записаних значень.
+     * @throws IOException Якщо файл не вдалося записати.
+     */
+    public static long convertTextFile(String textFilePath, Path filePath) throws IOException {
+        long[] valueCount = { 0 };
+        IOException[] failure = { null };
+
+        Path targetPath = filePath.toAbsolutePath();
+        Path temporaryPath = Files.createTempFile(targetPath.getParent(), targetPath.getFileName().toString(), ".tmp");
+        boolean committed = false;
+        try {
+            try {
+                // Тимчасовий файл створюється доступним лише власнику; результат має бути звичайним файлом
+                Files.setPosixFilePermissions(temporaryPath, PosixFilePermissions.fromString("rw-r--r--"));
+            } catch (UnsupportedOperationException e) {
+                // Файлова система без прав POSIX - залишаємо типові права
+            }
+
+            try (FileChannel channel = FileChannel.open(temporaryPath, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+                DataFileHandler.streamValuesFromFile(textFilePath, value -> {
+                    if (failure[0] != null) {
+                        return;
+                    }
+                    try {
+                        if (!buffer.hasRemaining()) {
+                            writeFully(channel, buffer);
+                        }
+                        buffer.putDouble(value);
+                        valueCount[0]++;
+                    } catch (IOException e) {
+                        failure[0] = e;
+                    }
+                });
+                if (failure[0] != null) {
+                    throw failure[0];
+                }
+                writeFully(channel, buffer);
+                channel.force(false);
+            }
+
+            try {
+                Files.move(temporaryPath, targetPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporaryPath, targetPath, StandardCopyOption.REPLACE_EXISTING);
+            }
+            committed = true;
+        } finally {
+            if (!committed) {
+                Files.deleteIfExists(temporaryPath);
+            }
+        }
+
+        return valueCount[0];
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Додає значення в кінець сховища прямої пам'яті.
+     *
+     * @param value Значення.
+     */
+    @Override
+    public void accept(double value) {
+        if (mapped) {
+            throw new UnsupportedOperationException("Відображене сховище має фіксований розмір");
+        }
+
+        int segmentIndex = (int) (size >>> SEGMENT_SHIFT);
+        if (segmentIndex == segments.size()) {
+            segments.add(ByteBuffer.allocateDirect(INITIAL_DIRECT_SEGMENT_VALUES * Double.BYTES)
+                    .order(ByteOrder.nativeOrder()).asDoubleBuffer());
+        }
+
+        DoubleBuffer segment = segments.get(segmentIndex);
+        int offset = (int) (size & SEGMENT_MASK);
+        if (offset == segment.capacity()) {
+            // Останній сегмент росте подвоєнням до повного розміру
+            DoubleBuffer grown = ByteBuffer.allocateDirect(Math.min(SEGMENT_VALUES, segment.capacity() * 2) * Double.BYTES)
+                    .order(ByteOrder.nativeOrder()).asDoubleBuffer();
+            grown.put(segment.clear());
+            segments.set(segmentIndex, grown);
+            segment = grown;
+        }
+
+        segment.put(offset, value);
+        size++;
+    }
+
+    /**
+     * Повертає значення за позицією.
+     *
+     * @param index Позиція.
+     * @return Значення.
+     */
+    public double get(long index) {
+        return segments.get((int) (index >>> SEGMENT_SHIFT)).get((int) (index & SEGMENT_MASK));
+    }
+
+    /**
+     * Записує значення за позицією.
+     *
+     * @param index Позиція.
+     * @param value Значення.
+     */
+    public void set(long index, double value) {
+        segments.get((int) (index >>> SEGMENT_SHIFT)).put((int) (index & SEGMENT_MASK), value);
+    }
+
+    /**
+     * Повертає кількість значень.
+     *
+     * @return Кількість значень.
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Повертає ознаку сховища, відображеного з файлу.
+     *
+     * @return {@code true}, якщо дані відображено з файлу.
+     */
+    public boolean isMapped() {
+        return mapped;
+    }
+
+    /**
+     * Повертає обсяг пам'яті, зарезервованої сегментами поза купою, разом з ще
+     * не заповненою частиною останнього сегмента.
+     *
+     * @return Кількість байтів.
+     */
+    public long sizeInBytes() {
+        long sizeInBytes = 0;
+        for (DoubleBuffer segment : segments) {
+            sizeInBytes += (long) segment.capacity() * Double.BYTES;
+        }
+        return sizeInBytes;
+    }
+
+    /**
+     * Передає всі значення споживачу в порядку зберігання.
+     *
+     * @param consumer Споживач значень.
+     */
+    public void forEach(DoubleConsumer consumer) {
+        long remaining = size;
+        for (DoubleBuffer segment : segments) {
+            int segmentValues = (int) Math.min(remaining, segment.capacity());
+            for (int i = 0; i < segmentValues; i++) {
+                consumer.accept(segment.get(i));
+            }
+            remaining -= segmentValues;
+        }
+    }
+
+    /**
+     * Визначає найменше і найбільше значення.
+     *
+     * @return Масив {мінімум, максимум}; для порожнього сховища - {NaN, NaN}.
+     */
+    public double[] minMax() {
+        if (size == 0) {
+            return new double[] { Double.NaN, Double.NaN };
+        }
+
+        double minValue = get(0);
+        double maxValue = minValue;
+        long remaining = size;
+        for (DoubleBuffer segment : segments) {
+            int segmentValues = (int) Math.min(remaining, segment.capacity());
+            for (int i = 0; i < segmentValues; i++) {
+                double value = segment.get(i);
+                if (value < minValue) {
+                    minValue = value;
+                }
+                if (value > maxValue) {
+                    maxValue = value;
+                }
+            }
+            remaining -= segmentValues;
+        }
+        return new double[] { minValue, maxValue };
+    }
+
+    /**
+     * Шукає значення двійковим пошуком; сховище має бути впорядкованим.
+     *
+     * @param value Значення для пошуку.
+     * @return Позиція значення або {@code -(точка вставки) - 1}, якщо значення немає.
+     */
+    public long binarySearch(double value) {
+        long low = 0;
+        long high = size - 1;
+        while (low <= high) {
+            long middle = (low + high) >>> 1;
+            int comparison = Double.compare(get(middle), value);
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+
+    /**
+     * Упорядковує значення на місці швидким сортуванням з тристоронім розбиттям;
+     * додаткова пам'ять у купі не виділяється.
+     */
+    public void sort() {
+        sortRange(0, size - 1);
+    }
+
+    private void sortRange(long low, long high) {
+        // Рекурсія лише для меншої частини, тому глибина стеку не перевищує log2(n)
+        while (high - low >= INSERTION_SORT_THRESHOLD) {
+            double pivot = medianOfThree(low, low + ((high - low) >>> 1), high);
+
+            // Розбиття Дейкстри: [low, less) < pivot, [less, i) == pivot, (greater, high] > pivot
+            long less = low;
+            long greater = high;
+            long i = low;
+            while (i <= greater) {
+                int comparison = Double.compare(get(i), pivot);
+                if (comparison < 0) {
+                    swap(less++, i++);
+                } else if (comparison > 0) {
+                    swap(i, greater--);
+                } else {
+                    i++;
+                }
+            }
+
+            if (less - low < high - greater) {
+                sortRange(low, less - 1);
+                low = greater + 1;
+            } else {
+                sortRange(greater + 1, high);
+                high = less - 1;
+            }
+        }
+        insertionSort(low, high);
+    }
+
+    private double medianOfThree(long first, long middle, long last) {
+        double a = get(first);
+        double b = get(middle);
+        double c = get(last);
+        if (Double.compare(a, b) > 0) {
+            double swap = a;
+            a = b;
+            b = swap;
+        }
+        if (Double.compare(b, c) > 0) {
+            b = c;
+        }
+        return Double.compare(a, b) > 0 ? a : b;
+    }
+
+    private void insertionSort(long low, long high) {
+        for (long i = low + 1; i <= high; i++) {
+            double value = get(i);
+            long j = i - 1;
+            while (j >= low && Double.compare(get(j), value) > 0) {
+                set(j + 1, get(j));
+                j--;
+            }
+            set(j + 1, value);
+        }
+    }
+
+    private void swap(long first, long second) {
+        double value = get(first);
+        set(first, get(second));
+        set(second, value);
+    }
+}
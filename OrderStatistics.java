@@ -0,0 +1,153 @@
+import java.util.Arrays;
+
+/**
+ * Клас OrderStatistics знаходить порядкові статистики (k-те значення, медіану, перцентилі)
+ * в масиві примітивних чисел без повного сортування.
+ *
+ * <p>Використовує quickselect з трьохстороннім розбиттям: пошук одного k-того значення
+ * виконується в середньому за O(n), пошук кількох квантилів - за один рекурсивний прохід,
+ * який розбиває лише ті частини масиву, де лежать потрібні ранги.</p>
+ *
+ * <p>Квантиль визначається за найближчим рангом: для ймовірності q повертається
+ * значення з рангом {@code ceil(q * n)} (нумерація з 1).</p>
+ */
+public class OrderStatistics {
+    /**
+     * Повертає k-те найменше значення (k від 0). Масив частково переставляється.
+     *
+     * @param values Масив чисел; змінюється під час пошуку.
+     * @param k Ранг шуканого значення, від 0 до {@code values.length - 1}.
+     * @return k-те найменше значення.
+     */
+    public static double kthSmallest(double[] values, int k) {
+        if (k < 0 || k >= values.length) {
+            throw new IllegalArgumentException("Ранг " + k + " поза межами масиву довжиною " + values.length);
+        }
+
+        int from = 0;
+        int to = values.length - 1;
+        while (from < to) {
+            long bounds = partition(values, from, to);
+            int lessEnd = (int) (bounds >>> 32);
+            int greaterStart = (int) bounds;
+
+            if (k < lessEnd) {
+                to = lessEnd - 1;
+            } else if (k >= greaterStart) {
+                from = greaterStart;
+            } else {
+                return values[k];
+            }
+        }
+        return values[k];
+    }
+
+    /**
+     * Повертає значення для кожної з ймовірностей. Масив частково переставляється.
+     *
+     * @param values Масив чисел; змінюється під час пошуку.
+     * @param probabilities Ймовірності квантилів у межах [0, 1].
+     * @return Значення квантилів у порядку ймовірностей.
+     */
+    public static double[] quantiles(double[] values, double... probabilities) {
+        if (values.length == 0) {
+            throw new IllegalArgumentException("Масив порожній");
+        }
+
+        int[] ranks = new int[probabilities.length];
+        for (int i = 0; i < probabilities.length; i++) {
+            ranks[i] = rankOf(probabilities[i], values.length);
+        }
+
+        int[] sortedRanks = ranks.clone();
+        Arrays.sort(sortedRanks);
+        selectRanks(values, 0, values.length - 1, sortedRanks, 0, sortedRanks.length - 1);
+
+        double[] result = new double[ranks.length];
+        for (int i = 0; i < ranks.length; i++) {
+            result[i] = values[ranks[i]];
+        }
+        return result;
+    }
+
+    /**
+     * Перетворює ймовірність квантиля на індекс у впорядкованому масиві.
+     *
+     * @param probability Ймовірність у межах [0, 1].
+     * @param length Кількість елементів.
+     * @return Індекс від 0 до {@code length - 1}.
+     */
+    static int rankOf(double probability, int length) {
+        if (!(probability >= 0 && probability <= 1)) {
+            throw new IllegalArgumentException("Ймовірність квантиля має бути в межах [0, 1]: " + probability);
+        }
+        int rank = (int) Math.ceil(probability * length) - 1;
+        return Math.max(0, Math.min(length - 1, rank));
+    }
+
+    /**
+     * Розставляє на свої місця всі значення з рангами з відрізку {@code ranks[rankFrom..rankTo]}.
+     */
+    private static void selectRanks(double[] values, int from, int to, int[] ranks, int rankFrom, int rankTo) {
+        while (from < to && rankFrom <= rankTo) {
+            long bounds = partition(values, from, to);
+            int lessEnd = (int) (bounds >>> 32);
+            int greaterStart = (int) bounds;
+
+            // Ранги ліворуч від опорного значення обробляємо рекурсивно, праворуч - у циклі
+            int leftRanksEnd = rankFrom;
+            while (leftRanksEnd <= rankTo && ranks[leftRanksEnd] < lessEnd) {
+                leftRanksEnd++;
+            }
+            int rightRanksStart = leftRanksEnd;
+            while (rightRanksStart <= rankTo && ranks[rightRanksStart] < greaterStart) {
+                rightRanksStart++;
+            }
+
+            selectRanks(values, from, lessEnd - 1, ranks, rankFrom, leftRanksEnd - 1);
+
+            from = greaterStart;
+            rankFrom = rightRanksStart;
+        }
+    }
+
+    /**
+     * Трьохстороннє розбиття відрізку навколо медіани з трьох елементів.
+     *
+     * @return Упаковані межі: старші 32 біти - початок рівних опорному, молодші - початок більших.
+     */
+    private static long partition(double[] values, int from, int to) {
+        int middle = (from + to) >>> 1;
+        double pivot = medianOfThree(values[from], values[middle], values[to]);
+
+        int lessEnd = from;
+        int current = from;
+        int greaterStart = to + 1;
+        while (current < greaterStart) {
+            double value = values[current];
+            if (value < pivot) {
+                values[current++] = values[lessEnd];
+                values[lessEnd++] = value;
+            } else if (value > pivot) {
+                values[current] = values[--greaterStart];
+                values[greaterStart] = value;
+            } else {
+                current++;
+            }
+        }
+
+        return ((long) lessEnd << 32) | greaterStart;
+    }
+
+    private static double medianOfThree(double first, double second, double third) {
+        if (first > second) {
+            double swap = first;
+            first = second;
+            second = swap;
+        }
+        if (second > third) {
+            second = third;
+        }
+        return Math.max(first, second);
+    }
+}
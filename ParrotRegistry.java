@@ -0,0 +1,138 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+/**
+ * Клас ParrotRegistry - реєстр папуг і власників з ізоляцією читання знімками.
+ *
+ * <p>Поточна версія реєстру - незмінна {@link PersistentHashTrie}, посилання на яку
+ * зберігається в {@link AtomicReference}. Читач отримує знімок одним читанням посилання
+ * і може як завгодно довго обходити його: знімок не змінюється, тож читач не блокує
+ * записувачів і ніколи не бачить частково застосованої зміни. Записувач будує нову
+ * версію зі спільними незміненими вузлами і публікує її атомарним порівнянням-із-заміною;
+ * якщо інший записувач встиг раніше, зміна застосовується повторно до новішої версії.</p>
+ */
+public class ParrotRegistry {
+    private final AtomicReference<PersistentHashTrie<BasicDataOperationUsingMap.Parrot, String>> root =
+            new AtomicReference<>(PersistentHashTrie.empty());
+
+    /**
+     * Створює реєстр із записами відображення.
+     *
+     * @param entries Початкові записи (ключ: Parrot, значення: ім'я власника).
+     * @return Реєстр.
+     */
+    public static ParrotRegistry fromMap(Map<BasicDataOperationUsingMap.Parrot, String> entries) {
+        ParrotRegistry registry = new ParrotRegistry();
+        PersistentHashTrie<BasicDataOperationUsingMap.Parrot, String> trie = PersistentHashTrie.empty();
+        for (Map.Entry<BasicDataOperationUsingMap.Parrot, String> entry : entries.entrySet()) {
+            trie = trie.put(entry.getKey(), entry.getValue());
+        }
+        registry.root.set(trie);
+        return registry;
+    }
+
+    /**
+     * Повертає незмінний знімок поточної версії реєстру.
+     *
+     * @return Знімок.
+     */
+    public PersistentHashTrie<BasicDataOperationUsingMap.Parrot, String> snapshot() {
+        return root.get();
+    }
+
+    /**
+     * Атомарно застосовує зміну до реєстру. Функція може викликатися повторно,
+     * якщо паралельно опубліковано іншу версію, тому не повинна мати побічних ефектів.
+     *
+     * @param update Функція, що будує нову версію з поточної.
+     * @return Опублікована версія.
+     */
+    public PersistentHashTrie<BasicDataOperationUsingMap.Parrot, String> update(
+            UnaryOperator<PersistentHashTrie<BasicDataOperationUsingMap.Parrot, String>> update) {
+        return root.updateAndGet(update);
+    }
+
+    /**
+     * Додає або замінює запис.
+     *
+     * @param parrot Папуга.
+     * @param owner Ім'я власника.
+     */
+    public void put(BasicDataOperationUsingMap.Parrot parrot, String owner) {
+        update(trie -> trie.put(parrot, owner));
+    }
+
+    /**
+     * Видаляє запис за ключем.
+     *
+     * @param parrot Папуга.
+     * @return {@code true}, якщо запис було видалено.
+     */
+    public boolean remove(BasicDataOperationUsingMap.Parrot parrot) {
+        while (true) {
+            PersistentHashTrie<BasicDataOperationUsingMap.Parrot, String> current = root.get();
+            PersistentHashTrie<BasicDataOperationUsingMap.Parrot, String> updated = current.remove(parrot);
+            if (updated == current) {
+                return false;
+            }
+            if (root.compareAndSet(current, updated)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Шукає у знімку папуг заданого власника.
+     *
+     * @param owner Ім'я власника.
+     * @return Знайдені папуги.
+     */
+    public List<BasicDataOperationUsingMap.Parrot> findByValue(String owner) {
+        List<BasicDataOperationUsingMap.Parrot> parrots = new ArrayList<>();
+        snapshot().forEach((parrot, value) -> {
+            if (owner.equals(value)) {
+                parrots.add(parrot);
+            }
+        });
+        return parrots;
+    }
+
+    /**
+     * Атомарно видаляє всі записи заданого власника: обхід і видалення
+     * виконуються над однією версією і публікуються разом.
+     *
+     * @param owner Ім'я власника.
+     * @return Кількість видалених записів.
+     */
+    public int removeByValue(String owner) {
+        while (true) {
+            PersistentHashTrie<BasicDataOperationUsingMap.Parrot, String> current = root.get();
+            List<BasicDataOperationUsingMap.Parrot> parrots = new ArrayList<>();
+            current.forEach((parrot, value) -> {
+                if (owner.equals(value)) {
+                    parrots.add(parrot);
+                }
+            });
+
+            PersistentHashTrie<BasicDataOperationUsingMap.Parrot, String> updated = current;
+            for (BasicDataOperationUsingMap.Parrot parrot : parrots) {
+                updated = updated.remove(parrot);
+            }
+            if (updated == current || root.compareAndSet(current, updated)) {
+                return parrots.size();
+            }
+        }
+    }
+
+    /**
+     * Повертає кількість записів у поточній версії.
+     *
+     * @return Кількість записів.
+     */
+    public int size() {
+        return snapshot().size();
+    }
+}
@@ -0,0 +1,502 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Клас PerformanceRegressionGate вимірює стандартний набір операцій і порівнює
+ * результати зі збереженою базовою лінією.
+ *
+ * <p>Для кожного розміру з {@code -Dbenchmark.sizes} генерується відтворюваний файл чисел
+ * ({@link DataSetGenerator}); потім кілька разів виконуються завантаження, сортування,
+ * пошук і визначення мінімуму й максимуму обробниками List, Queue і Set, а також
+ * операції з Map. Тривалості збираються через {@link PerformanceTracker.OperationListener};
+ * перші {@code -Dbenchmark.warmup} прогонів відкидаються як розігрів JIT.</p>
+ *
+ * <p>Розкид між прогонами в одній JVM не враховує різниці між запусками (розміщення
+ * в пам'яті, рішення JIT), тому вимірювання виконується в {@code -Dbenchmark.forks}
+ * (типово 3) окремих процесах JVM. Кожен процес повертає медіану кожної операції;
+ * для операції зберігається середнє цих медіан, їхнє стандартне відхилення і кількість процесів.</p>
+ *
+ * <p>Операція вважається повільнішою, лише якщо одночасно: довірчий інтервал різниці
+ * середніх (критерій Велча, рівень довіри {@code -Dbenchmark.confidence}, типово 0.99)
+ * цілком лежить вище нуля, відносна зміна перевищує {@code -Dbenchmark.tolerance}
+ * (типово 0.25) і абсолютна зміна не менша за {@code -Dbenchmark.min.delta.us}
+ * (типово 50 мкс). У цьому разі процес завершується з кодом 1.</p>
+ *
+ * <p>Приклад використання:</p>
+ * <pre>
+ * {@code
+ * java PerformanceRegressionGate record benchmark.baseline
+ * java PerformanceRegressionGate compare benchmark.baseline
+ * }
+ * </pre>
+ */
+public class PerformanceRegressionGate {
+    private static final String USAGE_MESSAGE = "Використання: java PerformanceRegressionGate <record|compare> [файл-базової-лінії]";
+    private static final String DEFAULT_BASELINE_FILE = "benchmark.baseline";
+    // Внутрішній режим процесу вимірювання, який запускає основний процес
+    private static final String FORK_MODE = "fork";
+    private static final String SETTINGS_PREFIX = "# параметри: ";
+
+    private static final String[] SPECIES = { "Ара", "Жако", "Корела", "Лорі", "Амазон", "Какаду", "Еклектус", "Нестор" };
+    private static final String[] OWNERS = { "Артем", "Ірина", "Діана", "Захар", "Інна", "Костя", "Лілія", "Марина" };
+
+    private final int[] sizes;
+    private final int warmupRuns;
+    private final int measuredRuns;
+    private final int forks;
+    private final double confidence;
+    private final double tolerance;
+    private final long minDeltaNanos;
+
+    private final Map<String, List<Long>> samples = new LinkedHashMap<>();
+
+    /**
+     * Результат вимірювання однієї операції. У процесі вимірювання - медіана і медіанне
+     * абсолютне відхилення прогонів; після об'єднання процесів - середнє їхніх медіан
+     * і стандартне відхилення між процесами.
+     */
+    static class OperationStatistics {
+        final long valueNanos;
+        final long spreadNanos;
+        final int sampleCount;
+
+        OperationStatistics(long valueNanos, long spreadNanos, int sampleCount) {
+            this.valueNanos = valueNanos;
+            this.spreadNanos = spreadNanos;
+            this.sampleCount = sampleCount;
+        }
+    }
+
+    /**
+     * Створює вимірювач із параметрами із системних властивостей.
+     */
+    public PerformanceRegressionGate() {
+        this.sizes = Arrays.stream(System.getProperty("benchmark.sizes", "1000,10000").split(","))
+                .mapToInt(size -> Integer.parseInt(size.trim()))
+                .toArray();
+        this.warmupRuns = Integer.getInteger("benchmark.warmup", 5);
+        this.measuredRuns = Math.max(1, Integer.getInteger("benchmark.iterations", 10));
+        this.forks = Math.max(1, Integer.getInteger("benchmark.forks", 3));
+        this.confidence = Double.parseDouble(System.getProperty("benchmark.confidence", "0.99"));
+        this.tolerance = Double.parseDouble(System.getProperty("benchmark.tolerance", "0.25"));
+        this.minDeltaNanos = Long.getLong("benchmark.min.delta.us", 50) * 1000;
+        if (confidence <= 0 || confidence >= 1) {
+            throw new IllegalArgumentException("рівень довіри має бути в інтервалі (0, 1): " + confidence);
+        }
+    }
+
+    public static void main(String[] args) {
+        if (args.length == 2 && args[0].equals(FORK_MODE)) {
+            runFork(Paths.get(args[1]));
+            return;
+        }
+        if (args.length < 1 || !(args[0].equals("record") || args[0].equals("compare"))) {
+            ReportSink.println(USAGE_MESSAGE);
+            ReportSink.flush();
+            return;
+        }
+
+        Path baselineFile = Paths.get(args.length > 1 ? args[1] : DEFAULT_BASELINE_FILE);
+        boolean regressionFound = false;
+
+        try {
+            PerformanceRegressionGate gate = new PerformanceRegressionGate();
+            Map<String, OperationStatistics> results = gate.runForks();
+
+            if (args[0].equals("record")) {
+                writeBaseline(baselineFile, results, gate.describeSettings());
+                ReportSink.println("Базову лінію збережено у '" + baselineFile + "': " + results.size() + " операцій");
+            } else {
+                String baselineSettings = readSettings(baselineFile);
+                if (baselineSettings != null && !baselineSettings.equals(gate.describeSettings())) {
+                    ReportSink.println("⚠️ Базову лінію записано з іншими параметрами вимірювання (" + baselineSettings
+                            + "), зараз: " + gate.describeSettings() + "; порівняння може бути некоректним");
+                }
+                regressionFound = gate.compare(readBaseline(baselineFile), results);
+            }
+        } catch (IOException | InterruptedException e) {
+            ReportSink.println("❌ Помилка вимірювання або роботи з файлом базової лінії: " + e.getMessage());
+            regressionFound = true;
+        } catch (IllegalArgumentException e) {
+            ReportSink.println("Помилка: " + e.getMessage());
+            ReportSink.println(USAGE_MESSAGE);
+            regressionFound = true;
+        }
+
+        ReportSink.flush();
+        if (regressionFound) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Вимірює операції в процесі, запущеному {@link #runForks()}, і записує медіани у файл.
+     */
+    private static void runFork(Path resultFile) {
+        try {
+            PerformanceRegressionGate gate = new PerformanceRegressionGate();
+            writeBaseline(resultFile, gate.runBenchmarks(), gate.describeSettings());
+        } catch (IOException e) {
+            ReportSink.println("❌ Помилка вимірювання: " + e.getMessage());
+            ReportSink.flush();
+            System.exit(2);
+        }
+        ReportSink.flush();
+    }
+
+    /**
+     * Послідовно запускає процеси вимірювання і об'єднує їхні медіани.
+     *
+     * @return Для кожної операції: середнє медіан процесів, стандартне відхилення і кількість процесів.
+     * @throws IOException Якщо процес не вдалося запустити або він завершився з помилкою.
+     * @throws InterruptedException Якщо очікування процесу перервано.
+     */
+    public Map<String, OperationStatistics> runForks() throws IOException, InterruptedException {
+        String javaExecutable = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        String classPath = System.getProperty("java.class.path");
+        Map<String, List<Long>> forkMedians = new LinkedHashMap<>();
+
+        for (int fork = 1; fork <= forks; fork++) {
+            ReportSink.println("Процес вимірювання " + fork + " з " + forks);
+            ReportSink.flush();
+
+            Path resultFile = Files.createTempFile("benchmark-fork", ".tsv");
+            try {
+                List<String> command = new ArrayList<>();
+                command.add(javaExecutable);
+                command.add("-Dfile.encoding=UTF-8");
+                for (String property : System.getProperties().stringPropertyNames()) {
+                    if (property.startsWith("benchmark.")) {
+                        command.add("-D" + property + "=" + System.getProperty(property));
+                    }
+                }
+                command.add("-cp");
+                command.add(classPath);
+                command.add(PerformanceRegressionGate.class.getName());
+                command.add(FORK_MODE);
+                command.add(resultFile.toString());
+
+                int exitCode = new ProcessBuilder(command).inheritIO().start().waitFor();
+                if (exitCode != 0) {
+                    throw new IOException("Процес вимірювання " + fork + " завершився з кодом " + exitCode);
+                }
+                for (Map.Entry<String, OperationStatistics> entry : readBaseline(resultFile).entrySet()) {
+                    forkMedians.computeIfAbsent(entry.getKey(), k -> new ArrayList<>()).add(entry.getValue().valueNanos);
+                }
+            } finally {
+                Files.deleteIfExists(resultFile);
+            }
+        }
+
+        Map<String, OperationStatistics> results = new LinkedHashMap<>();
+        for (Map.Entry<String, List<Long>> entry : forkMedians.entrySet()) {
+            results.put(entry.getKey(), meanAndDeviation(entry.getValue()));
+        }
+        return results;
+    }
+
+    /**
+     * Виконує стандартний набір операцій для всіх розмірів у поточному процесі.
+     *
+     * @return Статистика кожної операції в порядку виконання.
+     * @throws IOException Якщо тимчасові файли не вдалося створити.
+     */
+    public Map<String, OperationStatistics> runBenchmarks() throws IOException {
+        Path workDirectory = Files.createTempDirectory("benchmark");
+        Map<String, Integer> occurrences = new HashMap<>();
+        String[] keyPrefix = { "" };
+        boolean[] recording = { false };
+
+        // Однакові операції виконуються кілька разів за прогін (пошук до і після сортування),
+        // тому до назви додається порядковий номер
+        PerformanceTracker.setOperationListener((operationName, operationKind, structureType, elementCount, durationNanos) -> {
+            String key = keyPrefix[0] + structureType + ": " + operationName;
+            int occurrence = occurrences.merge(key, 1, Integer::sum);
+            if (recording[0]) {
+                samples.computeIfAbsent(occurrence == 1 ? key : key + " #" + occurrence, k -> new ArrayList<>()).add(durationNanos);
+            }
+        });
+
+        try {
+            for (int size : sizes) {
+                ReportSink.println("Розмір " + size + ": " + warmupRuns + " прогонів розігріву, " + measuredRuns + " вимірюваних прогонів");
+                // Генерація набору даних не є частиною вимірюваних операцій
+                recording[0] = false;
+                new DataSetGenerator(size).generate(DataType.DOUBLE, workDirectory);
+                String dataFile = workDirectory.resolve("double.data").toString();
+                String sortedFile = workDirectory.resolve("double.data.sorted").toString();
+
+                keyPrefix[0] = "n=" + size + " ";
+                ReportSink.setMuted(true);
+                for (int run = 0; run < warmupRuns + measuredRuns; run++) {
+                    recording[0] = run >= warmupRuns;
+                    occurrences.clear();
+                    runStandardOperations(dataFile, sortedFile, size);
+                }
+                recording[0] = false;
+                ReportSink.setMuted(false);
+            }
+        } finally {
+            ReportSink.setMuted(false);
+            PerformanceTracker.setOperationListener(null);
+            try (java.util.stream.Stream<Path> files = Files.list(workDirectory)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    Files.deleteIfExists(file);
+                }
+            }
+            Files.deleteIfExists(workDirectory);
+        }
+
+        Map<String, OperationStatistics> results = new LinkedHashMap<>();
+        for (Map.Entry<String, List<Long>> entry : samples.entrySet()) {
+            results.put(entry.getKey(), summarize(entry.getValue()));
+        }
+        return results;
+    }
+
+    /**
+     * Один прогін стандартного набору операцій.
+     */
+    private void runStandardOperations(String dataFile, String sortedFile, int size) throws IOException {
+        Double[] doubleArray = DataFileHandler.loadArrayFromFile(dataFile);
+        // Шукаємо значення, яке гарантовано є в наборі
+        double valueToSearch = doubleArray.length > 0 ? doubleArray[doubleArray.length / 2] : 0;
+
+        BasicDataOperationUsingList listProcessor = new BasicDataOperationUsingList(valueToSearch, doubleArray.clone());
+        listProcessor.setSortedOutputPath(sortedFile);
+        listProcessor.executeDataOperations();
+
+        BasicDataOperationUsingQueue queueProcessor = new BasicDataOperationUsingQueue(valueToSearch, doubleArray.clone());
+        queueProcessor.setSortedOutputPath(sortedFile);
+        queueProcessor.runDataProcessing();
+
+        BasicDataOperationUsingSet setProcessor = new BasicDataOperationUsingSet(valueToSearch, doubleArray.clone());
+        setProcessor.setSortedOutputPath(sortedFile);
+        setProcessor.executeDataAnalysis();
+
+        HashMap<BasicDataOperationUsingMap.Parrot, String> hashtable = new HashMap<>();
+        LinkedHashMap<BasicDataOperationUsingMap.Parrot, String> treeMap = new LinkedHashMap<>();
+        // Ключ і значення, з якими працюють пошук і видалення в BasicDataOperationUsingMap
+        hashtable.put(new BasicDataOperationUsingMap.Parrot("Чижик", "Жако"), "Єва");
+        treeMap.put(new BasicDataOperationUsingMap.Parrot("Чижик", "Жако"), "Єва");
+        for (int i = 1; i < size; i++) {
+            BasicDataOperationUsingMap.Parrot parrot = new BasicDataOperationUsingMap.Parrot("Папуга" + i, SPECIES[i % SPECIES.length]);
+            hashtable.put(parrot, OWNERS[i % OWNERS.length]);
+            treeMap.put(parrot, OWNERS[i % OWNERS.length]);
+        }
+        new BasicDataOperationUsingMap(hashtable, treeMap).executeDataOperations();
+    }
+
+    /**
+     * Порівнює поточні результати з базовою лінією і виводить різницю для кожної операції.
+     *
+     * @return {@code true}, якщо знайдено суттєве сповільнення.
+     */
+    boolean compare(Map<String, OperationStatistics> baseline, Map<String, OperationStatistics> current) {
+        boolean regressionFound = false;
+
+        ReportSink.println(String.format("%-12s %12s %12s %9s %12s  %s", "Стан", "База, мкс", "Зараз, мкс", "Зміна", "±інтервал", "Операція"));
+        for (Map.Entry<String, OperationStatistics> entry : current.entrySet()) {
+            OperationStatistics now = entry.getValue();
+            OperationStatistics before = baseline.get(entry.getKey());
+            if (before == null) {
+                ReportSink.println(String.format("%-12s %12s %12.1f %9s %12s  %s", "НОВА", "-", now.valueNanos / 1000.0, "-", "-", entry.getKey()));
+                continue;
+            }
+
+            long delta = now.valueNanos - before.valueNanos;
+            double change = before.valueNanos == 0 ? 0 : (double) delta / before.valueNanos;
+            double halfWidth = confidenceHalfWidth(before, now);
+
+            String status = "OK";
+            // Зміна суттєва, лише якщо інтервал не містить нуля і ефект досить великий
+            if (Math.abs(delta) > halfWidth && Math.abs(change) > tolerance && Math.abs(delta) >= minDeltaNanos) {
+                status = delta > 0 ? "ПОВІЛЬНІШЕ" : "ШВИДШЕ";
+                regressionFound |= delta > 0;
+            }
+            ReportSink.println(String.format("%-12s %12.1f %12.1f %+8.1f%% %12.1f  %s",
+                    status, before.valueNanos / 1000.0, now.valueNanos / 1000.0, change * 100, halfWidth / 1000.0, entry.getKey()));
+        }
+
+        for (String operation : baseline.keySet()) {
+            if (!current.containsKey(operation)) {
+                ReportSink.println(String.format("%-12s %12.1f %12s %9s %12s  %s", "ВІДСУТНЯ", baseline.get(operation).valueNanos / 1000.0, "-", "-", "-", operation));
+            }
+        }
+
+        ReportSink.println(regressionFound
+                ? "❌ Виявлено сповільнення операцій відносно базової лінії"
+                : "✅ Суттєвих сповільнень не виявлено");
+        return regressionFound;
+    }
+
+    /**
+     * Обчислює половину довірчого інтервалу різниці середніх двох вимірювань (критерій Велча).
+     * Кількість ступенів свободи округлюється вниз, що лише розширює інтервал.
+     */
+    private double confidenceHalfWidth(OperationStatistics before, OperationStatistics now) {
+        double beforeVariance = (double) before.spreadNanos * before.spreadNanos / before.sampleCount;
+        double nowVariance = (double) now.spreadNanos * now.spreadNanos / now.sampleCount;
+        double standardError = Math.sqrt(beforeVariance + nowVariance);
+        if (standardError == 0) {
+            return 0;
+        }
+        if (before.sampleCount < 2 || now.sampleCount < 2) {
+            // Без повторних процесів розкид між запусками невідомий - покладаємося лише на поріг ефекту
+            return 0;
+        }
+
+        double degreesOfFreedom = Math.pow(beforeVariance + nowVariance, 2)
+                / (beforeVariance * beforeVariance / (before.sampleCount - 1) + nowVariance * nowVariance / (now.sampleCount - 1));
+        return studentQuantile(confidence, Math.max(1, (int) degreesOfFreedom)) * standardError;
+    }
+
+    /**
+     * Повертає t, для якого P(|T| &lt; t) = confidence для розподілу Стьюдента.
+     */
+    static double studentQuantile(double confidence, int degreesOfFreedom) {
+        double low = 0;
+        double high = 1;
+        while (studentCentralProbability(high, degreesOfFreedom) < confidence) {
+            high *= 2;
+        }
+        for (int i = 0; i < 100; i++) {
+            double middle = (low + high) / 2;
+            if (studentCentralProbability(middle, degreesOfFreedom) < confidence) {
+                low = middle;
+            } else {
+                high = middle;
+            }
+        }
+        return high;
+    }
+
+    /**
+     * Обчислює P(|T| &lt; t) для цілої кількості ступенів свободи скінченним рядом
+     * (Абрамовіц і Стіган, 26.7.3 і 26.7.4).
+     */
+    private static double studentCentralProbability(double t, int degreesOfFreedom) {
+        double theta = Math.atan(t / Math.sqrt(degreesOfFreedom));
+        double cosineSquared = Math.cos(theta) * Math.cos(theta);
+        double term = 1;
+        double series = 1;
+        if (degreesOfFreedom % 2 == 1) {
+            if (degreesOfFreedom == 1) {
+                return 2 * theta / Math.PI;
+            }
+            for (int k = 2; k <= degreesOfFreedom - 3; k += 2) {
+                term *= cosineSquared * k / (k + 1);
+                series += term;
+            }
+            return 2 / Math.PI * (theta + Math.sin(theta) * Math.cos(theta) * series);
+        }
+        for (int k = 1; k <= degreesOfFreedom - 3; k += 2) {
+            term *= cosineSquared * k / (k + 1);
+            series += term;
+        }
+        return Math.sin(theta) * series;
+    }
+
+    /**
+     * Обчислює середнє і вибіркове стандартне відхилення медіан процесів.
+     */
+    static OperationStatistics meanAndDeviation(List<Long> values) {
+        double mean = values.stream().mapToLong(Long::longValue).average().orElse(0);
+        double squaredDeviations = 0;
+        for (long value : values) {
+            squaredDeviations += (value - mean) * (value - mean);
+        }
+        double deviation = values.size() > 1 ? Math.sqrt(squaredDeviations / (values.size() - 1)) : 0;
+        return new OperationStatistics(Math.round(mean), Math.round(deviation), values.size());
+    }
+
+    /**
+     * Обчислює медіану і медіанне абсолютне відхилення вимірів.
+     */
+    static OperationStatistics summarize(List<Long> values) {
+        long[] sorted = values.stream().mapToLong(Long::longValue).sorted().toArray();
+        long median = median(sorted);
+
+        long[] deviations = new long[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            deviations[i] = Math.abs(sorted[i] - median);
+        }
+        Arrays.sort(deviations);
+
+        return new OperationStatistics(median, median(deviations), sorted.length);
+    }
+
+    private static long median(long[] sorted) {
+        int middle = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2;
+    }
+
+    /**
+     * Описує параметри, від яких залежать виміряні значення.
+     */
+    String describeSettings() {
+        return "sizes=" + Arrays.toString(sizes) + ", warmup=" + warmupRuns + ", iterations=" + measuredRuns + ", forks=" + forks;
+    }
+
+    /**
+     * Зберігає результати у текстовий файл: один рядок на операцію, поля розділені табуляцією.
+     */
+    static void writeBaseline(Path baselineFile, Map<String, OperationStatistics> results, String settings) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(baselineFile, StandardCharsets.UTF_8)) {
+            writer.write("# java.version=" + System.getProperty("java.version") + ", os.arch=" + System.getProperty("os.arch")
+                    + ", процесорів=" + Runtime.getRuntime().availableProcessors());
+            writer.newLine();
+            writer.write(SETTINGS_PREFIX + settings);
+            writer.newLine();
+            writer.write("# значення_нс\tрозкид_нс\tвимірів\tоперація");
+            writer.newLine();
+            for (Map.Entry<String, OperationStatistics> entry : results.entrySet()) {
+                OperationStatistics statistics = entry.getValue();
+                writer.write(statistics.valueNanos + "\t" + statistics.spreadNanos + "\t" + statistics.sampleCount + "\t" + entry.getKey());
+                writer.newLine();
+            }
+        }
+    }
+
+    /**
+     * Повертає параметри вимірювання, записані в базовій лінії.
+     *
+     * @return Опис параметрів або {@code null}, якщо файл його не містить.
+     */
+    static String readSettings(Path baselineFile) throws IOException {
+        for (String line : Files.readAllLines(baselineFile, StandardCharsets.UTF_8)) {
+            if (line.startsWith(SETTINGS_PREFIX)) {
+                return line.substring(SETTINGS_PREFIX.length());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Читає базову лінію, збережену {@link #writeBaseline(Path, Map, String)}.
+     */
+    static Map<String, OperationStatistics> readBaseline(Path baselineFile) throws IOException {
+        Map<String, OperationStatistics> baseline = new LinkedHashMap<>();
+        for (String line : Files.readAllLines(baselineFile, StandardCharsets.UTF_8)) {
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] fields = line.split("\t", 4);
+            if (fields.length < 4) {
+                throw new IOException("Некоректний рядок базової лінії: " + line);
+            }
+            baseline.put(fields[3], new OperationStatistics(Long.parseLong(fields[0]), Long.parseLong(fields[1]), Integer.parseInt(fields[2])));
+        }
+        return baseline;
+    }
+}
@@ -1,16 +1,220 @@
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+import java.util.List;
+
 /**
  * Клас PerformanceTracker відстежує продуктивність операцій з даними.
+ *
+ * <p>Окрім тривалості, {@link OperationScope} фіксує кількість байтів, виділених
+ * поточним потоком, а також кількість і тривалість зборок сміття за час операції.
+ * Кожна операція також фіксується як подія JFR {@link DataOperationEvent}.</p>
  */
 public class PerformanceTracker {
+    private static final List<GarbageCollectorMXBean> GARBAGE_COLLECTORS = ManagementFactory.getGarbageCollectorMXBeans();
+    private static final com.sun.management.ThreadMXBean THREAD_ALLOCATION_BEAN = resolveAllocationBean();
+    private static volatile OperationListener operationListener;
+
     /**
-     * Відображає тривалість виконання операції в мікросекундах.
-     * 
-     * @param startTime Початковий час операції в наносекундах.
-     * @param operationName Назва операції.
+     * Вид операції, який задається під час початку вимірювання. За ним
+     * {@link AdaptiveStructureSelector} складає профіль навантаження.
      */
-    public static void displayOperationTime(long startTime, String operationName) {
-        long finishTime = System.nanoTime();
-        long executionTime = (finishTime - startTime) / 1000;  // Конвертуємо в мікросекунди
-        System.out.println("\n========= Тривалість операції '" + operationName + "': " + executionTime + " мкс =========");
+    public enum OperationKind {
+        SEARCH, MIN_MAX, INSERT, SORT, OTHER
+    }
+
+    /**
+     * Слухач завершених операцій, наприклад для збору результатів тестів продуктивності.
+     */
+    public interface OperationListener {
+        /**
+         * Викликається після завершення кожної виміряної операції.
+         *
+         * @param operationName Назва операції.
+         * @param operationKind Вид операції.
+         * @param structureType Тип структури даних.
+         * @param elementCount Кількість елементів.
+         * @param durationNanos Тривалість у наносекундах.
+         */
+        void operationCompleted(String operationName, OperationKind operationKind, String structureType, long elementCount, long durationNanos);
+    }
+
+    /**
+     * Встановлює слухача завершених операцій.
+     *
+     * @param listener Слухач або {@code null}, щоб вимкнути сповіщення.
+     */
+    public static void setOperationListener(OperationListener listener) {
+        operationListener = listener;
+    }
+
+    /**
+     * Розпочинає вимірювання операції: час, виділення пам'яті та зборки сміття.
+     *
+     * @param structureType Тип структури даних, з якою виконується операція.
+     * @param elementCount Кількість елементів у структурі.
+     * @return Область вимірювання, яку слід завершити викликом {@link OperationScope#stop(String)}.
+     */
+    public static OperationScope startOperation(String structureType, long elementCount) {
+        return new OperationScope(structureType, elementCount, OperationKind.OTHER);
+    }
+
+    /**
+     * Розпочинає вимірювання операції відомого виду.
+     *
+     * @param structureType Тип структури даних, з якою виконується операція.
+     * @param elementCount Кількість елементів у структурі.
+     * @param operationKind Вид операції для профілю навантаження.
+     * @return Область вимірювання, яку слід завершити викликом {@link OperationScope#stop(String)}.
+     */
+    public static OperationScope startOperation(String structureType, long elementCount, OperationKind operationKind) {
+        return new OperationScope(structureType, elementCount, operationKind);
+    }
+
+    /**
+     * Область вимірювання однієї операції.
+     */
+    public static class OperationScope {
+        private final String structureType;
+        private final OperationKind operationKind;
+        private final DataOperationEvent event;
+        private long elementCount;
+        private final long startGcCount;
+        private final long startGcTime;
+        private final long startAllocatedBytes;
+        private final long startTime;
+        private long durationNanos = -1;
+
+        private OperationScope(String structureType, long elementCount, OperationKind operationKind) {
+            this.structureType = structureType;
+            this.operationKind = operationKind;
+            this.elementCount = elementCount;
+
+            // Знімки лічильників беремо до початку відліку часу, щоб не враховувати їх у тривалості
+            long gcCount = 0;
+            long gcTime = 0;
+            for (GarbageCollectorMXBean collector : GARBAGE_COLLECTORS) {
+                gcCount += Math.max(0, collector.getCollectionCount());
+                gcTime += Math.max(0, collector.getCollectionTime());
+            }
+            this.startGcCount = gcCount;
+            this.startGcTime = gcTime;
+            this.startAllocatedBytes = currentThreadAllocatedBytes();
+
+            this.event = new DataOperationEvent();
+            this.startTime = System.nanoTime();
+            event.begin();
+        }
+
+        /**
+         * Уточнює кількість елементів, якщо вона стала відомою лише під час операції
+         * (наприклад, під час читання файлу).
+         *
+         * @param elementCount Кількість оброблених елементів.
+         */
+        public void setElementCount(long elementCount) {
+            this.elementCount = elementCount;
+        }
+
+        /**
+         * Повертає тривалість завершеної операції.
+         *
+         * @return Тривалість у наносекундах або -1, якщо вимірювання ще не завершено.
+         */
+        public long getDurationNanos() {
+            return durationNanos;
+        }
+
+        /**
+         * Завершує вимірювання операції без результату (наприклад, сортування).
+         *
+         * @param operationName Назва операції.
+         */
+        public void stop(String operationName) {
+            stop(operationName, null);
+        }
+
+        /**
+         * Завершує вимірювання операції, яка визначає мінімум і максимум.
+         *
+         * @param operationName Назва операції.
+         * @param minValue Знайдене найменше значення.
+         * @param maxValue Знайдене найбільше значення.
+         */
+        public void stop(String operationName, double minValue, double maxValue) {
+            stop(operationName, new double[] { minValue, maxValue });
+        }
+
+        /**
+         * Завершує вимірювання і виводить тривалість, обсяг виділеної пам'яті та зборки сміття.
+         *
+         * @param operationName Назва операції.
+         * @param result Результат операції (позиція, ознака наявності, розмір тощо) або {@code null}.
+         */
+        public void stop(String operationName, Object result) {
+            long finishTime = System.nanoTime();
+            durationNanos = finishTime - startTime;
+            event.end();
+            long allocatedBytes = currentThreadAllocatedBytes() - startAllocatedBytes;
+
+            long gcCount = 0;
+            long gcTime = 0;
+            for (GarbageCollectorMXBean collector : GARBAGE_COLLECTORS) {
+                gcCount += Math.max(0, collector.getCollectionCount());
+                gcTime += Math.max(0, collector.getCollectionTime());
+            }
+
+            if (event.shouldCommit()) {
+                event.operationName = operationName;
+                event.structureType = structureType;
+                event.elementCount = elementCount;
+                event.result = formatResult(result);
+                event.allocatedBytes = startAllocatedBytes < 0 ? -1 : allocatedBytes;
+                event.commit();
+            }
+
+            OperationListener listener = operationListener;
+            if (listener != null) {
+                listener.operationCompleted(operationName, operationKind, structureType, elementCount, durationNanos);
+            }
+
+            long executionTime = durationNanos / 1000;  // Конвертуємо в мікросекунди
+            String allocation = startAllocatedBytes < 0 ? "н/д" : allocatedBytes + " байт";
+            ReportSink.println("\n========= Тривалість операції '" + operationName + "': " + executionTime + " мкс"
+                    + ", виділено: " + allocation
+                    + ", GC: " + (gcCount - startGcCount) + " зборок / " + (gcTime - startGcTime) + " мс =========");
+        }
+    }
+
+    /**
+     * Перетворює результат операції на текст для події JFR.
+     */
+    private static String formatResult(Object result) {
+        if (result instanceof double[]) {
+            return Arrays.toString((double[]) result);
+        }
+        return result == null ? null : String.valueOf(result);
+    }
+
+    /**
+     * Повертає кількість байтів, виділених поточним потоком, або -1, якщо JVM цього не підтримує.
+     */
+    private static long currentThreadAllocatedBytes() {
+        if (THREAD_ALLOCATION_BEAN == null) {
+            return -1;
+        }
+        return THREAD_ALLOCATION_BEAN.getCurrentThreadAllocatedBytes();
+    }
+
+    private static com.sun.management.ThreadMXBean resolveAllocationBean() {
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        if (threadBean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) threadBean;
+            if (allocationBean.isThreadAllocatedMemorySupported() && allocationBean.isThreadAllocatedMemoryEnabled()) {
+                return allocationBean;
+            }
+        }
+        return null;
     }
 }
\ No newline at end of file
@@ -0,0 +1,360 @@
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+
+/**
+ * Клас PersistentHashTrie - незмінна хеш-таблиця у вигляді префіксного дерева
+ * хеш-кодів (hash array mapped trie).
+ *
+ * <p>Кожен рівень дерева розбирає 5 бітів хеш-коду ключа; вузол зберігає бітову
+ * маску зайнятих позицій і щільний масив лише для них. Додавання і видалення не
+ * змінюють дерево, а повертають нову версію, яка копіює лише вузли на шляху від
+ * кореня до зміненого запису (не більше 7 вузлів); решта вузлів спільні для обох версій.
+ * Тому будь-яку версію можна читати з кількох потоків без блокувань, а знімок
+ * коштує одного читання посилання.</p>
+ *
+ * <p>Ключі з однаковим хеш-кодом зберігаються у вузлі колізій. Ключ {@code null}
+ * не підтримується.</p>
+ *
+ * @param <K> Тип ключа.
+ * @param <V> Тип значення.
+ */
+public final class PersistentHashTrie<K, V> {
+    private static final int BITS_PER_LEVEL = 5;
+    private static final int LEVEL_MASK = (1 << BITS_PER_LEVEL) - 1;
+    private static final Object NOT_FOUND = new Object();
+    private static final PersistentHashTrie<?, ?> EMPTY = new PersistentHashTrie<>(null, 0);
+
+    private final Node root;
+    private final int size;
+
+    private PersistentHashTrie(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * Повертає порожню таблицю.
+     *
+     * @param <K> Тип ключа.
+     * @param <V> Тип значення.
+     * @return Порожня таблиця.
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> PersistentHashTrie<K, V> empty() {
+        return (PersistentHashTrie<K, V>) EMPTY;
+    }
+
+    /**
+     * Повертає значення за ключем.
+     *
+     * @param key Ключ.
+     * @return Значення або {@code null}, якщо ключа немає.
+     */
+    @SuppressWarnings("unchecked")
+    public V get(K key) {
+        if (root == null) {
+            return null;
+        }
+        Object value = root.find(hash(key), key, 0);
+        return value == NOT_FOUND ? null : (V) value;
+    }
+
+    /**
+     * Перевіряє наявність ключа.
+     *
+     * @param key Ключ.
+     * @return {@code true}, якщо ключ присутній.
+     */
+    public boolean containsKey(K key) {
+        return root != null && root.find(hash(key), key, 0) != NOT_FOUND;
+    }
+
+    /**
+     * Повертає нову версію таблиці із записом ключ-значення.
+     *
+     * @param key Ключ.
+     * @param value Значення.
+     * @return Нова версія або ця сама, якщо запис уже такий.
+     */
+    public PersistentHashTrie<K, V> put(K key, V value) {
+        boolean[] added = { false };
+        Node currentRoot = root == null ? BitmapNode.EMPTY : root;
+        Node newRoot = currentRoot.put(hash(key), key, value, 0, added);
+        if (newRoot == root) {
+            return this;
+        }
+        return new PersistentHashTrie<>(newRoot, added[0] ? size + 1 : size);
+    }
+
+    /**
+     * Повертає нову версію таблиці без ключа.
+     *
+     * @param key Ключ.
+     * @return Нова версія або ця сама, якщо ключа немає.
+     */
+    public PersistentHashTrie<K, V> remove(K key) {
+        if (root == null) {
+            return this;
+        }
+        Node newRoot = root.remove(hash(key), key, 0);
+        if (newRoot == root) {
+            return this;
+        }
+        return newRoot == null ? empty() : new PersistentHashTrie<>(newRoot, size - 1);
+    }
+
+    /**
+     * Повертає кількість записів.
+     *
+     * @return Кількість записів.
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Передає всі записи цієї версії споживачу. Порядок визначається хеш-кодами ключів.
+     *
+     * @param action Споживач пар ключ-значення.
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        if (root != null) {
+            root.forEach((BiConsumer<Object, Object>) action);
+        }
+    }
+
+    private static int hash(Object key) {
+        int hash = key.hashCode();
+        // Старші біти впливають на нижні рівні дерева, як у HashMap
+        return hash ^ (hash >>> 16);
+    }
+
+    private static int bitPosition(int hash, int shift) {
+        return 1 << ((hash >>> shift) & LEVEL_MASK);
+    }
+
+    /**
+     * Вузол дерева. Вузли незмінні; методи зміни повертають новий вузол
+     * або цей самий, якщо зміна нічого не змінює.
+     */
+    private abstract static class Node {
+        abstract Object find(int hash, Object key, int shift);
+
+        abstract Node put(int hash, Object key, Object value, int shift, boolean[] added);
+
+        /**
+         * @return Новий вузол, цей самий вузол, якщо ключа немає, або {@code null}, якщо вузол спорожнів.
+         */
+        abstract Node remove(int hash, Object key, int shift);
+
+        abstract void forEach(BiConsumer<Object, Object> action);
+    }
+
+    /**
+     * Вузол з бітовою маскою: для кожної позиції - пара (ключ, значення)
+     * або пара ({@code null}, дочірній вузол).
+     */
+    private static final class BitmapNode extends Node {
+        static final BitmapNode EMPTY = new BitmapNode(0, new Object[0]);
+
+        private final int bitmap;
+        private final Object[] slots;
+
+        BitmapNode(int bitmap, Object[] slots) {
+            this.bitmap = bitmap;
+            this.slots = slots;
+        }
+
+        private int index(int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        @Override
+        Object find(int hash, Object key, int shift) {
+            int bit = bitPosition(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return NOT_FOUND;
+            }
+            int index = index(bit);
+            Object storedKey = slots[2 * index];
+            Object storedValue = slots[2 * index + 1];
+            if (storedKey == null) {
+                return ((Node) storedValue).find(hash, key, shift + BITS_PER_LEVEL);
+            }
+            return key.equals(storedKey) ? storedValue : NOT_FOUND;
+        }
+
+        @Override
+        Node put(int hash, Object key, Object value, int shift, boolean[] added) {
+            int bit = bitPosition(hash, shift);
+            int index = index(bit);
+
+            if ((bitmap & bit) == 0) {
+                Object[] newSlots = new Object[slots.length + 2];
+                System.arraycopy(slots, 0, newSlots, 0, 2 * index);
+                newSlots[2 * index] = key;
+                newSlots[2 * index + 1] = value;
+                System.arraycopy(slots, 2 * index, newSlots, 2 * index + 2, slots.length - 2 * index);
+                added[0] = true;
+                return new BitmapNode(bitmap | bit, newSlots);
+            }
+
+            Object storedKey = slots[2 * index];
+            Object storedValue = slots[2 * index + 1];
+            if (storedKey == null) {
+                Node child = (Node) storedValue;
+                Node newChild = child.put(hash, key, value, shift + BITS_PER_LEVEL, added);
+                return newChild == child ? this : withSlot(2 * index + 1, newChild);
+            }
+            if (key.equals(storedKey)) {
+                return storedValue == value ? this : withSlot(2 * index + 1, value);
+            }
+
+            // Позицію займає інший ключ - переносимо обидва записи на наступний рівень
+            Node child = createNode(storedKey, storedValue, hash, key, value, shift + BITS_PER_LEVEL);
+            added[0] = true;
+            Object[] newSlots = slots.clone();
+            newSlots[2 * index] = null;
+            newSlots[2 * index + 1] = child;
+            return new BitmapNode(bitmap, newSlots);
+        }
+
+        @Override
+        Node remove(int hash, Object key, int shift) {
+            int bit = bitPosition(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return this;
+            }
+            int index = index(bit);
+            Object storedKey = slots[2 * index];
+            Object storedValue = slots[2 * index + 1];
+
+            if (storedKey == null) {
+                Node child = (Node) storedValue;
+                Node newChild = child.remove(hash, key, shift + BITS_PER_LEVEL);
+                if (newChild == child) {
+                    return this;
+                }
+                if (newChild != null) {
+                    return withSlot(2 * index + 1, newChild);
+                }
+            } else if (!key.equals(storedKey)) {
+                return this;
+            }
+
+            if (bitmap == bit) {
+                return null;
+            }
+            Object[] newSlots = new Object[slots.length - 2];
+            System.arraycopy(slots, 0, newSlots, 0, 2 * index);
+            System.arraycopy(slots, 2 * index + 2, newSlots, 2 * index, slots.length - 2 * index - 2);
+            return new BitmapNode(bitmap & ~bit, newSlots);
+        }
+
+        @Override
+        void forEach(BiConsumer<Object, Object> action) {
+            for (int i = 0; i < slots.length; i += 2) {
+                if (slots[i] == null) {
+                    ((Node) slots[i + 1]).forEach(action);
+                } else {
+                    action.accept(slots[i], slots[i + 1]);
+                }
+            }
+        }
+
+        private BitmapNode withSlot(int slotIndex, Object slotValue) {
+            Object[] newSlots = slots.clone();
+            newSlots[slotIndex] = slotValue;
+            return new BitmapNode(bitmap, newSlots);
+        }
+
+        private static Node createNode(Object firstKey, Object firstValue, int secondHash, Object secondKey, Object secondValue, int shift) {
+            int firstHash = hash(firstKey);
+            if (firstHash == secondHash) {
+                return new CollisionNode(firstHash, new Object[] { firstKey, firstValue, secondKey, secondValue });
+            }
+            boolean[] added = { false };
+            return EMPTY.put(firstHash, firstKey, firstValue, shift, added).put(secondHash, secondKey, secondValue, shift, added);
+        }
+    }
+
+    /**
+     * Вузол для ключів з однаковим хеш-кодом: пари ключ-значення в порядку додавання.
+     */
+    private static final class CollisionNode extends Node {
+        private final int hash;
+        private final Object[] entries;
+
+        CollisionNode(int hash, Object[] entries) {
+            this.hash = hash;
+            this.entries = entries;
+        }
+
+        private int indexOf(Object key) {
+            for (int i = 0; i < entries.length; i += 2) {
+                if (key.equals(entries[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        Object find(int hash, Object key, int shift) {
+            int index = hash == this.hash ? indexOf(key) : -1;
+            return index < 0 ? NOT_FOUND : entries[index + 1];
+        }
+
+        @Override
+        Node put(int hash, Object key, Object value, int shift, boolean[] added) {
+            if (hash != this.hash) {
+                // Новий ключ відрізняється хеш-кодом - ставимо вузол колізій під вузол з маскою
+                BitmapNode parent = new BitmapNode(bitPosition(this.hash, shift), new Object[] { null, this });
+                return parent.put(hash, key, value, shift, added);
+            }
+
+            int index = indexOf(key);
+            if (index >= 0) {
+                if (entries[index + 1] == value) {
+                    return this;
+                }
+                Object[] newEntries = entries.clone();
+                newEntries[index + 1] = value;
+                return new CollisionNode(hash, newEntries);
+            }
+
+            Object[] newEntries = Arrays.copyOf(entries, entries.length + 2);
+            newEntries[entries.length] = key;
+            newEntries[entries.length + 1] = value;
+            added[0] = true;
+            return new CollisionNode(hash, newEntries);
+        }
+
+        @Override
+        Node remove(int hash, Object key, int shift) {
+            int index = hash == this.hash ? indexOf(key) : -1;
+            if (index < 0) {
+                return this;
+            }
+            if (entries.length == 2) {
+                return null;
+            }
+            Object[] newEntries = new Object[entries.length - 2];
+            System.arraycopy(entries, 0, newEntries, 0, index);
+            System.arraycopy(entries, index + 2, newEntries, index, entries.length - index - 2);
+            return new CollisionNode(hash, newEntries);
+        }
+
+        @Override
+        void forEach(BiConsumer<Object, Object> action) {
+            for (int i = 0; i < entries.length; i += 2) {
+                action.accept(entries[i], entries[i + 1]);
+            }
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/**
+ * Клас RangeQueryIndex відповідає на запити кількості, суми та середнього значень
+ * у відрізку [from, to].
+ *
+ * <p>Індекс - впорядкований масив примітивних чисел. Межі відрізку знаходять два бінарні
+ * пошуки, тож кількість обчислюється за O(log n). Сума обчислюється підсумовуванням
+ * з компенсацією ({@link CompensatedSum}) лише значень знайденого відрізку - O(log n + k)
+ * для k значень у відрізку. Різниця префіксних сум тут не підходить: у файлах даних є
+ * значення до ±1e303, і в префіксних сумах вони знищують усі менші доданки.</p>
+ */
+public class RangeQueryIndex {
+    private final double[] sortedValues;
+
+    /**
+     * Результат запиту по відрізку: кількість, сума та середнє значень.
+     */
+    public static class RangeSummary {
+        private final long count;
+        private final double sum;
+
+        RangeSummary(long count, double sum) {
+            this.count = count;
+            this.sum = sum;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public double getSum() {
+            return sum;
+        }
+
+        /**
+         * Повертає середнє значення у відрізку.
+         *
+         * @return Середнє значення або {@code NaN}, якщо відрізок порожній.
+         */
+        public double getMean() {
+            return count == 0 ? Double.NaN : sum / count;
+        }
+    }
+
+    /**
+     * Будує індекс для впорядкованого масиву.
+     *
+     * @param sortedValues Масив чисел, упорядкований за зростанням.
+     */
+    public RangeQueryIndex(double[] sortedValues) {
+        this.sortedValues = sortedValues;
+    }
+
+    /**
+     * Обчислює кількість, суму і середнє значень у відрізку [from, to].
+     *
+     * @param from Нижня межа відрізку (включно).
+     * @param to Верхня межа відрізку (включно).
+     * @return Підсумок по відрізку.
+     */
+    public RangeSummary query(double from, double to) {
+        if (from > to) {
+            return new RangeSummary(0, 0);
+        }
+        int start = lowerBound(sortedValues, sortedValues.length, from);
+        int end = upperBound(sortedValues, sortedValues.length, to);
+        return new RangeSummary(end - start, CompensatedSum.sum(sortedValues, start, end));
+    }
+
+    /**
+     * Повертає індекс першого елемента, не меншого за значення.
+     *
+     * @param sortedValues Впорядкований масив.
+     * @param length Кількість заповнених елементів масиву.
+     * @param value Значення.
+     * @return Індекс від 0 до {@code length}.
+     */
+    static int lowerBound(double[] sortedValues, int length, double value) {
+        int low = 0;
+        int high = length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (sortedValues[middle] < value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Повертає індекс першого елемента, більшого за значення.
+     *
+     * @param sortedValues Впорядкований масив.
+     * @param length Кількість заповнених елементів масиву.
+     * @param value Значення.
+     * @return Індекс від 0 до {@code length}.
+     */
+    static int upperBound(double[] sortedValues, int length, double value) {
+        int low = 0;
+        int high = length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (sortedValues[middle] <= value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
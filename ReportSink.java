@@ -0,0 +1,154 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Клас ReportSink накопичує звітні повідомлення, щоб консольний вивід не потрапляв у виміряні інтервали.
+ *
+ * <p>Режим роботи задається системною властивістю {@code report.mode}:</p>
+ * <ul>
+ *   <li>{@code async} - повідомлення буферизуються і виводяться фоновим потоком (типово);</li>
+ *   <li>{@code deferred} - повідомлення накопичуються і виводяться в кінці запуску;</li>
+ *   <li>{@code direct} - повідомлення виводяться одразу, як {@code System.out.println};</li>
+ *   <li>{@code off} - вивід звітів вимкнено повністю.</li>
+ * </ul>
+ *
+ * <p>Приклад використання:</p>
+ * <pre>
+ * {@code
+ * java -Dreport.mode=deferred BasicDataOperation "1234567890"
+ * }
+ * </pre>
+ */
+public class ReportSink {
+    enum Mode { ASYNC, DEFERRED, DIRECT, OFF }
+
+    private static final Mode MODE = resolveMode(System.getProperty("report.mode", "async"));
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    private static final BlockingQueue<Object> pendingMessages = new LinkedBlockingQueue<>();
+    private static final StringBuilder deferredMessages = new StringBuilder();
+    private static Thread writerThread;
+    private static volatile boolean muted;
+
+    /**
+     * Додає повідомлення до звіту.
+     *
+     * @param message Текст повідомлення.
+     */
+    public static void println(String message) {
+        if (muted) {
+            return;
+        }
+        switch (MODE) {
+            case ASYNC:
+                startWriterThread();
+                pendingMessages.add(message);
+                break;
+            case DEFERRED:
+                synchronized (deferredMessages) {
+                    deferredMessages.append(message).append(LINE_SEPARATOR);
+                }
+                break;
+            case DIRECT:
+                System.out.println(message);
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Тимчасово вимикає або знову вмикає звіт незалежно від режиму, наприклад
+     * на час повторних прогонів операцій під час вимірювання продуктивності.
+     *
+     * @param muted {@code true}, щоб відкидати нові повідомлення.
+     */
+    public static void setMuted(boolean muted) {
+        ReportSink.muted = muted;
+    }
+
+    /**
+     * Виводить усі накопичені повідомлення і чекає, доки фоновий потік їх запише.
+     * Викликається в кінці запуску.
+     */
+    public static void flush() {
+        if (MODE == Mode.ASYNC && writerThread != null) {
+            CountDownLatch written = new CountDownLatch(1);
+            pendingMessages.add(written);
+            try {
+                written.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        } else if (MODE == Mode.DEFERRED) {
+            synchronized (deferredMessages) {
+                System.out.print(deferredMessages);
+                deferredMessages.setLength(0);
+            }
+        }
+        System.out.flush();
+    }
+
+    /**
+     * Запускає фоновий потік виведення, якщо його ще не створено.
+     */
+    private static synchronized void startWriterThread() {
+        if (writerThread != null) {
+            return;
+        }
+        writerThread = new Thread(ReportSink::drainMessages, "report-sink-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * Забирає повідомлення з черги пакетами та виводить їх одним записом.
+     */
+    private static void drainMessages() {
+        List<Object> batch = new ArrayList<>();
+        StringBuilder text = new StringBuilder();
+
+        try {
+            while (true) {
+                batch.add(pendingMessages.take());
+                pendingMessages.drainTo(batch);
+
+                for (Object item : batch) {
+                    if (item instanceof CountDownLatch) {
+                        // Маркер flush(): виводимо все, що передувало йому, і сповіщаємо
+                        System.out.print(text);
+                        System.out.flush();
+                        text.setLength(0);
+                        ((CountDownLatch) item).countDown();
+                    } else {
+                        text.append(item).append(LINE_SEPARATOR);
+                    }
+                }
+
+                System.out.print(text);
+                text.setLength(0);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Визначає режим роботи за значенням системної властивості.
+     *
+     * @param value Значення властивості {@code report.mode}.
+     * @return Режим роботи; {@code ASYNC} для невідомих значень.
+     */
+    private static Mode resolveMode(String value) {
+        try {
+            return Mode.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            System.err.println("Невідомий режим звіту '" + value + "', використовується async");
+            return Mode.ASYNC;
+        }
+    }
+}
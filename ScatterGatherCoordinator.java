@@ -0,0 +1,315 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.stream.Stream;
+
+/**
+ * Клас ScatterGatherCoordinator розподіляє обробку файлу даних між кількома процесами.
+ *
+ * <p>Файл ділиться на діапазони байтів, вирівняні за межами рядків; кожен діапазон
+ * обробляє окремий процес {@link ShardWorker} з тим самим classpath, тож жодна JVM
+ * не тримає в пам'яті весь файл. Координатор збирає мінімум і максимум, результати
+ * пошуку з глобальними позиціями, а відсортовані шарди зливає k-шляховим злиттям
+ * у файл {@code .sorted}.</p>
+ *
+ * <p>Обсяг купи робочих процесів задається властивістю {@code -Dscatter.worker.heap}
+ * (наприклад, {@code 512m}).</p>
+ */
+public class ScatterGatherCoordinator {
+    private final String filePath;
+    private final int shardCount;
+
+    /**
+     * Результат обробки одного шарду.
+     */
+    private static class ShardResult {
+        int shardIndex;
+        long startOffset;
+        long endOffset;
+        int valueCount;
+        double minValue;
+        double maxValue;
+        int lessCount;
+        int equalCount;
+        int firstHitIndex;
+        long lineCount;
+        final List<Long> invalidLineNumbers = new ArrayList<>();
+        final List<String> invalidLines = new ArrayList<>();
+        Path sortedShardPath;
+    }
+
+    /**
+     * Поточна позиція читання відсортованого шарду під час злиття.
+     */
+    private static class ShardCursor {
+        final DataInputStream input;
+        int remainingValues;
+        double currentValue;
+
+        ShardCursor(DataInputStream input, int valueCount) {
+            this.input = input;
+            this.remainingValues = valueCount;
+        }
+
+        boolean advance() throws IOException {
+            if (remainingValues == 0) {
+                return false;
+            }
+            currentValue = input.readDouble();
+            remainingValues--;
+            return true;
+        }
+    }
+
+    /**
+     * Створює координатора для файлу даних.
+     *
+     * @param filePath Шлях до файлу з даними.
+     * @param shardCount Кількість шардів і робочих процесів.
+     */
+    public ScatterGatherCoordinator(String filePath, int shardCount) {
+        this.filePath = filePath;
+        this.shardCount = shardCount;
+    }
+
+    /**
+     * Розподіляє файл між процесами, збирає результати і записує відсортований файл.
+     *
+     * @param valueToSearch Значення для пошуку.
+     * @param sortedFilePath Шлях до файлу для відсортованих значень.
+     */
+    public void run(double valueToSearch, String sortedFilePath) {
+        Path shardDirectory = null;
+        try {
+            shardDirectory = Files.createTempDirectory("shards");
+            long[] boundaries = DataFileHandler.splitIntoLineAlignedRanges(filePath, shardCount);
+
+            PerformanceTracker.OperationScope operation = PerformanceTracker.startOperation("Process", shardCount);
+            List<ShardResult> results = scatter(boundaries, valueToSearch, shardDirectory);
+            operation.stop("розподілена обробка шардів", results.size());
+
+            printGatheredResults(results, valueToSearch);
+            mergeSortedShards(results, sortedFilePath);
+        } catch (IOException | InterruptedException e) {
+            ReportSink.println("❌ Помилка розподіленої обробки: " + e.getMessage());
+        } finally {
+            deleteShardDirectory(shardDirectory);
+        }
+    }
+
+    /**
+     * Запускає робочі процеси для всіх шардів і чекає на їхні результати.
+     */
+    private List<ShardResult> scatter(long[] boundaries, double valueToSearch, Path shardDirectory) throws IOException, InterruptedException {
+        List<ShardResult> results = new ArrayList<>();
+        List<Process> workers = new ArrayList<>();
+        try {
+            startWorkers(results, workers, boundaries, valueToSearch, shardDirectory);
+            collectResults(results, workers);
+        } finally {
+            // Після збою одного шарду решта процесів уже не потрібна: зупиняємо і дочікуємося всіх
+            for (Process worker : workers) {
+                worker.destroy();
+            }
+            for (Process worker : workers) {
+                worker.waitFor();
+            }
+        }
+
+        return results;
+    }
+
+    /**
+     * Запускає робочий процес для кожного шарду.
+     */
+    private void startWorkers(List<ShardResult> results, List<Process> workers, long[] boundaries, double valueToSearch,
+                              Path shardDirectory) throws IOException {
+        String javaExecutable = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        String classPath = System.getProperty("java.class.path");
+        String workerHeap = System.getProperty("scatter.worker.heap");
+
+        for (int i = 0; i < shardCount; i++) {
+            ShardResult result = new ShardResult();
+            result.shardIndex = i;
+            result.startOffset = boundaries[i];
+            result.endOffset = boundaries[i + 1];
+            result.sortedShardPath = shardDirectory.resolve("shard-" + i + ".bin");
+            results.add(result);
+
+            List<String> command = new ArrayList<>();
+            command.add(javaExecutable);
+            if (workerHeap != null) {
+                command.add("-Xmx" + workerHeap);
+            }
+            command.add("-Dfile.encoding=UTF-8");
+            command.add("-Dreport.mode=off");
+            command.add("-cp");
+            command.add(classPath);
+            command.add("ShardWorker");
+            command.add(filePath);
+            command.add(String.valueOf(result.startOffset));
+            command.add(String.valueOf(result.endOffset));
+            command.add(String.valueOf(valueToSearch));
+            command.add(result.sortedShardPath.toString());
+
+            workers.add(new ProcessBuilder(command).redirectError(ProcessBuilder.Redirect.INHERIT).start());
+        }
+    }
+
+    /**
+     * Читає підсумки робочих процесів; збій будь-якого з них перериває обробку.
+     */
+    private void collectResults(List<ShardResult> results, List<Process> workers) throws IOException, InterruptedException {
+        // Процес, який заповнив канал виводу, лише чекає на читання, тому послідовне читання не блокує інші процеси
+        for (int i = 0; i < shardCount; i++) {
+            Process worker = workers.get(i);
+            ShardResult result = results.get(i);
+            String resultLine = null;
+            try (BufferedReader workerOutput = new BufferedReader(new InputStreamReader(worker.getInputStream(), StandardCharsets.UTF_8))) {
+                String currentLine;
+                while ((currentLine = workerOutput.readLine()) != null) {
+                    if (currentLine.startsWith(ShardWorker.RESULT_PREFIX + " ")) {
+                        resultLine = currentLine;
+                    } else if (currentLine.startsWith(ShardWorker.INVALID_LINE_PREFIX + " ")) {
+                        String[] fields = currentLine.split(" ", 3);
+                        result.invalidLineNumbers.add(Long.parseLong(fields[1]));
+                        result.invalidLines.add(fields[2]);
+                    }
+                }
+            }
+
+            int exitCode = worker.waitFor();
+            if (exitCode != 0 || resultLine == null) {
+                throw new IOException("Процес шарду " + i + " завершився з кодом " + exitCode);
+            }
+
+            String[] fields = resultLine.split(" ");
+            result.valueCount = Integer.parseInt(fields[1]);
+            result.minValue = Double.parseDouble(fields[2]);
+            result.maxValue = Double.parseDouble(fields[3]);
+            result.lessCount = Integer.parseInt(fields[4]);
+            result.equalCount = Integer.parseInt(fields[5]);
+            result.firstHitIndex = Integer.parseInt(fields[6]);
+            result.lineCount = Long.parseLong(fields[7]);
+        }
+    }
+
+    /**
+     * Зводить мінімум, максимум і результати пошуку всіх шардів.
+     */
+    private void printGatheredResults(List<ShardResult> results, double valueToSearch) {
+        long totalCount = 0;
+        long lessCount = 0;
+        long equalCount = 0;
+        long firstHitIndex = -1;
+        double minValue = Double.NaN;
+        double maxValue = Double.NaN;
+
+        // Номери рядків у шарді відлічуються від його початку; зсув - кількість рядків у попередніх шардах
+        long lineOffset = 0;
+        for (ShardResult result : results) {
+            for (int i = 0; i < result.invalidLines.size(); i++) {
+                ReportSink.println("Пропущено некоректний рядок " + (lineOffset + result.invalidLineNumbers.get(i))
+                        + " у файлі '" + filePath + "': " + result.invalidLines.get(i));
+            }
+            lineOffset += result.lineCount;
+        }
+
+        for (ShardResult result : results) {
+            ReportSink.println("Шард " + result.shardIndex + ": байти " + result.startOffset + "-" + result.endOffset
+                    + ", значень: " + result.valueCount);
+            if (result.valueCount == 0) {
+                continue;
+            }
+            if (firstHitIndex < 0 && result.firstHitIndex >= 0) {
+                firstHitIndex = totalCount + result.firstHitIndex;
+            }
+            if (totalCount == 0 || result.minValue < minValue) {
+                minValue = result.minValue;
+            }
+            if (totalCount == 0 || result.maxValue > maxValue) {
+                maxValue = result.maxValue;
+            }
+            totalCount += result.valueCount;
+            lessCount += result.lessCount;
+            equalCount += result.equalCount;
+        }
+
+        ReportSink.println("Усього значень: " + totalCount);
+        ReportSink.println("Мінімальне значення: " + minValue + ", максимальне значення: " + maxValue);
+        if (equalCount > 0) {
+            ReportSink.println("Значення '" + valueToSearch + "' знайдено " + equalCount + " раз(и): перша позиція у файлі " + firstHitIndex
+                    + ", позиції у відсортованому файлі " + lessCount + "-" + (lessCount + equalCount - 1));
+        } else {
+            ReportSink.println("Значення '" + valueToSearch + "' не знайдено");
+        }
+    }
+
+    /**
+     * Зливає відсортовані шарди в один текстовий файл k-шляховим злиттям.
+     */
+    private void mergeSortedShards(List<ShardResult> results, String sortedFilePath) throws IOException {
+        long totalCount = 0;
+        for (ShardResult result : results) {
+            totalCount += result.valueCount;
+        }
+        PerformanceTracker.OperationScope operation = PerformanceTracker.startOperation("PriorityQueue", totalCount);
+
+        PriorityQueue<ShardCursor> cursors = new PriorityQueue<>(Math.max(1, results.size()),
+                (first, second) -> Double.compare(first.currentValue, second.currentValue));
+        List<ShardCursor> openCursors = new ArrayList<>();
+
+        try (SortedFileWriter fileWriter = new SortedFileWriter(sortedFilePath)) {
+            for (ShardResult result : results) {
+                ShardCursor cursor = new ShardCursor(new DataInputStream(new BufferedInputStream(
+                        new FileInputStream(result.sortedShardPath.toFile()))), result.valueCount);
+                openCursors.add(cursor);
+                if (cursor.advance()) {
+                    cursors.add(cursor);
+                }
+            }
+
+            while (!cursors.isEmpty()) {
+                ShardCursor cursor = cursors.poll();
+                fileWriter.write(cursor.currentValue);
+                if (cursor.advance()) {
+                    cursors.add(cursor);
+                }
+            }
+            fileWriter.commit();
+        } catch (EOFException e) {
+            throw new IOException("Файл шарду коротший, ніж очікувалося", e);
+        } finally {
+            for (ShardCursor cursor : openCursors) {
+                cursor.input.close();
+            }
+        }
+
+        operation.stop("k-шляхове злиття шардів у файл", sortedFilePath);
+    }
+
+    private static void deleteShardDirectory(Path shardDirectory) {
+        if (shardDirectory == null) {
+            return;
+        }
+        try (Stream<Path> shardFiles = Files.list(shardDirectory)) {
+            for (Path shardFile : (Iterable<Path>) shardFiles::iterator) {
+                Files.deleteIfExists(shardFile);
+            }
+            Files.deleteIfExists(shardDirectory);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+}
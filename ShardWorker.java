@@ -0,0 +1,82 @@
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Клас ShardWorker обробляє одну частину (шард) файлу даних в окремому процесі.
+ *
+ * <p>Запускається координатором {@link ScatterGatherCoordinator}: завантажує рядки
+ * заданого діапазону байтів, визначає мінімум і максимум, шукає значення, сортує
+ * шард і зберігає його у двійковий файл. Некоректні рядки пропускаються, а підсумок
+ * виводиться одним рядком у стандартний вивід після рядків про пропущені:</p>
+ * <pre>
+ * {@code
+ * INVALID <номер-рядка-в-шарді> <текст-рядка>
+ * SHARD <кількість> <мінімум> <максимум> <менших-за-шукане> <рівних-шуканому> <перша-позиція-або--1> <кількість-рядків>
+ * }
+ * </pre>
+ */
+public class ShardWorker {
+    static final String RESULT_PREFIX = "SHARD";
+    static final String INVALID_LINE_PREFIX = "INVALID";
+
+    public static void main(String[] args) {
+        if (args.length < 5) {
+            System.err.println("Використання: java ShardWorker <файл> <початок> <кінець> <пошукове-значення> <файл-шарду>");
+            System.exit(2);
+        }
+
+        String filePath = args[0];
+        long startOffset = Long.parseLong(args[1]);
+        long endOffset = Long.parseLong(args[2]);
+        double valueToSearch = Double.parseDouble(args[3]);
+        String sortedShardPath = args[4];
+
+        try {
+            double[][] buffer = { new double[1024] };
+            int[] valueCount = { 0 };
+            long lineCount = DataFileHandler.streamValuesFromRange(filePath, startOffset, endOffset, value -> {
+                if (valueCount[0] == buffer[0].length) {
+                    buffer[0] = Arrays.copyOf(buffer[0], buffer[0].length * 2);
+                }
+                buffer[0][valueCount[0]++] = value;
+            }, (line, lineNumber) -> System.out.println(INVALID_LINE_PREFIX + " " + lineNumber + " " + line));
+            double[] shardValues = Arrays.copyOf(buffer[0], valueCount[0]);
+
+            // Перша позиція в порядку файлу, до сортування
+            int firstHitIndex = -1;
+            double minValue = Double.NaN;
+            double maxValue = Double.NaN;
+            for (int i = 0; i < shardValues.length; i++) {
+                double value = shardValues[i];
+                if (firstHitIndex < 0 && value == valueToSearch) {
+                    firstHitIndex = i;
+                }
+                if (i == 0 || value < minValue) {
+                    minValue = value;
+                }
+                if (i == 0 || value > maxValue) {
+                    maxValue = value;
+                }
+            }
+
+            Arrays.sort(shardValues);
+            int lessCount = RangeQueryIndex.lowerBound(shardValues, shardValues.length, valueToSearch);
+            int equalCount = RangeQueryIndex.upperBound(shardValues, shardValues.length, valueToSearch) - lessCount;
+
+            try (DataOutputStream shardOutput = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(sortedShardPath)))) {
+                for (double value : shardValues) {
+                    shardOutput.writeDouble(value);
+                }
+            }
+
+            System.out.println(RESULT_PREFIX + " " + shardValues.length + " " + minValue + " " + maxValue
+                    + " " + lessCount + " " + equalCount + " " + firstHitIndex + " " + lineCount);
+        } catch (IOException e) {
+            e.printStackTrace();
+            System.exit(1);
+        }
+    }
+}
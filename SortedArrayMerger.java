@@ -0,0 +1,77 @@
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Клас SortedArrayMerger зливає дописані у файл значення з упорядкованим масивом
+ * обробника. Спільний для обробників List, Queue і Set: кожен з них передає лише
+ * спосіб вставки нових значень у власну колекцію.
+ */
+final class SortedArrayMerger {
+    private SortedArrayMerger() {
+    }
+
+    /**
+     * Впорядковує нові значення, додає їх до колекції обробника і зливає з його масивом.
+     *
+     * @param sortedArray Упорядкований масив обробника.
+     * @param appendedValues Нові значення в порядку читання з файлу.
+     * @param collectionInserter Додає до колекції нові значення, впорядковані за зростанням.
+     * @return Новий упорядкований масив з усіма значеннями.
+     */
+    static Double[] mergeAppendedValues(Double[] sortedArray, double[] appendedValues, Consumer<double[]> collectionInserter) {
+        double[] sortedValues = appendedValues.clone();
+        Arrays.sort(sortedValues);
+
+        collectionInserter.accept(sortedValues);
+
+        return mergeSortedArrays(sortedArray, sortedValues);
+    }
+
+    /**
+     * Зливає два упорядковані масиви за один прохід.
+     *
+     * <p>Порівняння через {@link Double#compare(double, double)} зберігає порядок
+     * {@link Arrays#sort(Object[])}: -0.0 перед 0.0, NaN наприкінці.</p>
+     *
+     * @param sortedArray Упорядкований масив обробника.
+     * @param sortedValues Упорядковані нові значення.
+     * @return Новий упорядкований масив.
+     */
+    private static Double[] mergeSortedArrays(Double[] sortedArray, double[] sortedValues) {
+        Double[] mergedArray = new Double[sortedArray.length + sortedValues.length];
+        int arrayIndex = 0;
+        int valueIndex = 0;
+        int mergedIndex = 0;
+
+        while (arrayIndex < sortedArray.length && valueIndex < sortedValues.length) {
+            if (Double.compare(sortedArray[arrayIndex], sortedValues[valueIndex]) <= 0) {
+                mergedArray[mergedIndex++] = sortedArray[arrayIndex++];
+            } else {
+                mergedArray[mergedIndex++] = sortedValues[valueIndex++];
+            }
+        }
+        while (arrayIndex < sortedArray.length) {
+            mergedArray[mergedIndex++] = sortedArray[arrayIndex++];
+        }
+        while (valueIndex < sortedValues.length) {
+            mergedArray[mergedIndex++] = sortedValues[valueIndex++];
+        }
+
+        return mergedArray;
+    }
+
+    /**
+     * Виводить підсумок злиття нових значень.
+     *
+     * @param collectionName Назва колекції у звіті.
+     * @param appendedCount Кількість нових значень.
+     * @param collectionSize Розмір колекції після злиття.
+     * @param minValue Поточне найменше значення.
+     * @param maxValue Поточне найбільше значення.
+     */
+    static void reportMergedValues(String collectionName, int appendedCount, int collectionSize, double minValue, double maxValue) {
+        ReportSink.println("Додано нових значень: " + appendedCount + ", розмір " + collectionName + ": " + collectionSize);
+        ReportSink.println("Поточне найменше значення: " + minValue);
+        ReportSink.println("Поточне найбільше значення: " + maxValue);
+    }
+}
@@ -0,0 +1,154 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFilePermissions;
+
+/**
+ * Клас SortedFileWriter записує числа (або символи) у текстовий файл, по одному в рядку.
+ *
+ * <p>Числа форматуються в повторно використовуваний {@link StringBuilder}
+ * (без створення рядка для кожного значення) і копіюються у великий байтовий буфер,
+ * який записується через {@link FileChannel}. Дані пишуться в тимчасовий файл
+ * у тому ж каталозі, що й цільовий, і лише після {@link #commit()} атомарно
+ * перейменовуються, тож читачі ніколи не бачать частково записаний файл.</p>
+ *
+ * <p>Приклад використання:</p>
+ * <pre>
+ * {@code
+ * try (SortedFileWriter writer = new SortedFileWriter("list/double.data.sorted")) {
+ *     for (double value : values) {
+ *         writer.write(value);
+ *     }
+ *     writer.commit();
+ * }
+ * }
+ * </pre>
+ */
+public class SortedFileWriter implements Closeable {
+    private static final int BUFFER_BYTES = 1 << 20;
+    private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes(StandardCharsets.US_ASCII);
+
+    private final Path targetPath;
+    private final Path temporaryPath;
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES);
+    private final StringBuilder formattedValue = new StringBuilder(32);
+    private long valueCount;
+    private boolean committed;
+
+    /**
+     * Створює тимчасовий файл поруч із цільовим.
+     *
+     * @param filePath Шлях до цільового файлу.
+     * @throws IOException Якщо тимчасовий файл не вдалося створити.
+     */
+    public SortedFileWriter(String filePath) throws IOException {
+        this.targetPath = Paths.get(filePath).toAbsolutePath();
+        this.temporaryPath = Files.createTempFile(targetPath.getParent(), targetPath.getFileName().toString(), ".tmp");
+        try {
+            // Тимчасовий файл створюється доступним лише власнику; результат має бути звичайним файлом
+            Files.setPosixFilePermissions(temporaryPath, PosixFilePermissions.fromString("rw-r--r--"));
+        } catch (UnsupportedOperationException e) {
+            // Файлова система без прав POSIX - залишаємо типові права
+        }
+        this.channel = FileChannel.open(temporaryPath, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    /**
+     * Дописує число окремим рядком у тому ж форматі, що й {@link String#valueOf(double)}.
+     *
+     * @param value Число.
+     * @throws IOException Якщо дані не вдалося записати.
+     */
+    public void write(double value) throws IOException {
+        formattedValue.setLength(0);
+        formattedValue.append(value);
+
+        int length = formattedValue.length();
+        if (buffer.remaining() < length + LINE_SEPARATOR.length) {
+            flushBuffer();
+        }
+        // Запис числа містить лише символи ASCII, тому кожен символ - один байт
+        for (int i = 0; i < length; i++) {
+            buffer.put((byte) formattedValue.charAt(i));
+        }
+        buffer.put(LINE_SEPARATOR);
+        valueCount++;
+    }
+
+    /**
+     * Дописує символ у кодуванні UTF-8 заданою кількістю окремих рядків.
+     *
+     * @param codePoint Кодова точка символу.
+     * @param repetitions Кількість рядків із символом.
+     * @throws IOException Якщо дані не вдалося записати.
+     */
+    public void writeCodePoint(int codePoint, int repetitions) throws IOException {
+        byte[] encoded = new String(Character.toChars(codePoint)).getBytes(StandardCharsets.UTF_8);
+        for (int i = 0; i < repetitions; i++) {
+            if (buffer.remaining() < encoded.length + LINE_SEPARATOR.length) {
+                flushBuffer();
+            }
+            buffer.put(encoded);
+            buffer.put(LINE_SEPARATOR);
+        }
+        valueCount += repetitions;
+    }
+
+    /**
+     * Повертає кількість записаних чисел.
+     *
+     * @return Кількість чисел.
+     */
+    public long getValueCount() {
+        return valueCount;
+    }
+
+    /**
+     * Записує залишок буфера на диск і атомарно замінює цільовий файл тимчасовим.
+     *
+     * @throws IOException Якщо дані не вдалося записати або перейменувати файл.
+     */
+    public void commit() throws IOException {
+        flushBuffer();
+        channel.force(false);
+        channel.close();
+
+        try {
+            Files.move(temporaryPath, targetPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporaryPath, targetPath, StandardCopyOption.REPLACE_EXISTING);
+        }
+        committed = true;
+    }
+
+    /**
+     * Закриває файл; якщо {@link #commit()} не було викликано, тимчасовий файл видаляється,
+     * а цільовий залишається без змін.
+     *
+     * @throws IOException Якщо файл не вдалося закрити або видалити.
+     */
+    @Override
+    public void close() throws IOException {
+        if (!committed) {
+            channel.close();
+            Files.deleteIfExists(temporaryPath);
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
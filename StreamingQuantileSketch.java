@@ -0,0 +1,186 @@
+import java.util.Arrays;
+import java.util.function.DoubleConsumer;
+
+/**
+ * Клас StreamingQuantileSketch оцінює квантилі потоку чисел без збереження самих даних.
+ *
+ * <p>Для кожної ймовірності використовується алгоритм P² (Jain, Chlamtac): п'ять маркерів,
+ * положення яких коригуються параболічною інтерполяцією після кожного значення. Пам'ять
+ * не залежить від розміру файлу, тому скетч підходить для файлів, які не вміщуються
+ * в пам'ять. Мінімум, максимум і кількість значень обчислюються точно.</p>
+ */
+public class StreamingQuantileSketch implements DoubleConsumer {
+    private final double[] probabilities;
+    private final P2Estimator[] estimators;
+
+    private long count;
+    private double minValue = Double.POSITIVE_INFINITY;
+    private double maxValue = Double.NEGATIVE_INFINITY;
+
+    /**
+     * Створює скетч для заданих ймовірностей.
+     *
+     * @param probabilities Ймовірності квантилів у межах [0, 1].
+     */
+    public StreamingQuantileSketch(double... probabilities) {
+        this.probabilities = probabilities.clone();
+        this.estimators = new P2Estimator[probabilities.length];
+        for (int i = 0; i < probabilities.length; i++) {
+            if (!(probabilities[i] >= 0 && probabilities[i] <= 1)) {
+                throw new IllegalArgumentException("Ймовірність квантиля має бути в межах [0, 1]: " + probabilities[i]);
+            }
+            estimators[i] = new P2Estimator(probabilities[i]);
+        }
+    }
+
+    /**
+     * Додає значення до скетчу.
+     *
+     * @param value Значення з потоку.
+     */
+    @Override
+    public void accept(double value) {
+        count++;
+        minValue = Math.min(minValue, value);
+        maxValue = Math.max(maxValue, value);
+        for (P2Estimator estimator : estimators) {
+            estimator.add(value);
+        }
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getMinValue() {
+        return minValue;
+    }
+
+    public double getMaxValue() {
+        return maxValue;
+    }
+
+    /**
+     * Повертає оцінки квантилів у порядку ймовірностей, переданих у конструктор.
+     * Квантилі з ймовірністю 0 і 1 - точні мінімум і максимум.
+     *
+     * @return Оцінки квантилів.
+     */
+    public double[] getQuantiles() {
+        double[] result = new double[estimators.length];
+        for (int i = 0; i < estimators.length; i++) {
+            if (getCount() > 0 && probabilities[i] == 0) {
+                result[i] = minValue;
+            } else if (getCount() > 0 && probabilities[i] == 1) {
+                result[i] = maxValue;
+            } else {
+                result[i] = estimators[i].estimate();
+            }
+        }
+        return result;
+    }
+
+    public double[] getProbabilities() {
+        return probabilities.clone();
+    }
+
+    /**
+     * Оцінювач одного квантиля за алгоритмом P².
+     */
+    private static class P2Estimator {
+        private final double probability;
+        private final double[] heights = new double[5];
+        private final double[] positions = new double[5];
+        private final double[] desiredPositions = new double[5];
+        private final double[] desiredIncrements;
+        private int observed;
+
+        P2Estimator(double probability) {
+            this.probability = probability;
+            this.desiredIncrements = new double[] {0, probability / 2, probability, (1 + probability) / 2, 1};
+        }
+
+        void add(double value) {
+            if (observed < 5) {
+                heights[observed++] = value;
+                if (observed == 5) {
+                    Arrays.sort(heights);
+                    for (int i = 0; i < 5; i++) {
+                        positions[i] = i + 1;
+                    }
+                    desiredPositions[0] = 1;
+                    desiredPositions[1] = 1 + 2 * probability;
+                    desiredPositions[2] = 1 + 4 * probability;
+                    desiredPositions[3] = 3 + 2 * probability;
+                    desiredPositions[4] = 5;
+                }
+                return;
+            }
+            observed++;
+
+            // Знаходимо проміжок між маркерами, в який потрапило значення
+            int cell;
+            if (value < heights[0]) {
+                heights[0] = value;
+                cell = 0;
+            } else if (value >= heights[4]) {
+                heights[4] = value;
+                cell = 3;
+            } else {
+                cell = 0;
+                while (value >= heights[cell + 1]) {
+                    cell++;
+                }
+            }
+
+            for (int i = cell + 1; i < 5; i++) {
+                positions[i]++;
+            }
+            for (int i = 0; i < 5; i++) {
+                desiredPositions[i] += desiredIncrements[i];
+            }
+
+            // Коригуємо внутрішні маркери, якщо вони відхилилися від бажаних позицій
+            for (int i = 1; i <= 3; i++) {
+                double offset = desiredPositions[i] - positions[i];
+                if ((offset >= 1 && positions[i + 1] - positions[i] > 1)
+                        || (offset <= -1 && positions[i - 1] - positions[i] < -1)) {
+                    int step = offset >= 0 ? 1 : -1;
+                    double candidate = parabolic(i, step);
+                    if (heights[i - 1] < candidate && candidate < heights[i + 1]) {
+                        heights[i] = candidate;
+                    } else {
+                        heights[i] = linear(i, step);
+                    }
+                    positions[i] += step;
+                }
+            }
+        }
+
+        double estimate() {
+            if (observed == 0) {
+                return Double.NaN;
+            }
+            if (observed < 5) {
+                double[] firstValues = Arrays.copyOf(heights, observed);
+                Arrays.sort(firstValues);
+                return firstValues[OrderStatistics.rankOf(probability, observed)];
+            }
+            return heights[2];
+        }
+
+        private double parabolic(int i, int step) {
+            double left = positions[i] - positions[i - 1];
+            double right = positions[i + 1] - positions[i];
+            return heights[i] + step / (positions[i + 1] - positions[i - 1])
+                    * ((left + step) * (heights[i + 1] - heights[i]) / right
+                    + (right - step) * (heights[i] - heights[i - 1]) / left);
+        }
+
+        private double linear(int i, int step) {
+            // Зважена сума замість різниці, щоб уникнути переповнення на значеннях близьких до Double.MAX_VALUE
+            double fraction = step / (positions[i + step] - positions[i]);
+            return (1 - fraction) * heights[i] + fraction * heights[i + step];
+        }
+    }
+}
@@ -0,0 +1,344 @@
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Клас StringSearchEngine шукає рядки за префіксом і підрядком без перегляду всіх рядків.
+ *
+ * <p>Рядки файлу зберігаються в одному масиві байтів UTF-8 (арені), кожен рядок
+ * завершується символом {@code '\n'}; масив зміщень вказує на початок кожного рядка.
+ * Замість окремого об'єкта String на рядок залишаються лише два масиви примітивів.</p>
+ *
+ * <p>Індекс - масив суфіксів: позиції всіх байтів арени, упорядковані за текстом, що
+ * починається з позиції і триває до кінця рядка. Масив упорядковується подвоєнням
+ * префіксів за O(n log L), де L - довжина найдовшого рядка, тому довгі рядки
+ * з повторами (наприклад, з одного символу) не сповільнюють побудову. Усі входження
+ * підрядка утворюють суцільний відрізок масиву суфіксів, який знаходять два двійкові
+ * пошуки - O(m log n) на запит для підрядка довжини m. Шукання відбувається за байтами
+ * UTF-8 з урахуванням регістру.</p>
+ */
+public class StringSearchEngine {
+    private static final byte LINE_TERMINATOR = '\n';
+
+    private final byte[] arena;
+    private final int[] lineOffsets;
+    private final int lineCount;
+    private int[] suffixes;
+
+    private StringSearchEngine(byte[] arena, int[] lineOffsets, int lineCount) {
+        this.arena = arena;
+        this.lineOffsets = lineOffsets;
+        this.lineCount = lineCount;
+    }
+
+    /**
+     * Завантажує непорожні рядки файлу (без BOM і пробілів на краях) в арену.
+     *
+     * @param filePath Шлях до файлу з рядками.
+     * @return Рушій пошуку без побудованого індексу.
+     * @throws IOException Якщо файл не вдалося прочитати.
+     */
+    public static StringSearchEngine loadFromFile(String filePath) throws IOException {
+        PerformanceTracker.OperationScope operation = PerformanceTracker.startOperation("byte[]", 0);
+
+        byte[] content = Files.readAllBytes(Paths.get(filePath));
+        // Рядки лише коротшають, тому арена не більша за файл із завершальним '\n'
+        byte[] arena = new byte[content.length + 1];
+        int[] lineOffsets = new int[16];
+        int arenaLength = 0;
+        int lineCount = 0;
+
+        int lineStart = 0;
+        for (int i = 0; i <= content.length; i++) {
+            if (i < content.length && content[i] != LINE_TERMINATOR) {
+                continue;
+            }
+
+            int start = lineStart;
+            int end = i;
+            lineStart = i + 1;
+            while (start < end && (content[start] & 0xFF) <= ' ') {
+                start++;
+            }
+            while (end > start && (content[end - 1] & 0xFF) <= ' ') {
+                end--;
+            }
+            // Видаляємо можливий BOM
+            if (end - start >= 3 && content[start] == (byte) 0xEF && content[start + 1] == (byte) 0xBB && content[start + 2] == (byte) 0xBF) {
+                start += 3;
+            }
+            if (start == end) {
+                continue;
+            }
+
+            if (lineCount == lineOffsets.length) {
+                lineOffsets = Arrays.copyOf(lineOffsets, lineOffsets.length * 2);
+            }
+            lineOffsets[lineCount++] = arenaLength;
+            System.arraycopy(content, start, arena, arenaLength, end - start);
+            arenaLength += end - start;
+            arena[arenaLength++] = LINE_TERMINATOR;
+        }
+
+        StringSearchEngine engine = new StringSearchEngine(Arrays.copyOf(arena, arenaLength), Arrays.copyOf(lineOffsets, lineCount), lineCount);
+
+        operation.setElementCount(lineCount);
+        operation.stop("завантаження рядків в арену UTF-8", arenaLength);
+
+        return engine;
+    }
+
+    /**
+     * Будує масив суфіксів для всіх позицій арени, крім завершальних символів рядків.
+     */
+    public void buildIndex() {
+        PerformanceTracker.OperationScope operation = PerformanceTracker.startOperation("int[]", arena.length - lineCount);
+
+        suffixes = new int[arena.length - lineCount];
+        sortSuffixes();
+
+        operation.stop("побудова масиву суфіксів", suffixes.length);
+    }
+
+    /**
+     * Повертає байт суфікса на заданій глибині; кінець рядка - -1, менше за будь-який байт.
+     */
+    private int byteAt(int position) {
+        byte value = arena[position];
+        return value == LINE_TERMINATOR ? -1 : value & 0xFF;
+    }
+
+    /**
+     * Упорядковує всі позиції арени подвоєнням префіксів і залишає в масиві суфіксів
+     * лише позиції, що не є завершальними символами рядків.
+     *
+     * <p>Після раунду з довжиною k ранг позиції - номер класу рівних префіксів довжини k;
+     * наступний раунд упорядковує пари (ранг[i], ранг[i + k]): порядок за другою
+     * половиною береться з попереднього раунду, далі - стійке сортування підрахунком
+     * за першою. Завершальні символи отримують різні ранги, менші за будь-який байт,
+     * тому суфікс відокремлюється від інших щойно префікс досягає кінця його рядка:
+     * кількість раундів - log2 найдовшого рядка незалежно від повторів у тексті.</p>
+     */
+    private void sortSuffixes() {
+        int length = arena.length;
+        int[] order = new int[length];
+        int[] rank = new int[length];
+        int[] buffer = new int[length];
+        int[] counts = new int[Math.max(length, lineCount + 256)];
+
+        int terminatorRank = 0;
+        for (int position = 0; position < length; position++) {
+            rank[position] = arena[position] == LINE_TERMINATOR ? terminatorRank++ : lineCount + (arena[position] & 0xFF);
+            buffer[position] = position;
+        }
+        if (length == 0) {
+            return;
+        }
+        countingSort(buffer, order, rank, lineCount + 256, counts);
+        // Ранги першого байта стискаються до [0, кількість різних байтів)
+        int rankCount = assignRanks(order, rank, buffer, 0);
+        int[] swapped = rank;
+        rank = buffer;
+        buffer = swapped;
+
+        for (int span = 1; rankCount < length; span <<= 1) {
+            // Спершу позиції без другої половини, далі решта за рангом другої половини
+            int count = 0;
+            for (int position = Math.max(length - span, 0); position < length; position++) {
+                buffer[count++] = position;
+            }
+            for (int i = 0; i < length; i++) {
+                if (order[i] >= span) {
+                    buffer[count++] = order[i] - span;
+                }
+            }
+            countingSort(buffer, order, rank, rankCount, counts);
+
+            rankCount = assignRanks(order, rank, buffer, span);
+            swapped = rank;
+            rank = buffer;
+            buffer = swapped;
+        }
+
+        int suffixCount = 0;
+        for (int i = 0; i < length; i++) {
+            if (arena[order[i]] != LINE_TERMINATOR) {
+                suffixes[suffixCount++] = order[i];
+            }
+        }
+    }
+
+    /**
+     * Стійко сортує позиції за ключем з діапазону [0, keyCount).
+     */
+    private static void countingSort(int[] source, int[] target, int[] keys, int keyCount, int[] counts) {
+        Arrays.fill(counts, 0, keyCount, 0);
+        for (int position : source) {
+            counts[keys[position]]++;
+        }
+        for (int key = 1; key < keyCount; key++) {
+            counts[key] += counts[key - 1];
+        }
+        for (int i = source.length - 1; i >= 0; i--) {
+            target[--counts[keys[source[i]]]] = source[i];
+        }
+    }
+
+    /**
+     * Записує нові ранги впорядкованих позицій: сусідні позиції з рівними парами
+     * (ранг[i], ранг[i + span]) отримують однаковий ранг.
+     *
+     * @return Кількість різних рангів.
+     */
+    private static int assignRanks(int[] order, int[] rank, int[] newRank, int span) {
+        int length = order.length;
+        newRank[order[0]] = 0;
+        for (int i = 1; i < length; i++) {
+            int previous = order[i - 1];
+            int current = order[i];
+            boolean equal = rank[previous] == rank[current]
+                    && (previous + span < length ? rank[previous + span] : -1) == (current + span < length ? rank[current + span] : -1);
+            newRank[current] = newRank[previous] + (equal ? 0 : 1);
+        }
+        return newRank[order[length - 1]] + 1;
+    }
+
+    /**
+     * Порівнює суфікс із шаблоном на довжині шаблону.
+     *
+     * @return Від'ємне число, нуль (суфікс починається з шаблону) або додатне число.
+     */
+    private int compareWithPattern(int suffix, byte[] pattern) {
+        for (int i = 0; i < pattern.length; i++) {
+            int suffixByte = byteAt(suffix + i);
+            int patternByte = pattern[i] & 0xFF;
+            if (suffixByte != patternByte) {
+                return suffixByte - patternByte;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Знаходить відрізок масиву суфіксів, що починаються з шаблону.
+     *
+     * @return Масив {початок, кінець (не включно)}.
+     */
+    private int[] findSuffixRange(byte[] pattern) {
+        if (suffixes == null) {
+            buildIndex();
+        }
+
+        int low = 0;
+        int high = suffixes.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (compareWithPattern(suffixes[middle], pattern) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        int first = low;
+
+        high = suffixes.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (compareWithPattern(suffixes[middle], pattern) <= 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return new int[] { first, low };
+    }
+
+    /**
+     * Повертає номери рядків (від 0, за зростанням), що містять підрядок.
+     *
+     * @param text Підрядок.
+     * @return Номери рядків.
+     */
+    public int[] findLinesContaining(String text) {
+        return findLines(text, false);
+    }
+
+    /**
+     * Повертає номери рядків (від 0, за зростанням), що починаються з префікса.
+     *
+     * @param prefix Префікс.
+     * @return Номери рядків.
+     */
+    public int[] findLinesStartingWith(String prefix) {
+        return findLines(prefix, true);
+    }
+
+    private int[] findLines(String text, boolean prefixOnly) {
+        byte[] pattern = text.getBytes(StandardCharsets.UTF_8);
+        if (pattern.length == 0) {
+            int[] allLines = new int[lineCount];
+            Arrays.setAll(allLines, line -> line);
+            return allLines;
+        }
+
+        int[] range = findSuffixRange(pattern);
+        // Рядок може містити підрядок кілька разів - BitSet залишає кожен рядок один раз і впорядковує їх
+        BitSet lines = new BitSet(lineCount);
+        for (int i = range[0]; i < range[1]; i++) {
+            int line = lineOf(suffixes[i]);
+            if (!prefixOnly || lineOffsets[line] == suffixes[i]) {
+                lines.set(line);
+            }
+        }
+        return lines.stream().toArray();
+    }
+
+    /**
+     * Повертає кількість входжень підрядка в усіх рядках.
+     *
+     * @param text Підрядок.
+     * @return Кількість входжень.
+     */
+    public int countOccurrences(String text) {
+        byte[] pattern = text.getBytes(StandardCharsets.UTF_8);
+        if (pattern.length == 0) {
+            return 0;
+        }
+        int[] range = findSuffixRange(pattern);
+        return range[1] - range[0];
+    }
+
+    private int lineOf(int position) {
+        int line = Arrays.binarySearch(lineOffsets, 0, lineCount, position);
+        return line >= 0 ? line : -line - 2;
+    }
+
+    /**
+     * Повертає текст рядка.
+     *
+     * @param line Номер рядка (від 0).
+     * @return Текст рядка.
+     */
+    public String getLine(int line) {
+        int start = lineOffsets[line];
+        int end = line + 1 < lineCount ? lineOffsets[line + 1] - 1 : arena.length - 1;
+        return new String(arena, start, end - start, StandardCharsets.UTF_8);
+    }
+
+    public int getLineCount() {
+        return lineCount;
+    }
+
+    /**
+     * Повертає обсяг пам'яті арени, зміщень і масиву суфіксів.
+     *
+     * @return Кількість байтів.
+     */
+    public long sizeInBytes() {
+        return arena.length + (long) lineOffsets.length * Integer.BYTES
+                + (suffixes == null ? 0 : (long) suffixes.length * Integer.BYTES);
+    }
+}
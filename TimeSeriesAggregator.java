@@ -0,0 +1,361 @@
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.AbstractMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.TreeMap;
+import java.util.function.LongConsumer;
+
+/**
+ * Клас TimeSeriesAggregator групує мітки часу у вікна і за один прохід рахує для
+ * кожного вікна кількість подій, першу й останню мітку (у порядку надходження),
+ * найранішу й найпізнішу мітку.
+ *
+ * <p>Мітки передаються як секунди від початку епохи ({@code long}), без створення
+ * об'єктів {@link LocalDateTime}. Вікна задаються шириною і кроком: якщо крок дорівнює
+ * ширині, вікна неперекривні (tumbling), якщо менший - ковзні (sliding). Межі вікон
+ * вирівняні за епохою, тому хвилинні, годинні й добові вікна починаються з початку
+ * хвилини, години і доби UTC.</p>
+ *
+ * <p>Кожна подія додається рівно один раз - до панелі, відрізка часу довжиною в
+ * найбільший спільний дільник ширини і кроку. Вікно складається з цілої кількості панелей,
+ * тому його статистика об'єднується з непорожніх панелей лише під час читання. Пам'ять
+ * пропорційна кількості непорожніх панелей і не залежить від відношення ширини до кроку.
+ * Вікна без жодної події не повертаються.</p>
+ */
+public class TimeSeriesAggregator implements LongConsumer {
+    private final long widthSeconds;
+    private final long stepSeconds;
+    private final long paneSeconds;
+    private final NavigableMap<Long, WindowStatistics> panes = new TreeMap<>();
+    private long eventCount;
+
+    /**
+     * Статистика одного вікна або панелі.
+     */
+    public static class WindowStatistics {
+        private long count;
+        private long first;
+        private long last;
+        private long earliest = Long.MAX_VALUE;
+        private long latest = Long.MIN_VALUE;
+        // Порядкові номери першої й останньої події - для об'єднання панелей
+        private long firstSequence;
+        private long lastSequence;
+
+        void add(long epochSecond, long sequence) {
+            if (count == 0) {
+                first = epochSecond;
+                firstSequence = sequence;
+            }
+            last = epochSecond;
+            lastSequence = sequence;
+            earliest = Math.min(earliest, epochSecond);
+            latest = Math.max(latest, epochSecond);
+            count++;
+        }
+
+        void merge(WindowStatistics pane) {
+            if (count == 0 || pane.firstSequence < firstSequence) {
+                first = pane.first;
+                firstSequence = pane.firstSequence;
+            }
+            if (count == 0 || pane.lastSequence > lastSequence) {
+                last = pane.last;
+                lastSequence = pane.lastSequence;
+            }
+            earliest = Math.min(earliest, pane.earliest);
+            latest = Math.max(latest, pane.latest);
+            count += pane.count;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getFirst() {
+            return first;
+        }
+
+        public long getLast() {
+            return last;
+        }
+
+        public long getEarliest() {
+            return earliest;
+        }
+
+        public long getLatest() {
+            return latest;
+        }
+    }
+
+    /**
+     * Створює агрегатор вікон.
+     *
+     * @param widthSeconds Ширина вікна в секундах.
+     * @param stepSeconds Крок між початками вікон у секундах; не більший за ширину.
+     */
+    public TimeSeriesAggregator(long widthSeconds, long stepSeconds) {
+        if (widthSeconds <= 0 || stepSeconds <= 0 || stepSeconds > widthSeconds) {
+            throw new IllegalArgumentException("Некоректні ширина (" + widthSeconds + " с) або крок (" + stepSeconds + " с) вікна");
+        }
+        this.widthSeconds = widthSeconds;
+        this.stepSeconds = stepSeconds;
+        this.paneSeconds = greatestCommonDivisor(widthSeconds, stepSeconds);
+    }
+
+    /**
+     * Створює агрегатор неперекривних вікон.
+     *
+     * @param widthSeconds Ширина вікна в секундах.
+     * @return Агрегатор.
+     */
+    public static TimeSeriesAggregator tumbling(long widthSeconds) {
+        return new TimeSeriesAggregator(widthSeconds, widthSeconds);
+    }
+
+    private static long greatestCommonDivisor(long first, long second) {
+        while (second != 0) {
+            long remainder = first % second;
+            first = second;
+            second = remainder;
+        }
+        return first;
+    }
+
+    /**
+     * Додає подію до панелі, що її містить.
+     *
+     * @param epochSecond Мітка часу в секундах від початку епохи (UTC).
+     */
+    @Override
+    public void accept(long epochSecond) {
+        long paneStart = Math.floorDiv(epochSecond, paneSeconds) * paneSeconds;
+        panes.computeIfAbsent(paneStart, start -> new WindowStatistics()).add(epochSecond, eventCount);
+        eventCount++;
+    }
+
+    /**
+     * Повертає індекс першого вікна, що містить мітку.
+     */
+    private long firstWindowContaining(long epochSecond) {
+        // Вікно [k * крок, k * крок + ширина) містить мітку, якщо k у (мітка - ширина) / крок .. мітка / крок
+        return Math.floorDiv(epochSecond - widthSeconds, stepSeconds) + 1;
+    }
+
+    /**
+     * Об'єднує панелі вікна з заданим індексом.
+     */
+    private WindowStatistics window(long windowIndex) {
+        long windowStart = windowIndex * stepSeconds;
+        WindowStatistics statistics = new WindowStatistics();
+        for (WindowStatistics pane : panes.subMap(windowStart, windowStart + widthSeconds).values()) {
+            statistics.merge(pane);
+        }
+        return statistics;
+    }
+
+    /**
+     * Повертає непорожні вікна, упорядковані за початком. Статистика кожного вікна
+     * обчислюється з панелей під час обходу.
+     *
+     * @return Пари "початок вікна (секунди від епохи) - статистика".
+     */
+    public Iterable<Map.Entry<Long, WindowStatistics>> getWindows() {
+        return () -> new Iterator<Map.Entry<Long, WindowStatistics>>() {
+            private final Iterator<Long> paneStarts = panes.keySet().iterator();
+            private long nextWindow = Long.MIN_VALUE;
+            private long lastWindow = Long.MIN_VALUE;
+            private boolean started;
+
+            @Override
+            public boolean hasNext() {
+                // Вікна кожної панелі утворюють суцільний відрізок індексів; відрізки сусідніх панелей перекриваються
+                while (!started || nextWindow > lastWindow) {
+                    if (!paneStarts.hasNext()) {
+                        return false;
+                    }
+                    long paneStart = paneStarts.next();
+                    long firstWindow = firstWindowContaining(paneStart);
+                    nextWindow = started ? Math.max(nextWindow, firstWindow) : firstWindow;
+                    lastWindow = Math.floorDiv(paneStart, stepSeconds);
+                    started = true;
+                }
+                return true;
+            }
+
+            @Override
+            public Map.Entry<Long, WindowStatistics> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                long windowIndex = nextWindow++;
+                return new AbstractMap.SimpleImmutableEntry<>(windowIndex * stepSeconds, window(windowIndex));
+            }
+        };
+    }
+
+    /**
+     * Повертає кількість непорожніх вікон без їх обчислення.
+     *
+     * @return Кількість вікон.
+     */
+    public long getWindowCount() {
+        long windowCount = 0;
+        long coveredUntil = Long.MIN_VALUE;
+        for (long paneStart : panes.keySet()) {
+            long firstWindow = Math.max(firstWindowContaining(paneStart), coveredUntil + 1);
+            long lastWindow = Math.floorDiv(paneStart, stepSeconds);
+            if (lastWindow >= firstWindow) {
+                windowCount += lastWindow - firstWindow + 1;
+                coveredUntil = lastWindow;
+            }
+        }
+        return windowCount;
+    }
+
+    /**
+     * Знаходить вікно з найбільшою кількістю подій (найраніше з рівних).
+     *
+     * <p>Досить перевірити для кожної непорожньої панелі останнє вікно, що починається
+     * не пізніше за неї: зсув будь-якого вікна вправо до його першої непорожньої панелі
+     * не втрачає жодної події. Пошук виконується двома вказівниками за O(кількість панелей).</p>
+     *
+     * @return Пара "початок вікна - статистика" або {@code null}, якщо подій немає.
+     */
+    public Map.Entry<Long, WindowStatistics> getBusiestWindow() {
+        long[] paneStarts = new long[panes.size()];
+        long[] paneCounts = new long[panes.size()];
+        int paneCount = 0;
+        for (Map.Entry<Long, WindowStatistics> pane : panes.entrySet()) {
+            paneStarts[paneCount] = pane.getKey();
+            paneCounts[paneCount++] = pane.getValue().count;
+        }
+
+        // Початки і кінці вікон-кандидатів зростають, тому панелі вікна відстежують два вказівники
+        long busiestWindow = 0;
+        long busiestCount = 0;
+        long count = 0;
+        int end = 0;
+        for (int start = 0; start < paneCount; start++) {
+            long windowIndex = Math.floorDiv(paneStarts[start], stepSeconds);
+            long windowEnd = windowIndex * stepSeconds + widthSeconds;
+            while (end < paneCount && paneStarts[end] < windowEnd) {
+                count += paneCounts[end++];
+            }
+            if (count > busiestCount) {
+                // Ті самі панелі містить і кожне раніше вікно, що ще охоплює останню з них
+                busiestWindow = firstWindowContaining(paneStarts[end - 1]);
+                busiestCount = count;
+            }
+            count -= paneCounts[start];
+        }
+        return busiestCount == 0 ? null : new AbstractMap.SimpleImmutableEntry<>(busiestWindow * stepSeconds, window(busiestWindow));
+    }
+
+    public long getEventCount() {
+        return eventCount;
+    }
+
+    public long getWidthSeconds() {
+        return widthSeconds;
+    }
+
+    public long getStepSeconds() {
+        return stepSeconds;
+    }
+
+    /**
+     * Перетворює мітку часу ISO-8601 ({@code 2025-12-26T11:24:30Z}) на секунди від епохи.
+     * Рядки формату {@code yyyy-MM-ddTHH:mm:ss[Z]} розбираються без проміжних об'єктів,
+     * решта - через {@link DataType#LOCAL_DATE_TIME}.
+     *
+     * @param line Рядок з міткою часу в UTC.
+     * @return Секунди від початку епохи.
+     * @throws DateTimeException Якщо рядок не є міткою часу.
+     */
+    public static long parseEpochSecond(String line) {
+        int length = line.length();
+        if ((length == 19 || (length == 20 && line.charAt(19) == 'Z'))
+                && line.charAt(4) == '-' && line.charAt(7) == '-' && line.charAt(10) == 'T'
+                && line.charAt(13) == ':' && line.charAt(16) == ':') {
+            int year = digits(line, 0, 4);
+            int month = digits(line, 5, 2);
+            int day = digits(line, 8, 2);
+            int hour = digits(line, 11, 2);
+            int minute = digits(line, 14, 2);
+            int second = digits(line, 17, 2);
+            if (year >= 0 && month >= 0 && day >= 0 && hour >= 0 && hour < 24
+                    && minute >= 0 && minute < 60 && second >= 0 && second < 60) {
+                // LocalDate.of перевіряє день місяця з урахуванням високосних років
+                return LocalDate.of(year, month, day).toEpochDay() * 86400 + hour * 3600 + minute * 60 + second;
+            }
+        }
+        return ((LocalDateTime) DataType.LOCAL_DATE_TIME.parse(line)).toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /**
+     * Розбирає фіксовану кількість десяткових цифр.
+     *
+     * @return Число або -1, якщо трапився інший символ.
+     */
+    private static int digits(String line, int offset, int count) {
+        int value = 0;
+        for (int i = offset; i < offset + count; i++) {
+            int digit = line.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    /**
+     * Розбирає ширину вікна: число з одиницею {@code s}, {@code m}, {@code h}, {@code d}
+     * (наприклад, {@code 15m}) або тривалість ISO-8601 ({@code PT1H}).
+     *
+     * @param text Ширина вікна.
+     * @return Кількість секунд.
+     * @throws IllegalArgumentException Якщо рядок порожній або не є шириною вікна.
+     */
+    public static long parseWindowSeconds(String text) {
+        text = text.trim();
+        if (text.isEmpty()) {
+            throw new IllegalArgumentException("не задано ширину вікна");
+        }
+        if (text.startsWith("P") || text.startsWith("p")) {
+            return Duration.parse(text).getSeconds();
+        }
+
+        char unit = Character.toLowerCase(text.charAt(text.length() - 1));
+        long multiplier;
+        switch (unit) {
+            case 's':
+                multiplier = 1;
+                break;
+            case 'm':
+                multiplier = 60;
+                break;
+            case 'h':
+                multiplier = 3600;
+                break;
+            case 'd':
+                multiplier = 86400;
+                break;
+            default:
+                return Long.parseLong(text);
+        }
+        try {
+            return Math.multiplyExact(Long.parseLong(text.substring(0, text.length() - 1)), multiplier);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("занадто велика ширина вікна: " + text);
+        }
+    }
+}